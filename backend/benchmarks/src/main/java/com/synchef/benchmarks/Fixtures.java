@@ -0,0 +1,196 @@
+package com.synchef.benchmarks;
+
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.CountryView;
+import com.synchef.catalog.IngredientView;
+import com.synchef.catalog.RecipeView;
+import com.synchef.model.Category;
+import com.synchef.model.Country;
+import com.synchef.model.Ingredient;
+import com.synchef.model.NutrientProfile;
+import com.synchef.model.Recipe;
+import com.synchef.model.RecipeIngredient;
+import com.synchef.model.Step;
+import com.synchef.repository.RecipeRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic benchmark fixtures: a typical recipe and a very large one with a dense timer step graph
+ */
+public final class Fixtures {
+    
+    // Public: JMH generates its @Param setters in another package
+    public enum Size {
+        SMALL(8, 6),
+        HUGE(250, 400);
+        
+        final int ingredients;
+        final int steps;
+        
+        Size(int ingredients, int steps) {
+            this.ingredients = ingredients;
+            this.steps = steps;
+        }
+    }
+    
+    private static final String[] UNITS = {"g", "cups", "tbsp", "tsp", "ml", "cloves", "kg", "oz", "pinch"};
+    
+    /**
+     * Transaction manager for services run outside Spring; every transaction is a no-op
+     */
+    static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+    
+    private Fixtures() {
+    }
+    
+    static Recipe recipe(long id, Size size) {
+        Random random = new Random(id);
+        
+        Country country = new Country();
+        country.setId(1L);
+        country.setName("Philippines");
+        country.setCode("PH");
+        country.setContinent("Asia");
+        
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Main Course");
+        
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setName("Benchmark recipe " + id + " (" + size + ")");
+        recipe.setDescription("Fixture with " + size.ingredients + " ingredients and " + size.steps + " steps");
+        recipe.setCountry(country);
+        recipe.setCategories(List.of(category));
+        recipe.setPrepTimeMinutes(20);
+        recipe.setCookTimeMinutes(45);
+        recipe.setTotalTimeMinutes(65);
+        recipe.setDefaultServings(4);
+        recipe.setDifficultyLevel("MEDIUM");
+        recipe.setCreatedAt(new Date(0));
+        recipe.setUpdatedAt(new Date(0));
+        
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < size.ingredients; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setId((long) i + 1);
+            ingredient.setName("Ingredient " + (i + 1));
+            ingredient.setCategory("Vegetables");
+            ingredient.setDensityGramsPerMl(i % 3 == 0 ? 0.9 : null);
+            ingredient.setGramsPerPiece(i % 5 == 0 ? 4.0 : null);
+            ingredient.setNutrients(new NutrientProfile(random.nextDouble() * 400, random.nextDouble() * 30,
+                random.nextDouble() * 40, random.nextDouble() * 70, random.nextDouble() * 10,
+                random.nextDouble() * 20, random.nextDouble() * 1000));
+            
+            RecipeIngredient line = new RecipeIngredient();
+            line.setId(id * 10_000 + i);
+            line.setRecipe(recipe);
+            line.setIngredient(ingredient);
+            line.setQuantity(BigDecimal.valueOf(25 + random.nextInt(50_000), 2));
+            line.setUnit(UNITS[i % UNITS.length]);
+            line.setOrderIndex(i + 1);
+            line.setPreparation(i % 4 == 0 ? "minced" : null);
+            ingredients.add(line);
+        }
+        recipe.setIngredients(ingredients);
+        
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < size.steps; i++) {
+            Step step = new Step();
+            step.setId(id * 10_000 + i);
+            step.setRecipe(recipe);
+            step.setOrderIndex(i + 1);
+            step.setInstruction(i % 3 == 0
+                ? "Add {{qty:" + (1 + i % size.ingredients) + "}} and stir until combined."
+                : "Stir and keep an eye on the pan.");
+            step.setHasTimer(i % 3 != 2);
+            step.setTimerSeconds(60 + random.nextInt(1800));
+            step.setTimerLabel("Step " + (i + 1));
+            step.setIsParallel(i % 4 == 0);
+            step.setParallelGroup(i % 4 == 0 ? i % 8 : null);
+            step.setScalesWithServings(i % 2 == 0);
+            step.setBurners(i % 3 == 0 ? 1 : 0);
+            step.setHandsOn(i % 5 == 0);
+            steps.add(step);
+        }
+        recipe.setSteps(steps);
+        return recipe;
+    }
+    
+    /**
+     * Catalog of the given recipes, as the services see it after a full reload
+     */
+    static CatalogRefreshedEvent refreshed(Recipe... recipes) {
+        Map<Long, CountryView> countries = distinct(recipes, recipe -> List.of(CountryView.from(recipe.getCountry())),
+            CountryView::getId);
+        Map<Long, CategoryView> categories = distinct(recipes,
+            recipe -> recipe.getCategories().stream().map(CategoryView::from).toList(), CategoryView::getId);
+        Map<Long, IngredientView> ingredients = distinct(recipes,
+            recipe -> recipe.getIngredients().stream().map(ri -> IngredientView.from(ri.getIngredient())).toList(),
+            IngredientView::getId);
+        List<RecipeView> views = List.of(recipes).stream()
+            .map(recipe -> RecipeView.from(recipe, countries, categories, ingredients))
+            .toList();
+        CatalogSnapshot snapshot = CatalogSnapshot.build(1, List.copyOf(countries.values()),
+            List.copyOf(categories.values()), List.copyOf(ingredients.values()), views);
+        return new CatalogRefreshedEvent(snapshot, true, Set.of());
+    }
+    
+    /**
+     * Repository answering the recipe-loading queries from memory; anything else is unsupported
+     */
+    static RecipeRepository repository(Recipe... recipes) {
+        Map<Long, Recipe> byId = List.of(recipes).stream().collect(Collectors.toMap(Recipe::getId, r -> r));
+        return (RecipeRepository) Proxy.newProxyInstance(RecipeRepository.class.getClassLoader(),
+            new Class<?>[]{RecipeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "findById", "findWithIngredientsById", "findWithStepsById" ->
+                    Optional.ofNullable(byId.get((Long) args[0]));
+                case "findWithIngredientsByIdIn", "findWithStepsByIdIn" -> ((Collection<?>) args[0]).stream()
+                    .map(byId::get)
+                    .filter(r -> r != null)
+                    .toList();
+                case "toString" -> "InMemoryRecipeRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+    
+    private static <T> Map<Long, T> distinct(Recipe[] recipes, Function<Recipe, List<T>> views,
+                                             Function<T, Long> id) {
+        return List.of(recipes).stream()
+            .flatMap(recipe -> views.apply(recipe).stream())
+            .collect(Collectors.toMap(id, v -> v, (a, b) -> a));
+    }
+}
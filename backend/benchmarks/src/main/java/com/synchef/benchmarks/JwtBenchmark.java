@@ -0,0 +1,69 @@
+package com.synchef.benchmarks;
+
+import com.synchef.model.User;
+import com.synchef.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider: signing a login token and verifying one on an authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtTokenProvider provider;
+    private User user;
+    private String token;
+    
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        provider = new JwtTokenProvider();
+        // The application defaults of the @Value-injected settings
+        set("jwtSecret", "mySecretKeyForSynChefApplicationPleaseChangeInProduction");
+        set("jwtExpirationMs", 86_400_000L);
+        
+        user = new User();
+        user.setId(42L);
+        user.setEmail("cook@example.com");
+        user.setUsername("cook");
+        user.setFullName("Benchmark Cook");
+        token = provider.generateToken(user);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken(user);
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+    
+    @Benchmark
+    public Long userIdFromToken() {
+        return provider.getUserIdFromToken(token);
+    }
+    
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(provider, value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.synchef.benchmarks;
+
+import com.synchef.dto.ScaledRecipeDTO;
+import com.synchef.model.Recipe;
+import com.synchef.nutrition.NutrientTable;
+import com.synchef.service.RecipeScalingService;
+import com.synchef.units.UnitSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeScalingService: the uncached scaling computation (ingredients, step templates, nutrition)
+ * and a cache hit through the public entry point
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScalingBenchmark {
+    
+    @Param({"SMALL", "HUGE"})
+    private Fixtures.Size size;
+    
+    private Recipe recipe;
+    private RecipeScalingService service;
+    private MethodHandle scale;
+    private Integer servings = 10;
+    
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        recipe = Fixtures.recipe(1, size);
+        NutrientTable nutrientTable = new NutrientTable();
+        nutrientTable.onCatalogRefreshed(Fixtures.refreshed(recipe));
+        service = new RecipeScalingService(Fixtures.repository(recipe), Fixtures.NO_TRANSACTIONS, nutrientTable);
+        // The computation behind the cache is private; call it directly to measure misses
+        scale = MethodHandles.privateLookupIn(RecipeScalingService.class, MethodHandles.lookup())
+            .findVirtual(RecipeScalingService.class, "scale",
+                MethodType.methodType(ScaledRecipeDTO.class, Recipe.class, Integer.class, UnitSystem.class));
+    }
+    
+    @Benchmark
+    public ScaledRecipeDTO scaleAsWritten() throws Throwable {
+        return (ScaledRecipeDTO) scale.invoke(service, recipe, servings, (UnitSystem) null);
+    }
+    
+    @Benchmark
+    public ScaledRecipeDTO scaleToImperial() throws Throwable {
+        return (ScaledRecipeDTO) scale.invoke(service, recipe, servings, UnitSystem.IMPERIAL);
+    }
+    
+    @Benchmark
+    public ScaledRecipeDTO scaleCached() {
+        return service.scaleRecipe(recipe.getId(), servings);
+    }
+}
@@ -0,0 +1,65 @@
+package com.synchef.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchef.catalog.RecipeView;
+import com.synchef.dto.ScaledRecipeDTO;
+import com.synchef.model.Recipe;
+import com.synchef.nutrition.NutrientTable;
+import com.synchef.service.RecipeScalingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the recipe payloads the API returns, with Spring's default ObjectMapper.
+ * Recipe entities are served as RecipeView (the entity graph has back references), so the view
+ * stands in for Recipe here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SerializationBenchmark {
+    
+    @Param({"SMALL", "HUGE"})
+    private Fixtures.Size size;
+    
+    private ObjectMapper mapper;
+    private RecipeView recipeView;
+    private ScaledRecipeDTO scaledRecipe;
+    
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        Recipe recipe = Fixtures.recipe(1, size);
+        recipeView = Fixtures.refreshed(recipe).getSnapshot().getRecipesById().get(recipe.getId());
+        NutrientTable nutrientTable = new NutrientTable();
+        nutrientTable.onCatalogRefreshed(Fixtures.refreshed(recipe));
+        scaledRecipe = new RecipeScalingService(Fixtures.repository(recipe), Fixtures.NO_TRANSACTIONS, nutrientTable)
+            .scaleRecipe(recipe.getId(), 10);
+    }
+    
+    @Benchmark
+    public byte[] recipeView() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(recipeView);
+    }
+    
+    @Benchmark
+    public byte[] scaledRecipe() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(scaledRecipe);
+    }
+}
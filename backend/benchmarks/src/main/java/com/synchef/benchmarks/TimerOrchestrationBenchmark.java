@@ -0,0 +1,69 @@
+package com.synchef.benchmarks;
+
+import com.synchef.dto.TimerOrchestrationDTO;
+import com.synchef.model.Recipe;
+import com.synchef.nutrition.NutrientTable;
+import com.synchef.repository.RecipeRepository;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.service.RecipeScalingService;
+import com.synchef.service.TimerOrchestrationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimerOrchestrationService over an in-memory recipe, so only the sequencing work is measured; the
+ * one-burner kitchen forces the resource-constrained search, and the cached schedule is the warm path
+ * of cooking mode
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class TimerOrchestrationBenchmark {
+    
+    private static final KitchenProfile ONE_BURNER = new KitchenProfile(1, 1, 1);
+    
+    @Param({"SMALL", "HUGE"})
+    private Fixtures.Size size;
+    
+    private Recipe recipe;
+    private TimerOrchestrationService service;
+    
+    @Setup
+    public void setUp() {
+        recipe = Fixtures.recipe(1, size);
+        RecipeRepository repository = Fixtures.repository(recipe);
+        NutrientTable nutrientTable = new NutrientTable();
+        nutrientTable.onCatalogRefreshed(Fixtures.refreshed(recipe));
+        service = new TimerOrchestrationService(repository, Fixtures.NO_TRANSACTIONS,
+            new RecipeScalingService(repository, Fixtures.NO_TRANSACTIONS, nutrientTable));
+    }
+    
+    @Benchmark
+    public TimerOrchestrationDTO orchestrate() {
+        return service.orchestrateTimers(recipe, KitchenProfile.DEFAULT);
+    }
+    
+    @Benchmark
+    public TimerOrchestrationDTO orchestrateOneBurner() {
+        return service.orchestrateTimers(recipe, ONE_BURNER);
+    }
+    
+    @Benchmark
+    public TimerOrchestrationDTO orchestrateCached() {
+        return service.orchestrateTimers(recipe.getId(), 10, null, KitchenProfile.DEFAULT);
+    }
+}
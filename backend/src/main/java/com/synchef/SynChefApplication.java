@@ -2,12 +2,14 @@ package com.synchef;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * SynChef - AI-Powered Real-Time Cooking Assistant
  * Main Application Entry Point
  */
 @SpringBootApplication
+@EnableScheduling
 public class SynChefApplication {
     
     public static void main(String[] args) {
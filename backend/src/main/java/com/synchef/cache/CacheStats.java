@@ -0,0 +1,13 @@
+package com.synchef.cache;
+
+/**
+ * Point-in-time counters of a {@link FrequencyAwareCache}
+ */
+public record CacheStats(String name, int size, int capacity, long hits, long misses, long evictions,
+                         long rejections, long invalidations) {
+    
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
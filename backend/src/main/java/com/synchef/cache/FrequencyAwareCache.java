@@ -0,0 +1,199 @@
+package com.synchef.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with frequency-based admission (TinyLFU style). Recency decides the eviction
+ * candidate, and a compact count-min sketch of recent access frequencies decides whether a new entry
+ * is worth more than that candidate. One-off lookups therefore cannot flush out the hot set.
+ *
+ * Values are computed outside the lock. A value loaded while an invalidation ran is returned but not
+ * stored, so invalidation never races with a stale load.
+ */
+public final class FrequencyAwareCache<K, V> {
+    
+    private final String name;
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    private final FrequencySketch sketch;
+    private long generation; // Bumped by every invalidation, guarded by this
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    public FrequencyAwareCache(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+        this.sketch = new FrequencySketch(capacity);
+    }
+    
+    /**
+     * Cached value for {@code key}, computing it with {@code loader} on a miss
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            sketch.increment(key.hashCode());
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            admit(key, loaded, loadGeneration);
+        }
+        return loaded;
+    }
+    
+    /**
+     * Cached values for all {@code keys}; the misses are computed together by one {@code bulkLoader} call,
+     * which may leave out keys it has no value for
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        Map<K, V> result = new HashMap<>(keys.size() * 4 / 3 + 1);
+        Set<K> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (K key : keys) {
+                sketch.increment(key.hashCode());
+                V cached = entries.get(key);
+                if (cached != null) {
+                    result.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.add(result.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        
+        bulkLoader.apply(missing).forEach((key, value) -> {
+            if (value != null) {
+                admit(key, value, loadGeneration);
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+    
+    public synchronized void invalidateIf(Predicate<? super K> stale) {
+        generation++;
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (stale.test(keys.next())) {
+                keys.remove();
+                invalidations.increment();
+            }
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public CacheStats stats() {
+        return new CacheStats(name, size(), capacity, hits.sum(), misses.sum(), evictions.sum(),
+            rejections.sum(), invalidations.sum());
+    }
+    
+    private synchronized void admit(K key, V value, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        if (entries.containsKey(key) || entries.size() < capacity) {
+            entries.put(key, value);
+            return;
+        }
+        // The least recently used entry is the eviction candidate; the more frequent of the two stays
+        Map.Entry<K, V> victim = entries.entrySet().iterator().next();
+        if (sketch.frequency(key.hashCode()) > sketch.frequency(victim.getKey().hashCode())) {
+            entries.remove(victim.getKey());
+            entries.put(key, value);
+            evictions.increment();
+        } else {
+            rejections.increment();
+        }
+    }
+    
+    /**
+     * Count-min sketch over key hashes with periodic halving, so frequencies reflect recent traffic
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+            0xD6E8FEB86659FD93L};
+        
+        private final int[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+        
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity * 4) - 1) << 1;
+            this.counters = new int[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = Math.max(64, capacity * 10);
+        }
+        
+        void increment(int hash) {
+            for (int row = 0; row < DEPTH; row++) {
+                counters[row][index(hash, row)]++;
+            }
+            if (++additions >= sampleSize) {
+                age();
+            }
+        }
+        
+        int frequency(int hash) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters[row][index(hash, row)]);
+            }
+            return min;
+        }
+        
+        private int index(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+        
+        private void age() {
+            for (int[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            additions /= 2;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.synchef.catalog;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published synchronously after a new catalog snapshot has been swapped in.
+ * {@code changedRecipeIds} is empty for a full reload, where every recipe must be treated as changed.
+ */
+@Value
+public class CatalogRefreshedEvent {
+    // Listener @Order for data derived from other derived data: its sources are rebuilt first, so a
+    // cache miss racing the refresh never recomputes from a half-refreshed state
+    public static final int ORDER_NUTRIENTS = 100;
+    public static final int ORDER_SCALED_RECIPES = 200;
+    public static final int ORDER_TIMER_SCHEDULES = 300;
+    
+    CatalogSnapshot snapshot;
+    boolean fullReload;
+    Set<Long> changedRecipeIds;
+    
+    public boolean affects(Long recipeId) {
+        return fullReload || changedRecipeIds.contains(recipeId);
+    }
+}
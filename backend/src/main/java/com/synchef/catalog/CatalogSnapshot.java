@@ -0,0 +1,243 @@
+package com.synchef.catalog;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, fully indexed view of the recipe catalog. A snapshot is never modified after
+ * construction; changes produce a new snapshot that replaces the old one atomically.
+ */
+@Getter
+public final class CatalogSnapshot {
+    
+    public static final CatalogSnapshot EMPTY = build(0L, List.of(), List.of(), List.of(), List.of());
+    
+    private final long version;
+    private final Date builtAt;
+    // Version and time of the last full build; countries and categories only change then
+    private final long baseVersion;
+    private final Date baseBuiltAt;
+    
+    private final OrderedRecipes recipes;
+    private final Map<Long, RecipeView> recipesById;
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, OrderedRecipes> recipesByCountryId;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, OrderedRecipes> recipesByCountryCode;
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, OrderedRecipes> recipesByCategoryId;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, OrderedRecipes> recipesByDifficulty;
+    
+    private final List<CountryView> countries;
+    private final Map<Long, CountryView> countriesById;
+    private final Map<String, CountryView> countriesByCode;
+    private final Map<String, List<CountryView>> countriesByContinent;
+    
+    private final List<CategoryView> categories;
+    private final Map<Long, CategoryView> categoriesById;
+    
+    private final List<IngredientView> ingredients;
+    private final Map<Long, IngredientView> ingredientsById;
+    private final Map<Long, List<IngredientView>> ingredientsByCountryId;
+    
+    private CatalogSnapshot(long version, long baseVersion, Date baseBuiltAt, List<CountryView> countries,
+                            List<CategoryView> categories, List<IngredientView> ingredients, List<RecipeView> recipes) {
+        this.version = version;
+        this.builtAt = new Date();
+        this.baseVersion = baseVersion;
+        this.baseBuiltAt = baseBuiltAt != null ? baseBuiltAt : this.builtAt;
+        
+        this.countries = sortedCopy(countries, Comparator.comparing(CountryView::getId));
+        this.countriesById = indexBy(this.countries, CountryView::getId);
+        this.countriesByCode = indexBy(this.countries, CountryView::getCode);
+        this.countriesByContinent = Collections.unmodifiableMap(this.countries.stream()
+            .collect(Collectors.groupingBy(CountryView::getContinent, TreeMap::new, Collectors.toUnmodifiableList())));
+        
+        this.categories = sortedCopy(categories, Comparator.comparing(CategoryView::getId));
+        this.categoriesById = indexBy(this.categories, CategoryView::getId);
+        
+        this.ingredients = sortedCopy(ingredients, Comparator.comparing(IngredientView::getId));
+        this.ingredientsById = indexBy(this.ingredients, IngredientView::getId);
+        this.ingredientsByCountryId = Map.copyOf(this.ingredients.stream()
+            .filter(i -> i.getCountryId() != null)
+            .collect(Collectors.groupingBy(IngredientView::getCountryId, Collectors.toUnmodifiableList())));
+        
+        this.recipes = OrderedRecipes.of(recipes);
+        this.recipesById = indexBy(this.recipes.byId(), RecipeView::getId);
+        this.recipesByCountryId = group(recipes, r -> r.getCountry().getId());
+        this.recipesByCountryCode = group(recipes, r -> r.getCountry().getCode());
+        this.recipesByDifficulty = group(recipes.stream().filter(r -> r.getDifficultyLevel() != null).toList(),
+            RecipeView::getDifficultyLevel);
+        
+        Map<Long, List<RecipeView>> byCategory = new HashMap<>();
+        for (RecipeView recipe : recipes) {
+            for (CategoryView category : recipe.getCategories()) {
+                byCategory.computeIfAbsent(category.getId(), k -> new ArrayList<>()).add(recipe);
+            }
+        }
+        this.recipesByCategoryId = byCategory.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> OrderedRecipes.of(e.getValue())));
+    }
+    
+    /**
+     * A patched copy of {@code base}: recipe and ingredient indexes are given, country and category
+     * indexes are shared with the base
+     */
+    private CatalogSnapshot(CatalogSnapshot base, long version, OrderedRecipes recipes,
+                            Map<Long, RecipeView> recipesById, Map<Long, OrderedRecipes> recipesByCountryId,
+                            Map<String, OrderedRecipes> recipesByCountryCode,
+                            Map<Long, OrderedRecipes> recipesByCategoryId,
+                            Map<String, OrderedRecipes> recipesByDifficulty, List<IngredientView> ingredients,
+                            Map<Long, IngredientView> ingredientsById,
+                            Map<Long, List<IngredientView>> ingredientsByCountryId) {
+        this.version = version;
+        this.builtAt = new Date();
+        this.baseVersion = base.baseVersion;
+        this.baseBuiltAt = base.baseBuiltAt;
+        
+        this.countries = base.countries;
+        this.countriesById = base.countriesById;
+        this.countriesByCode = base.countriesByCode;
+        this.countriesByContinent = base.countriesByContinent;
+        this.categories = base.categories;
+        this.categoriesById = base.categoriesById;
+        
+        this.ingredients = ingredients;
+        this.ingredientsById = ingredientsById;
+        this.ingredientsByCountryId = ingredientsByCountryId;
+        
+        this.recipes = recipes;
+        this.recipesById = recipesById;
+        this.recipesByCountryId = recipesByCountryId;
+        this.recipesByCountryCode = recipesByCountryCode;
+        this.recipesByCategoryId = recipesByCategoryId;
+        this.recipesByDifficulty = recipesByDifficulty;
+    }
+    
+    public static CatalogSnapshot build(long version, List<CountryView> countries, List<CategoryView> categories,
+                                        List<IngredientView> ingredients, List<RecipeView> recipes) {
+        return new CatalogSnapshot(version, version, null, countries, categories, ingredients, recipes);
+    }
+    
+    /**
+     * Copy of this snapshot with the given recipe added or replaced (and any ingredients it introduces).
+     * Only the recipe's old and new buckets are copied, each with a binary-searched insert; untouched
+     * indexes are shared with this snapshot, so nothing is sorted again.
+     */
+    public CatalogSnapshot withRecipe(long newVersion, RecipeView recipe) {
+        RecipeView old = recipesById.get(recipe.getId());
+        Map<Long, RecipeView> recipeMap = new HashMap<>(recipesById);
+        recipeMap.put(recipe.getId(), recipe);
+        
+        List<IngredientView> added = recipe.getIngredients().stream()
+            .map(RecipeIngredientView::getIngredient)
+            .filter(i -> !ingredientsById.containsKey(i.getId()))
+            .collect(Collectors.toMap(IngredientView::getId, Function.identity(), (first, second) -> first,
+                TreeMap::new))
+            .values().stream().toList();
+        List<IngredientView> newIngredients = ingredients;
+        Map<Long, IngredientView> newIngredientsById = ingredientsById;
+        Map<Long, List<IngredientView>> newIngredientsByCountryId = ingredientsByCountryId;
+        if (!added.isEmpty()) {
+            newIngredients = sortedInsert(ingredients, added);
+            Map<Long, IngredientView> byId = new HashMap<>(ingredientsById);
+            added.forEach(i -> byId.put(i.getId(), i));
+            newIngredientsById = Collections.unmodifiableMap(byId);
+            Map<Long, List<IngredientView>> byCountry = new HashMap<>(ingredientsByCountryId);
+            added.stream()
+                .filter(i -> i.getCountryId() != null)
+                .collect(Collectors.groupingBy(IngredientView::getCountryId))
+                .forEach((countryId, more) -> byCountry.put(countryId,
+                    sortedInsert(byCountry.getOrDefault(countryId, List.of()), more)));
+            newIngredientsByCountryId = Collections.unmodifiableMap(byCountry);
+        }
+        
+        return new CatalogSnapshot(this, newVersion, recipes.replace(old, recipe),
+            Collections.unmodifiableMap(recipeMap),
+            patched(recipesByCountryId, old, recipe, r -> Set.of(r.getCountry().getId())),
+            patched(recipesByCountryCode, old, recipe, r -> Set.of(r.getCountry().getCode())),
+            patched(recipesByCategoryId, old, recipe,
+                r -> r.getCategories().stream().map(CategoryView::getId).collect(Collectors.toSet())),
+            patched(recipesByDifficulty, old, recipe,
+                r -> r.getDifficultyLevel() != null ? Set.of(r.getDifficultyLevel()) : Set.of()),
+            newIngredients, newIngredientsById, newIngredientsByCountryId);
+    }
+    
+    public OrderedRecipes recipesByCountryId(Long countryId) {
+        return recipesByCountryId.getOrDefault(countryId, OrderedRecipes.EMPTY);
+    }
+    
+    public OrderedRecipes recipesByCountryCode(String countryCode) {
+        return recipesByCountryCode.getOrDefault(countryCode, OrderedRecipes.EMPTY);
+    }
+    
+    public OrderedRecipes recipesByCategoryId(Long categoryId) {
+        return recipesByCategoryId.getOrDefault(categoryId, OrderedRecipes.EMPTY);
+    }
+    
+    public OrderedRecipes recipesByDifficulty(String level) {
+        return recipesByDifficulty.getOrDefault(level, OrderedRecipes.EMPTY);
+    }
+    
+    /**
+     * Copy of {@code buckets} where {@code old} leaves the buckets it was in and {@code recipe} enters
+     * the ones it belongs to; other buckets are shared
+     */
+    private static <K> Map<K, OrderedRecipes> patched(Map<K, OrderedRecipes> buckets, RecipeView old,
+                                                      RecipeView recipe, Function<RecipeView, Set<K>> keys) {
+        Set<K> oldKeys = old != null ? keys.apply(old) : Set.of();
+        Set<K> newKeys = keys.apply(recipe);
+        Map<K, OrderedRecipes> copy = new HashMap<>(buckets);
+        for (K key : oldKeys) {
+            copy.put(key, copy.get(key).replace(old, newKeys.contains(key) ? recipe : null));
+        }
+        for (K key : newKeys) {
+            if (!oldKeys.contains(key)) {
+                copy.put(key, copy.getOrDefault(key, OrderedRecipes.EMPTY).replace(null, recipe));
+            }
+        }
+        copy.values().removeIf(bucket -> bucket.size() == 0);
+        return Collections.unmodifiableMap(copy);
+    }
+    
+    private static List<IngredientView> sortedInsert(List<IngredientView> sorted, List<IngredientView> more) {
+        List<IngredientView> copy = new ArrayList<>(sorted);
+        for (IngredientView ingredient : more) {
+            int at = Collections.binarySearch(copy, ingredient, Comparator.comparing(IngredientView::getId));
+            copy.add(at < 0 ? -at - 1 : at, ingredient);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+    
+    private static <T> List<T> sortedCopy(Collection<T> items, Comparator<T> order) {
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(order);
+        return List.copyOf(copy);
+    }
+    
+    private static <K, T> Map<K, T> indexBy(List<T> items, Function<T, K> key) {
+        // First entry wins on duplicate keys (country codes are not unique in the schema)
+        return items.stream().collect(Collectors.toUnmodifiableMap(key, Function.identity(), (first, second) -> first));
+    }
+    
+    private static <K> Map<K, OrderedRecipes> group(List<RecipeView> recipes, Function<RecipeView, K> key) {
+        return recipes.stream()
+            .collect(Collectors.groupingBy(key))
+            .entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> OrderedRecipes.of(e.getValue())));
+    }
+}
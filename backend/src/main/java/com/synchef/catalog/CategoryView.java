@@ -0,0 +1,28 @@
+package com.synchef.catalog;
+
+import com.synchef.model.Category;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable, serialization-ready copy of a Category
+ */
+@Value
+@Builder
+public class CategoryView {
+    Long id;
+    String name;
+    String description;
+    String iconName;
+    String colorCode;
+    
+    public static CategoryView from(Category category) {
+        return CategoryView.builder()
+            .id(category.getId())
+            .name(category.getName())
+            .description(category.getDescription())
+            .iconName(category.getIconName())
+            .colorCode(category.getColorCode())
+            .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.synchef.catalog;
+
+import com.synchef.model.Country;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable, serialization-ready copy of a Country (without its recipe and ingredient back-references)
+ */
+@Value
+@Builder
+public class CountryView {
+    Long id;
+    String name;
+    String code;
+    String continent;
+    String description;
+    String flagEmoji;
+    Double latitude;
+    Double longitude;
+    
+    public static CountryView from(Country country) {
+        return CountryView.builder()
+            .id(country.getId())
+            .name(country.getName())
+            .code(country.getCode())
+            .continent(country.getContinent())
+            .description(country.getDescription())
+            .flagEmoji(country.getFlagEmoji())
+            .latitude(country.getLatitude())
+            .longitude(country.getLongitude())
+            .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.synchef.catalog;
+
+import com.synchef.model.Ingredient;
+import com.synchef.model.NutrientProfile;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable, serialization-ready copy of an Ingredient; the origin country is referenced by id and code
+ */
+@Value
+@Builder
+public class IngredientView {
+    Long id;
+    String name;
+    String description;
+    Long countryId;
+    String countryCode;
+    Boolean isTraditional;
+    String category;
+    String imageUrl;
+    List<String> commonSubstitutes;
+    String allergenInfo;
+    Double densityGramsPerMl;
+    Double gramsPerPiece;
+    NutrientProfile nutrients;
+    
+    public static IngredientView from(Ingredient ingredient) {
+        return IngredientView.builder()
+            .id(ingredient.getId())
+            .name(ingredient.getName())
+            .description(ingredient.getDescription())
+            .countryId(ingredient.getCountry() != null ? ingredient.getCountry().getId() : null)
+            .countryCode(ingredient.getCountry() != null ? ingredient.getCountry().getCode() : null)
+            .isTraditional(ingredient.getIsTraditional())
+            .category(ingredient.getCategory())
+            .imageUrl(ingredient.getImageUrl())
+            .commonSubstitutes(List.copyOf(ingredient.getCommonSubstitutes()))
+            .allergenInfo(ingredient.getAllergenInfo())
+            .densityGramsPerMl(ingredient.getDensityGramsPerMl())
+            .gramsPerPiece(ingredient.getGramsPerPiece())
+            .nutrients(ingredient.getNutrients() != null ? ingredient.getNutrients().copy() : null)
+            .build();
+    }
+}
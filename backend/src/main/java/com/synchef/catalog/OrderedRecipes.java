@@ -0,0 +1,138 @@
+package com.synchef.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable recipe list held in both id order and (name, id) order, with keyset seeks by binary search
+ */
+public final class OrderedRecipes {
+    
+    public static final Comparator<RecipeView> BY_ID = Comparator.comparing(RecipeView::getId);
+    public static final Comparator<RecipeView> BY_NAME =
+        Comparator.comparing(RecipeView::getName).thenComparing(RecipeView::getId);
+    
+    public static final OrderedRecipes EMPTY = new OrderedRecipes(List.of(), List.of());
+    
+    private final List<RecipeView> byId;
+    private final List<RecipeView> byName;
+    
+    private OrderedRecipes(List<RecipeView> byId, List<RecipeView> byName) {
+        this.byId = byId;
+        this.byName = byName;
+    }
+    
+    public static OrderedRecipes of(List<RecipeView> recipes) {
+        List<RecipeView> byId = new ArrayList<>(recipes);
+        byId.sort(BY_ID);
+        List<RecipeView> byName = new ArrayList<>(recipes);
+        byName.sort(BY_NAME);
+        return new OrderedRecipes(List.copyOf(byId), List.copyOf(byName));
+    }
+    
+    /**
+     * Copy with {@code old} (null: none) taken out and {@code recipe} (null: none) put in, each at its
+     * binary-searched position, so neither order is sorted again
+     */
+    public OrderedRecipes replace(RecipeView old, RecipeView recipe) {
+        List<RecipeView> newById = new ArrayList<>(byId);
+        List<RecipeView> newByName = new ArrayList<>(byName);
+        if (old != null) {
+            int at = firstAfter(newById, old.getId() - 1);
+            if (at < newById.size() && newById.get(at).getId().equals(old.getId())) {
+                newById.remove(at);
+                newByName.remove(firstAfter(newByName, old.getName(), old.getId() - 1));
+            }
+        }
+        if (recipe != null) {
+            newById.add(firstAfter(newById, recipe.getId()), recipe);
+            newByName.add(firstAfter(newByName, recipe.getName(), recipe.getId()), recipe);
+        }
+        return newById.isEmpty() ? EMPTY : new OrderedRecipes(List.copyOf(newById), List.copyOf(newByName));
+    }
+    
+    public List<RecipeView> byId() {
+        return byId;
+    }
+    
+    public List<RecipeView> byName() {
+        return byName;
+    }
+    
+    public int size() {
+        return byId.size();
+    }
+    
+    /**
+     * Up to {@code limit} recipes with id greater than {@code afterId}, in id order
+     */
+    public List<RecipeView> seekById(long afterId, int limit) {
+        int from = firstAfter(afterId);
+        return byId.subList(from, Math.min(byId.size(), from + limit));
+    }
+    
+    /**
+     * Up to {@code limit} recipes sorting after (afterName, afterId), in name order
+     */
+    public List<RecipeView> seekByName(String afterName, long afterId, int limit) {
+        int from = firstAfter(afterName, afterId);
+        return byName.subList(from, Math.min(byName.size(), from + limit));
+    }
+    
+    /**
+     * Like the seeks above, but skipping recipes that fail {@code filter}; scans linearly from the cursor
+     */
+    public List<RecipeView> scan(boolean nameOrder, String afterName, long afterId, int limit,
+                                 Predicate<RecipeView> filter) {
+        List<RecipeView> source = nameOrder ? byName : byId;
+        int from = nameOrder ? firstAfter(afterName, afterId) : firstAfter(afterId);
+        List<RecipeView> result = new ArrayList<>(limit);
+        for (int i = from; i < source.size() && result.size() < limit; i++) {
+            RecipeView recipe = source.get(i);
+            if (filter.test(recipe)) {
+                result.add(recipe);
+            }
+        }
+        return result;
+    }
+    
+    private int firstAfter(long afterId) {
+        return firstAfter(byId, afterId);
+    }
+    
+    private int firstAfter(String afterName, long afterId) {
+        return firstAfter(byName, afterName, afterId);
+    }
+    
+    private static int firstAfter(List<RecipeView> byId, long afterId) {
+        int lo = 0;
+        int hi = byId.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byId.get(mid).getId() <= afterId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private static int firstAfter(List<RecipeView> byName, String afterName, long afterId) {
+        int lo = 0;
+        int hi = byName.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            RecipeView recipe = byName.get(mid);
+            int cmp = recipe.getName().compareTo(afterName);
+            if (cmp < 0 || (cmp == 0 && recipe.getId() <= afterId)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
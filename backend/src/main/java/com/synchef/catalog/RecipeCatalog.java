@@ -0,0 +1,113 @@
+package com.synchef.catalog;
+
+import com.synchef.model.Recipe;
+import com.synchef.repository.CategoryRepository;
+import com.synchef.repository.CountryRepository;
+import com.synchef.repository.IngredientRepository;
+import com.synchef.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process read model of recipes, countries, categories and ingredients.
+ *
+ * Readers grab the current {@link CatalogSnapshot} with a single volatile read and never touch JPA.
+ * Writers (full reloads, recipe saves) are serialized, build a new snapshot and swap it atomically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeCatalog {
+    
+    private final CountryRepository countryRepository;
+    private final CategoryRepository categoryRepository;
+    private final IngredientRepository ingredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.EMPTY);
+    
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+    
+    /**
+     * Rebuild the whole catalog from the database and swap it in
+     */
+    public synchronized CatalogSnapshot reload() {
+        long started = System.currentTimeMillis();
+        long version = current.get().getVersion() + 1;
+        
+        CatalogSnapshot snapshot = readOnlyTransaction().execute(status -> {
+            List<CountryView> countries = countryRepository.findAll().stream().map(CountryView::from).toList();
+            List<CategoryView> categories = categoryRepository.findAll().stream().map(CategoryView::from).toList();
+            List<IngredientView> ingredients = ingredientRepository.findAll().stream().map(IngredientView::from).toList();
+            
+            Map<Long, CountryView> countriesById = byId(countries, CountryView::getId);
+            Map<Long, CategoryView> categoriesById = byId(categories, CategoryView::getId);
+            Map<Long, IngredientView> ingredientsById = byId(ingredients, IngredientView::getId);
+            
+            List<RecipeView> recipes = recipeRepository.findAll().stream()
+                .map(r -> RecipeView.from(r, countriesById, categoriesById, ingredientsById))
+                .toList();
+            
+            return CatalogSnapshot.build(version, countries, categories, ingredients, recipes);
+        });
+        
+        swap(snapshot, true, Set.of());
+        log.info("Recipe catalog v{} loaded: {} recipes, {} countries, {} ingredients in {} ms",
+                 version, snapshot.getRecipes().size(), snapshot.getCountries().size(),
+                 snapshot.getIngredients().size(), System.currentTimeMillis() - started);
+        return snapshot;
+    }
+    
+    /**
+     * Patch a freshly saved recipe into the catalog and return its view
+     */
+    public synchronized RecipeView recipeSaved(Long recipeId) {
+        CatalogSnapshot base = current.get();
+        
+        RecipeView view = readOnlyTransaction().execute(status -> {
+            Recipe recipe = recipeRepository.findWithIngredientsById(recipeId)
+                .orElseThrow(() -> new RuntimeException("Recipe not found with id: " + recipeId));
+            return RecipeView.from(recipe, base.getCountriesById(), base.getCategoriesById(), base.getIngredientsById());
+        });
+        
+        swap(base.withRecipe(base.getVersion() + 1, view), false, Set.of(recipeId));
+        return view;
+    }
+    
+    private void swap(CatalogSnapshot snapshot, boolean fullReload, Set<Long> changedRecipeIds) {
+        current.set(snapshot);
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(snapshot, fullReload, changedRecipeIds));
+    }
+    
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+    
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+        return items.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
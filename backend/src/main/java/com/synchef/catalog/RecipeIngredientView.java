@@ -0,0 +1,36 @@
+package com.synchef.catalog;
+
+import com.synchef.model.RecipeIngredient;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable ingredient line of a RecipeView
+ */
+@Value
+@Builder
+public class RecipeIngredientView {
+    Long id;
+    IngredientView ingredient;
+    BigDecimal quantity;
+    String unit;
+    Integer orderIndex;
+    String preparation;
+    Boolean isOptional;
+    String notes;
+    
+    public static RecipeIngredientView from(RecipeIngredient ri, IngredientView ingredient) {
+        return RecipeIngredientView.builder()
+            .id(ri.getId())
+            .ingredient(ingredient)
+            .quantity(ri.getQuantity())
+            .unit(ri.getUnit())
+            .orderIndex(ri.getOrderIndex())
+            .preparation(ri.getPreparation())
+            .isOptional(ri.getIsOptional())
+            .notes(ri.getNotes())
+            .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.synchef.catalog;
+
+import com.synchef.dto.RecipeSummaryDTO;
+import com.synchef.model.Recipe;
+import com.synchef.template.StepTemplate;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, denormalized copy of a Recipe with its country, categories, ingredient lines and steps.
+ * Country, category and ingredient views are shared with the owning snapshot.
+ */
+@Value
+@Builder
+public class RecipeView {
+    Long id;
+    String name;
+    String description;
+    CountryView country;
+    List<CategoryView> categories;
+    Integer prepTimeMinutes;
+    Integer cookTimeMinutes;
+    Integer totalTimeMinutes;
+    Integer defaultServings;
+    String difficultyLevel;
+    String imageUrl;
+    String culturalContext;
+    List<RecipeIngredientView> ingredients;
+    List<StepView> steps;
+    Date createdAt;
+    Date updatedAt;
+    
+    /**
+     * Build a view, reusing already materialized country/category/ingredient views where available
+     */
+    public static RecipeView from(Recipe recipe,
+                                  Map<Long, CountryView> countries,
+                                  Map<Long, CategoryView> categories,
+                                  Map<Long, IngredientView> ingredients) {
+        CountryView country = countries.get(recipe.getCountry().getId());
+        List<RecipeIngredientView> lines = recipe.getIngredients().stream()
+            .map(ri -> {
+                IngredientView ingredient = ingredients.get(ri.getIngredient().getId());
+                return RecipeIngredientView.from(ri,
+                    ingredient != null ? ingredient : IngredientView.from(ri.getIngredient()));
+            })
+            .toList();
+        StepTemplate.Amounts amounts = new StepTemplate.Amounts();
+        lines.forEach(line -> amounts.put(line.getOrderIndex(), line.getQuantity(), line.getUnit(),
+            line.getIngredient().getName()));
+        return RecipeView.builder()
+            .id(recipe.getId())
+            .name(recipe.getName())
+            .description(recipe.getDescription())
+            .country(country != null ? country : CountryView.from(recipe.getCountry()))
+            .categories(recipe.getCategories().stream()
+                .map(c -> categories.getOrDefault(c.getId(), CategoryView.from(c)))
+                .toList())
+            .prepTimeMinutes(recipe.getPrepTimeMinutes())
+            .cookTimeMinutes(recipe.getCookTimeMinutes())
+            .totalTimeMinutes(recipe.getTotalTimeMinutes())
+            .defaultServings(recipe.getDefaultServings())
+            .difficultyLevel(recipe.getDifficultyLevel())
+            .imageUrl(recipe.getImageUrl())
+            .culturalContext(recipe.getCulturalContext())
+            .ingredients(lines)
+            .steps(recipe.getSteps().stream().map(step -> StepView.from(step, amounts)).toList())
+            .createdAt(recipe.getCreatedAt())
+            .updatedAt(recipe.getUpdatedAt())
+            .build();
+    }
+    
+    public RecipeSummaryDTO toSummary() {
+        return new RecipeSummaryDTO(id, name, country.getCode(), difficultyLevel, totalTimeMinutes, imageUrl);
+    }
+}
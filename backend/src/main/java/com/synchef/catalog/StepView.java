@@ -0,0 +1,50 @@
+package com.synchef.catalog;
+
+import com.synchef.model.Step;
+import com.synchef.template.StepTemplate;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Immutable step of a RecipeView; the instruction is rendered at the recipe's own amounts
+ */
+@Value
+@Builder
+public class StepView {
+    Long id;
+    Integer orderIndex;
+    String instruction;
+    String instructionTemplate; // Only set when the instruction references ingredient amounts
+    Boolean hasTimer;
+    Integer timerSeconds;
+    String timerLabel;
+    Boolean isParallel;
+    Integer parallelGroup;
+    String imageUrl;
+    String tips;
+    String temperature;
+    Boolean scalesWithServings;
+    List<Integer> dependsOn;
+    
+    public static StepView from(Step step, StepTemplate.Amounts amounts) {
+        StepTemplate template = step.getTemplate();
+        return StepView.builder()
+            .id(step.getId())
+            .orderIndex(step.getOrderIndex())
+            .instruction(template.render(amounts))
+            .instructionTemplate(template.isStatic() ? null : template.getSource())
+            .hasTimer(step.getHasTimer())
+            .timerSeconds(step.getTimerSeconds())
+            .timerLabel(step.getTimerLabel())
+            .isParallel(step.getIsParallel())
+            .parallelGroup(step.getParallelGroup())
+            .imageUrl(step.getImageUrl())
+            .tips(step.getTips())
+            .temperature(step.getTemperature())
+            .scalesWithServings(step.getScalesWithServings())
+            .dependsOn(step.getDependsOn() != null ? List.copyOf(step.getDependsOn()) : List.of())
+            .build();
+    }
+}
@@ -1,15 +1,19 @@
 package com.synchef.controller;
 
 import com.synchef.dto.AuthResponse;
+import com.synchef.dto.KitchenProfileRequest;
 import com.synchef.dto.LoginRequest;
 import com.synchef.dto.RegisterRequest;
+import com.synchef.scheduling.KitchenProfile;
 import com.synchef.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST controller for authentication and user management
@@ -52,4 +56,24 @@ public class AuthController {
         }
     }
     
+    /**
+     * Set the kitchen (burners, ovens, cooks) the signed-in user's timers are planned for
+     * PUT /api/auth/kitchen
+     */
+    @PutMapping("/kitchen")
+    public ResponseEntity<Object> updateKitchen(
+            @RequestBody KitchenProfileRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            Optional<KitchenProfile> kitchen = authService.updateKitchenProfile(authorization, request);
+            if (kitchen.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of(MESSAGE_KEY, "Sign in to save a kitchen"));
+            }
+            return ResponseEntity.ok(kitchen.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, e.getMessage()));
+        }
+    }
+    
 }
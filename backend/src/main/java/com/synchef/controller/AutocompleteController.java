@@ -0,0 +1,45 @@
+package com.synchef.controller;
+
+import com.synchef.dto.SuggestionDTO;
+import com.synchef.search.AutocompleteIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for type-ahead suggestions
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class AutocompleteController {
+    
+    private static final int MAX_LIMIT = 20;
+    
+    private final AutocompleteIndex autocompleteIndex;
+    
+    /**
+     * GET /api/autocomplete?q=sita&type=recipe&limit=8
+     */
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "RECIPE") String type,
+            @RequestParam(defaultValue = "8") Integer limit) {
+        AutocompleteIndex.Type suggestionType;
+        try {
+            suggestionType = AutocompleteIndex.Type.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<SuggestionDTO> suggestions = autocompleteIndex
+            .suggest(suggestionType, q, Math.max(1, Math.min(limit, MAX_LIMIT))).stream()
+            .map(m -> new SuggestionDTO(m.id(), m.name(), suggestionType.name(), m.edits()))
+            .toList();
+        return ResponseEntity.ok(suggestions);
+    }
+}
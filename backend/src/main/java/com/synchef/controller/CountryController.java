@@ -1,16 +1,13 @@
 package com.synchef.controller;
 
-import com.synchef.model.Country;
-import com.synchef.model.Ingredient;
-import com.synchef.repository.CountryRepository;
-import com.synchef.repository.IngredientRepository;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.RecipeCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for country and flavor map operations
@@ -21,43 +18,62 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class CountryController {
     
-    private final CountryRepository countryRepository;
-    private final IngredientRepository ingredientRepository;
+    private final RecipeCatalog catalog;
+    private final ResponseBodyCache responseCache;
     
     @GetMapping
-    public ResponseEntity<List<Country>> getAllCountries() {
-        return ResponseEntity.ok(countryRepository.findAll());
+    public ResponseEntity<byte[]> getAllCountries(WebRequest request) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        return found(request, "countries:all", snapshot, snapshot.getCountries());
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Country> getCountryById(@PathVariable Long id) {
-        return countryRepository.findById(id)
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getCountryById(@PathVariable Long id, WebRequest request) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        return found(request, "country:" + id, snapshot, snapshot.getCountriesById().get(id));
     }
     
     @GetMapping("/code/{code}")
-    public ResponseEntity<Country> getCountryByCode(@PathVariable String code) {
-        return countryRepository.findByCode(code.toUpperCase())
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getCountryByCode(@PathVariable String code, WebRequest request) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        String countryCode = code.toUpperCase();
+        return found(request, "country:code:" + countryCode, snapshot,
+            snapshot.getCountriesByCode().get(countryCode));
     }
     
     @GetMapping("/continent/{continent}")
-    public ResponseEntity<List<Country>> getCountriesByContinent(@PathVariable String continent) {
-        return ResponseEntity.ok(countryRepository.findByContinent(continent.toUpperCase()));
+    public ResponseEntity<byte[]> getCountriesByContinent(@PathVariable String continent, WebRequest request) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        String name = continent.toUpperCase();
+        return found(request, "countries:continent:" + name, snapshot,
+            snapshot.getCountriesByContinent().getOrDefault(name, List.of()));
     }
     
     @GetMapping("/continents")
-    public ResponseEntity<Map<String, List<Country>>> getCountriesGroupedByContinent() {
-        List<Country> allCountries = countryRepository.findAll();
-        Map<String, List<Country>> grouped = allCountries.stream()
-            .collect(Collectors.groupingBy(Country::getContinent));
-        return ResponseEntity.ok(grouped);
+    public ResponseEntity<byte[]> getCountriesGroupedByContinent(WebRequest request) {
+        // Grouped once per snapshot and serialized once per base version rather than per request
+        CatalogSnapshot snapshot = catalog.snapshot();
+        return found(request, "countries:continents", snapshot, snapshot.getCountriesByContinent());
     }
     
     @GetMapping("/{id}/traditional-ingredients")
-    public ResponseEntity<List<Ingredient>> getTraditionalIngredients(@PathVariable Long id) {
-        return ResponseEntity.ok(ingredientRepository.findByCountryId(id));
+    public ResponseEntity<byte[]> getTraditionalIngredients(@PathVariable Long id, WebRequest request) {
+        // Saving a recipe can introduce ingredients, so this follows the full catalog version
+        CatalogSnapshot snapshot = catalog.snapshot();
+        String etag = HttpCaching.etag("ingredients", HttpCaching.stamp(snapshot.getVersion(), snapshot.getBuiltAt()));
+        return responseCache.respond(request, "ingredients:country:" + id, etag, snapshot.getBuiltAt(),
+            HttpCaching.LISTING, () -> snapshot.getIngredientsByCountryId().getOrDefault(id, List.of()));
+    }
+    
+    /**
+     * Country data only changes on a full catalog reload, so the base version validates it
+     */
+    private ResponseEntity<byte[]> found(WebRequest request, String key, CatalogSnapshot snapshot, Object body) {
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = HttpCaching.etag("countries",
+            HttpCaching.stamp(snapshot.getBaseVersion(), snapshot.getBaseBuiltAt()));
+        return responseCache.respond(request, key, etag, snapshot.getBaseBuiltAt(), HttpCaching.REFERENCE, () -> body);
     }
 }
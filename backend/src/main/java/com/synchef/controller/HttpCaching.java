@@ -0,0 +1,113 @@
+package com.synchef.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Conditional GET helpers shared by the catalog-backed controllers. Validators come from catalog
+ * versions and entity timestamps, so a 304 is decided before any response body is assembled.
+ */
+final class HttpCaching {
+    
+    // A single recipe: reusable for a while, then revalidated
+    static final CacheControl RECIPE = CacheControl.maxAge(Duration.ofMinutes(10)).cachePublic().mustRevalidate();
+    // Listings change whenever any recipe does, so clients revalidate on every use
+    static final CacheControl LISTING = CacheControl.noCache().cachePublic();
+    // Countries and categories only change on a full catalog reload
+    static final CacheControl REFERENCE = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+    
+    private static final String GZIP_SUFFIX = "-gzip\"";
+    
+    private HttpCaching() {
+    }
+    
+    /**
+     * True when the request's If-None-Match / If-Modified-Since still match the current validators;
+     * a client holding the other encoding of the same version (see {@link #gzipVariant}) is current too
+     */
+    static boolean notModified(WebRequest request, String etag, Date lastModified) {
+        return request.checkNotModified(requestedVariant(request, etag),
+            lastModified != null ? lastModified.getTime() : -1L);
+    }
+    
+    /**
+     * True when the request's If-None-Match names {@code etag} or its gzip variant
+     */
+    static boolean namesVersion(WebRequest request, String etag) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tags : ifNoneMatch) {
+                if (tags.contains(etag) || tags.contains(gzipVariant(etag))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * {@code etag}, or its other encoding when that is what the request's If-None-Match names
+     */
+    static String requestedVariant(WebRequest request, String etag) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        String other = etag.endsWith(GZIP_SUFFIX) ? etag.substring(0, etag.length() - GZIP_SUFFIX.length()) + "\""
+            : gzipVariant(etag);
+        if (ifNoneMatch != null) {
+            for (String tags : ifNoneMatch) {
+                if (tags.contains(other)) {
+                    return other;
+                }
+            }
+        }
+        return etag;
+    }
+    
+    /**
+     * 304 after {@link #notModified}, which has already written the validators to the response
+     */
+    static <T> ResponseEntity<T> notModifiedResponse(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+    
+    /**
+     * 200 builder carrying the validators and cache policy
+     */
+    static ResponseEntity.BodyBuilder ok(String etag, Date lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            response.lastModified(lastModified.getTime());
+        }
+        return response;
+    }
+    
+    static String etag(String... parts) {
+        return "\"" + String.join("-", parts) + "\"";
+    }
+    
+    /**
+     * Strong validator of the gzip-encoded representation: its bytes differ, so its tag must too
+     */
+    static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX;
+    }
+    
+    /**
+     * Catalog version qualified by its build time, so versions restarting at 1 after a reboot never collide
+     */
+    static String stamp(long version, Date builtAt) {
+        return version + "-" + Long.toString(builtAt.getTime(), 36);
+    }
+    
+    static Date latest(Date a, Date b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.after(b) ? a : b;
+    }
+}
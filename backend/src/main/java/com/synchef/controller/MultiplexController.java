@@ -0,0 +1,348 @@
+package com.synchef.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchef.dto.MultiplexRequestDTO;
+import com.synchef.dto.MultiplexResponseDTO;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs several GET requests against this API in one HTTP call, so clients on slow networks pay one
+ * round trip at startup instead of many. Each part is dispatched in-process to the regular
+ * controllers (same handlers, same authorization header) and its JSON is embedded as is.
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class MultiplexController {
+    
+    static final int MAX_PARTS = 20;
+    
+    // Parts are answered in full, uncompressed and unconditionally
+    private static final Set<String> HIDDEN_HEADERS = Set.of("accept-encoding", "if-none-match",
+        "if-modified-since", "if-match", "if-unmodified-since", "range");
+    
+    // Handlers that stream their body asynchronously; they would take over the shared outer request
+    static final Set<String> STREAMING_PATHS = Set.of("/api/recipes/export");
+    
+    private final ObjectMapper objectMapper;
+    
+    @PostMapping
+    public ResponseEntity<Object> multiplex(@RequestBody MultiplexRequestDTO request,
+                                            HttpServletRequest servletRequest,
+                                            HttpServletResponse servletResponse) {
+        List<MultiplexRequestDTO.Part> parts = request.getRequests() != null ? request.getRequests() : List.of();
+        if (parts.isEmpty() || parts.size() > MAX_PARTS) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "A batch needs between 1 and " + MAX_PARTS + " requests"));
+        }
+        for (MultiplexRequestDTO.Part part : parts) {
+            String path = part.getPath();
+            if (path == null || !path.startsWith("/api/") || path.startsWith("/api/batch") || path.contains("..")) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Every request needs a path under /api/ (batches cannot nest)"));
+            }
+        }
+        
+        // Sequential on purpose: the parts share this request, and they are mostly in-memory catalog reads
+        List<MultiplexResponseDTO.Part> responses = new ArrayList<>(parts.size());
+        for (MultiplexRequestDTO.Part part : parts) {
+            responses.add(dispatch(part, servletRequest, servletResponse));
+        }
+        return ResponseEntity.ok(new MultiplexResponseDTO(responses));
+    }
+    
+    private MultiplexResponseDTO.Part dispatch(MultiplexRequestDTO.Part part, HttpServletRequest request,
+                                               HttpServletResponse outer) {
+        String id = part.getId() != null ? part.getId() : part.getPath();
+        int query = part.getPath().indexOf('?');
+        if (STREAMING_PATHS.contains(query < 0 ? part.getPath() : part.getPath().substring(0, query))) {
+            return notBatchable(id);
+        }
+        RequestDispatcher dispatcher = request.getRequestDispatcher(part.getPath());
+        GetRequest get = new GetRequest(request);
+        CapturingResponse response = new CapturingResponse(outer);
+        try {
+            dispatcher.include(get, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (get.asyncRequested) {
+                return notBatchable(id);
+            }
+            log.debug("Multiplexed request {} failed", part.getPath(), e);
+            return new MultiplexResponseDTO.Part(id, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                json(Map.of("message", String.valueOf(e.getMessage()))));
+        }
+        if (get.asyncRequested || request.isAsyncStarted()) {
+            return notBatchable(id);
+        }
+        return new MultiplexResponseDTO.Part(id, response.getStatus(), response.body(objectMapper));
+    }
+    
+    private MultiplexResponseDTO.Part notBatchable(String id) {
+        return new MultiplexResponseDTO.Part(id, HttpStatus.BAD_REQUEST.value(),
+            json(Map.of("message", "Streamed and asynchronous responses cannot be batched")));
+    }
+    
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * The outer request seen as a plain GET without compression or conditional headers. Async
+     * processing is refused: a part's handler must not start it on the shared outer request.
+     */
+    private static final class GetRequest extends HttpServletRequestWrapper {
+        private boolean asyncRequested;
+        
+        GetRequest(HttpServletRequest request) {
+            super(request);
+        }
+        
+        @Override
+        public AsyncContext startAsync() {
+            return refuseAsync();
+        }
+        
+        @Override
+        public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+            return refuseAsync();
+        }
+        
+        private AsyncContext refuseAsync() {
+            asyncRequested = true;
+            throw new IllegalStateException("Multiplexed requests cannot be processed asynchronously");
+        }
+        
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+        
+        @Override
+        public String getHeader(String name) {
+            return hidden(name) ? null : super.getHeader(name);
+        }
+        
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+        
+        @Override
+        public long getDateHeader(String name) {
+            return hidden(name) ? -1L : super.getDateHeader(name);
+        }
+        
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            for (Enumeration<String> all = super.getHeaderNames(); all.hasMoreElements(); ) {
+                String name = all.nextElement();
+                if (!hidden(name)) {
+                    names.add(name);
+                }
+            }
+            return Collections.enumeration(names);
+        }
+        
+        private static boolean hidden(String name) {
+            return name != null && HIDDEN_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+        }
+    }
+    
+    /**
+     * Buffers a sub-response's status, content type and body instead of writing them to the client.
+     * Other headers (ETag, Cache-Control, ...) only apply to the part and are dropped.
+     */
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+        private int status = HttpServletResponse.SC_OK;
+        private String contentType;
+        
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+        
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+        
+        @Override
+        public int getStatus() {
+            return status;
+        }
+        
+        @Override
+        public void sendError(int status) {
+            this.status = status;
+        }
+        
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+        }
+        
+        @Override
+        public void setContentType(String type) {
+            this.contentType = type;
+        }
+        
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+        
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                contentType = value;
+            }
+        }
+        
+        @Override
+        public void addHeader(String name, String value) {
+            setHeader(name, value);
+        }
+        
+        @Override
+        public void setDateHeader(String name, long date) {
+        }
+        
+        @Override
+        public void addDateHeader(String name, long date) {
+        }
+        
+        @Override
+        public void setIntHeader(String name, int value) {
+        }
+        
+        @Override
+        public void addIntHeader(String name, int value) {
+        }
+        
+        @Override
+        public void setContentLength(int length) {
+        }
+        
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+        
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+        
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+        
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+        }
+        
+        @Override
+        public void reset() {
+            buffer.reset();
+            status = HttpServletResponse.SC_OK;
+            contentType = null;
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        buffer.write(b);
+                    }
+                    
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) {
+                        buffer.write(bytes, offset, length);
+                    }
+                    
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+                    
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        throw new UnsupportedOperationException("Multiplexed responses are buffered");
+                    }
+                };
+            }
+            return stream;
+        }
+        
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+        
+        /**
+         * The body as JSON: JSON bodies verbatim, anything else as a JSON string, null when empty
+         */
+        String body(ObjectMapper objectMapper) {
+            flushBuffer();
+            if (buffer.size() == 0) {
+                return null;
+            }
+            String text = buffer.toString(StandardCharsets.UTF_8);
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+                return text;
+            }
+            try {
+                return objectMapper.writeValueAsString(text);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
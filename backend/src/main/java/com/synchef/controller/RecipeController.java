@@ -1,16 +1,49 @@
 package com.synchef.controller;
 
+import com.synchef.cache.CacheStats;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.catalog.RecipeView;
+import com.synchef.dto.MealPlanRequestDTO;
+import com.synchef.dto.RecipeBatchDTO;
+import com.synchef.dto.RecipeFacetPageDTO;
+import com.synchef.dto.RecipeImportResultDTO;
+import com.synchef.dto.RecipePageDTO;
+import com.synchef.dto.RecipeSearchPageDTO;
 import com.synchef.dto.ScaledRecipeDTO;
-import com.synchef.dto.TimerOrchestrationDTO;
 import com.synchef.model.Recipe;
 import com.synchef.repository.RecipeRepository;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.scheduling.StepGraph;
+import com.synchef.service.AuthService;
+import com.synchef.service.CookingBundleService;
+import com.synchef.service.MealPlanService;
+import com.synchef.service.RecipeExportService;
+import com.synchef.service.RecipeImportService;
+import com.synchef.service.RecipeListingService;
 import com.synchef.service.RecipeScalingService;
 import com.synchef.service.TimerOrchestrationService;
+import com.synchef.units.UnitSystem;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for recipe operations
@@ -21,62 +54,364 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class RecipeController {
     
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final int MAX_IDS = 100;
+    
     private final RecipeRepository recipeRepository;
+    private final RecipeCatalog catalog;
+    private final RecipeListingService listingService;
+    private final RecipeExportService exportService;
+    private final RecipeImportService importService;
     private final RecipeScalingService scalingService;
+    private final MealPlanService mealPlanService;
     private final TimerOrchestrationService timerOrchestrationService;
+    private final CookingBundleService cookingBundleService;
+    private final ResponseBodyCache responseCache;
+    private final AuthService authService;
+    
+    @Value("${app.recipeExport.timeoutMinutes:10}")
+    private long exportTimeoutMinutes;
     
     @GetMapping
-    public ResponseEntity<List<Recipe>> getAllRecipes() {
-        return ResponseEntity.ok(recipeRepository.findAll());
+    public ResponseEntity<byte[]> getAllRecipes(WebRequest request) {
+        return listing(request, "recipes:all", snapshot -> snapshot.getRecipes().byId());
+    }
+    
+    /**
+     * Keyset-paginated summaries, selected when a page size and no ids are given
+     * GET /api/recipes?size=20&sort=name&afterName=...&afterId=...
+     */
+    @GetMapping(params = {"size", "!ids"})
+    public ResponseEntity<RecipePageDTO> getRecipePage(
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.listAll(sort, afterId, afterName, size));
+    }
+    
+    /**
+     * Several recipes by id in one round trip, in request order; unknown ids are listed separately
+     * GET /api/recipes?ids=1,5,9
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getRecipesByIds(@RequestParam List<Long> ids, WebRequest request) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Between 1 and " + MAX_IDS + " ids are allowed"));
+        }
+        CatalogSnapshot snapshot = catalog.snapshot();
+        String etag = HttpCaching.etag("recipes", HttpCaching.stamp(snapshot.getVersion(), snapshot.getBuiltAt()));
+        if (HttpCaching.notModified(request, etag, snapshot.getBuiltAt())) {
+            return HttpCaching.notModifiedResponse(HttpCaching.LISTING);
+        }
+        List<RecipeView> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            RecipeView recipe = snapshot.getRecipesById().get(id);
+            if (recipe != null) {
+                found.add(recipe);
+            } else {
+                missing.add(id);
+            }
+        }
+        return HttpCaching.ok(etag, snapshot.getBuiltAt(), HttpCaching.LISTING)
+            .body(new RecipeBatchDTO(found, missing));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Recipe> getRecipeById(@PathVariable Long id) {
-        return recipeRepository.findById(id)
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getRecipeById(@PathVariable Long id, WebRequest request) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        RecipeView recipe = snapshot.getRecipesById().get(id);
+        if (recipe == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // The view embeds country, category and ingredient data, which only change with the base version
+        long updated = recipe.getUpdatedAt() != null ? recipe.getUpdatedAt().getTime() : 0L;
+        String etag = HttpCaching.etag("recipe", String.valueOf(id), Long.toString(updated, 36),
+            HttpCaching.stamp(snapshot.getBaseVersion(), snapshot.getBaseBuiltAt()));
+        return responseCache.respond(request, ResponseBodyCache.recipeKey(id), etag,
+            HttpCaching.latest(recipe.getUpdatedAt(), snapshot.getBaseBuiltAt()), HttpCaching.RECIPE, () -> recipe);
     }
     
     @GetMapping("/country/{countryId}")
-    public ResponseEntity<List<Recipe>> getRecipesByCountry(@PathVariable Long countryId) {
-        return ResponseEntity.ok(recipeRepository.findByCountryId(countryId));
+    public ResponseEntity<byte[]> getRecipesByCountry(@PathVariable Long countryId, WebRequest request) {
+        return listing(request, "recipes:country:" + countryId,
+            snapshot -> snapshot.recipesByCountryId(countryId).byId());
+    }
+    
+    @GetMapping(value = "/country/{countryId}", params = "size")
+    public ResponseEntity<RecipePageDTO> getRecipePageByCountry(
+            @PathVariable Long countryId,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.listByCountry(countryId, sort, afterId, afterName, size));
     }
     
     @GetMapping("/country/code/{countryCode}")
-    public ResponseEntity<List<Recipe>> getRecipesByCountryCode(@PathVariable String countryCode) {
-        return ResponseEntity.ok(recipeRepository.findByCountryCode(countryCode.toUpperCase()));
+    public ResponseEntity<byte[]> getRecipesByCountryCode(@PathVariable String countryCode, WebRequest request) {
+        String code = countryCode.toUpperCase();
+        return listing(request, "recipes:code:" + code, snapshot -> snapshot.recipesByCountryCode(code).byId());
+    }
+    
+    @GetMapping(value = "/country/code/{countryCode}", params = "size")
+    public ResponseEntity<RecipePageDTO> getRecipePageByCountryCode(
+            @PathVariable String countryCode,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.listByCountryCode(
+            countryCode.toUpperCase(), sort, afterId, afterName, size));
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Recipe>> getRecipesByCategory(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(recipeRepository.findByCategoryId(categoryId));
+    public ResponseEntity<byte[]> getRecipesByCategory(@PathVariable Long categoryId, WebRequest request) {
+        return listing(request, "recipes:category:" + categoryId,
+            snapshot -> snapshot.recipesByCategoryId(categoryId).byId());
+    }
+    
+    @GetMapping(value = "/category/{categoryId}", params = "size")
+    public ResponseEntity<RecipePageDTO> getRecipePageByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.listByCategory(categoryId, sort, afterId, afterName, size));
     }
     
     @GetMapping("/difficulty/{level}")
-    public ResponseEntity<List<Recipe>> getRecipesByDifficulty(@PathVariable String level) {
-        return ResponseEntity.ok(recipeRepository.findByDifficultyLevel(level.toUpperCase()));
+    public ResponseEntity<byte[]> getRecipesByDifficulty(@PathVariable String level, WebRequest request) {
+        String difficulty = level.toUpperCase();
+        return listing(request, "recipes:difficulty:" + difficulty,
+            snapshot -> snapshot.recipesByDifficulty(difficulty).byId());
+    }
+    
+    @GetMapping(value = "/difficulty/{level}", params = "size")
+    public ResponseEntity<RecipePageDTO> getRecipePageByDifficulty(
+            @PathVariable String level,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.listByDifficulty(
+            level.toUpperCase(), sort, afterId, afterName, size));
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Recipe>> searchRecipes(@RequestParam String keyword) {
-        return ResponseEntity.ok(recipeRepository.searchByName(keyword));
+    public ResponseEntity<List<RecipeView>> searchRecipes(@RequestParam String keyword) {
+        return ResponseEntity.ok(listingService.searchAllByName(keyword));
+    }
+    
+    /**
+     * Relevance-ranked search over names, descriptions, ingredients, categories and country
+     * GET /api/recipes/search?q=garlic beans&page=0&size=20
+     */
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<RecipeSearchPageDTO> searchRecipesRanked(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(listingService.searchRanked(q, page, size));
+    }
+    
+    // Keyword paging; with q the ranked search above takes the request
+    @GetMapping(value = "/search", params = {"size", "!q"})
+    public ResponseEntity<RecipePageDTO> searchRecipePage(
+            @RequestParam String keyword,
+            @RequestParam Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String afterName) {
+        return ResponseEntity.ok(listingService.searchByName(keyword, sort, afterId, afterName, size));
+    }
+    
+    /**
+     * Combined filters with facet counts; repeat a parameter to OR values within a facet
+     * GET /api/recipes/facets?countryCode=PH&categoryId=2&difficulty=EASY&maxTime=45&include=3&exclude=7
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<RecipeFacetPageDTO> getRecipeFacets(
+            @RequestParam(required = false) List<Long> countryId,
+            @RequestParam(required = false) List<String> countryCode,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) List<String> difficulty,
+            @RequestParam(required = false) Integer maxTime,
+            @RequestParam(required = false) List<Long> include,
+            @RequestParam(required = false) List<Long> exclude,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(listingService.facetSearch(
+            countryId, countryCode, categoryId, difficulty, maxTime, include, exclude, page, size));
     }
     
+    /**
+     * Full catalog dump, one JSON recipe per line, streamed from a database cursor
+     * GET /api/recipes/export?gzip=true
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportRecipes(@RequestParam(defaultValue = "false") boolean gzip,
+                                            HttpServletResponse response) {
+        response.setContentType(gzip ? "application/gzip" : NDJSON.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"recipes.ndjson" + (gzip ? ".gz" : "") + "\"");
+        // Long dumps get their own timeout instead of raising the default for every async request
+        return new WebAsyncTask<>(TimeUnit.MINUTES.toMillis(exportTimeoutMinutes), () -> {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exportService.exportNdjson(compressed);
+                compressed.finish();
+            } else {
+                exportService.exportNdjson(out);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Scale a recipe, optionally converting measurements: units=METRIC|IMPERIAL, otherwise the signed-in
+     * user's preferred system; any other value keeps the units as written
+     */
     @GetMapping("/{id}/scale")
     public ResponseEntity<ScaledRecipeDTO> getScaledRecipe(
             @PathVariable Long id,
-            @RequestParam Integer servings) {
-        return ResponseEntity.ok(scalingService.scaleRecipe(id, servings));
+            @RequestParam Integer servings,
+            @RequestParam(required = false) String units,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return ResponseEntity.ok(scalingService.scaleRecipe(id, servings, unitSystem(units, authorization)));
+    }
+    
+    /**
+     * Scale several recipes in one round trip and merge their ingredients into one shopping list
+     * POST /api/recipes/scale/batch {"items": [{"recipeId": 1, "servings": 8}, ...], "unitSystem": "IMPERIAL"}
+     */
+    @PostMapping("/scale/batch")
+    public ResponseEntity<Object> scaleMealPlan(
+            @RequestBody MealPlanRequestDTO request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            return ResponseEntity.ok(
+                mealPlanService.scaleMealPlan(request, unitSystem(request.getUnitSystem(), authorization)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/scale/cache-stats")
+    public ResponseEntity<CacheStats> getScaleCacheStats() {
+        return ResponseEntity.ok(scalingService.cacheStats());
+    }
+    
+    @GetMapping("/timer-sequence/cache-stats")
+    public ResponseEntity<CacheStats> getTimerCacheStats() {
+        return ResponseEntity.ok(timerOrchestrationService.cacheStats());
     }
     
+    /**
+     * Timers planned for the caller's kitchen; burners, ovens and cooks override the saved profile.
+     * With servings, durations and instructions follow the scaled recipe.
+     * GET /api/recipes/{id}/timer-sequence?servings=6&units=METRIC&burners=2&ovens=1&cooks=1
+     */
     @GetMapping("/{id}/timer-sequence")
-    public ResponseEntity<TimerOrchestrationDTO> getTimerSequence(@PathVariable Long id) {
-        return ResponseEntity.ok(timerOrchestrationService.orchestrateTimers(id));
+    public ResponseEntity<Object> getTimerSequence(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) String units,
+            @RequestParam(required = false) Integer burners,
+            @RequestParam(required = false) Integer ovens,
+            @RequestParam(required = false) Integer cooks,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            KitchenProfile kitchen = authService.kitchenProfile(authorization).with(burners, ovens, cooks);
+            return ResponseEntity.ok(timerOrchestrationService.orchestrateTimers(id, servings,
+                servings != null ? unitSystem(units, authorization) : null, kitchen));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Timers for several dishes cooked together, interleaved so they all finish at the same moment
+     * POST /api/recipes/timer-sequence/batch?burners=2 {"items": [{"recipeId": 1, "servings": 4}, ...]}
+     */
+    @PostMapping("/timer-sequence/batch")
+    public ResponseEntity<Object> getMealTimerSequence(
+            @RequestBody MealPlanRequestDTO request,
+            @RequestParam(required = false) Integer burners,
+            @RequestParam(required = false) Integer ovens,
+            @RequestParam(required = false) Integer cooks,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            KitchenProfile kitchen = authService.kitchenProfile(authorization).with(burners, ovens, cooks);
+            return ResponseEntity.ok(
+                timerOrchestrationService.orchestrateMeal(MealPlanService.validItems(request), kitchen));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Recipe, scaled copy, timer orchestration and (when skillLevel is given) personalized tips in one
+     * round trip for cooking mode; tips are left out if the AI is slower than the time box
+     * GET /api/recipes/{id}/cooking-mode?servings=6&units=METRIC&skillLevel=BEGINNER&diet=vegan
+     */
+    @GetMapping("/{id}/cooking-mode")
+    public ResponseEntity<Object> getCookingBundle(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) String units,
+            @RequestParam(required = false) String skillLevel,
+            @RequestParam(name = "diet", required = false) List<String> dietaryRestrictions,
+            @RequestParam(required = false) Integer burners,
+            @RequestParam(required = false) Integer ovens,
+            @RequestParam(required = false) Integer cooks,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            KitchenProfile kitchen = authService.kitchenProfile(authorization).with(burners, ovens, cooks);
+            return ResponseEntity.ok(cookingBundleService.bundle(id, servings, unitSystem(units, authorization),
+                kitchen, skillLevel, dietaryRestrictions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
     
     @PostMapping
-    public ResponseEntity<Recipe> createRecipe(@RequestBody Recipe recipe) {
+    public ResponseEntity<Object> createRecipe(@RequestBody Recipe recipe) {
+        try {
+            // Unknown or cyclic step dependencies would break timer orchestration later
+            StepGraph.ofSteps(recipe.getSteps()).schedule();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
         Recipe saved = recipeRepository.save(recipe);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(catalog.recipeSaved(saved.getId()));
+    }
+    
+    /**
+     * Bulk import from an NDJSON body (one recipe per line, same shape as the export).
+     * Bad lines are skipped and reported; everything else is committed.
+     * POST /api/recipes/import
+     */
+    @PostMapping("/import")
+    public ResponseEntity<RecipeImportResultDTO> importRecipes(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importNdjson(body));
+    }
+    
+    /**
+     * Listings are validated by catalog version: any recipe change yields a new ETag
+     */
+    private ResponseEntity<byte[]> listing(WebRequest request, String key, Function<CatalogSnapshot, ?> body) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        String etag = HttpCaching.etag("recipes", HttpCaching.stamp(snapshot.getVersion(), snapshot.getBuiltAt()));
+        return responseCache.respond(request, key, etag, snapshot.getBuiltAt(), HttpCaching.LISTING,
+            () -> body.apply(snapshot));
+    }
+    
+    private UnitSystem unitSystem(String requested, String authorization) {
+        return requested != null ? UnitSystem.parse(requested) : authService.preferredUnitSystem(authorization);
     }
 }
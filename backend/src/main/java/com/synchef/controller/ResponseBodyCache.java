@@ -0,0 +1,136 @@
+package com.synchef.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchef.catalog.CatalogRefreshedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of hot GET endpoints, kept as UTF-8 bytes plus a gzip variant and tagged
+ * with the ETag they were produced for (the gzip variant is sent under its own, suffixed ETag). A
+ * hit is a map lookup and a byte-array write; the body is only rebuilt and re-serialized when its
+ * ETag has moved on.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class ResponseBodyCache {
+    
+    // Safety net for keys derived from free-form path segments; a full cache simply starts over
+    static final int MAX_ENTRIES = 4096;
+    // Below this, gzip framing costs more than it saves
+    static final int MIN_GZIP_BYTES = 512;
+    
+    private final ObjectMapper objectMapper;
+    private final Map<String, Encoded> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Conditional, cached JSON response for the resource {@code key} at version {@code etag}
+     */
+    ResponseEntity<byte[]> respond(WebRequest request, String key, String etag, Date lastModified,
+                                   CacheControl cacheControl, Supplier<?> body) {
+        // A client holding this version in either encoding gets its 304 without the body being built
+        if (HttpCaching.namesVersion(request, etag) && HttpCaching.notModified(request, etag, lastModified)) {
+            return HttpCaching.notModifiedResponse(cacheControl);
+        }
+        
+        // Entries are only dropped when their ETag moves on, so a client that is current nearly always hits
+        Encoded encoded = entries.get(key);
+        if (encoded == null || !encoded.etag().equals(etag)) {
+            encoded = encode(key, etag, body.get());
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(key, encoded);
+        }
+        
+        // The gzip bytes differ from the identity bytes, so they get a validator of their own
+        boolean gzip = encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String tag = gzip ? HttpCaching.gzipVariant(etag) : etag;
+        if (HttpCaching.notModified(request, tag, lastModified)) {
+            return HttpCaching.notModifiedResponse(cacheControl);
+        }
+        
+        ResponseEntity.BodyBuilder response = HttpCaching.ok(tag, lastModified, cacheControl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.identity());
+    }
+    
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (event.isFullReload()) {
+            entries.clear();
+            return;
+        }
+        // Stale entries would be re-encoded on their next hit anyway; dropping them frees the memory now
+        event.getChangedRecipeIds().forEach(id -> entries.remove(recipeKey(id)));
+        entries.keySet().removeIf(key -> key.startsWith("recipes:") || key.startsWith("ingredients:"));
+    }
+    
+    static String recipeKey(Long id) {
+        return "recipe:" + id;
+    }
+    
+    private Encoded encode(String key, String etag, Object body) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response for " + key, e);
+        }
+        byte[] gzip = identity.length >= MIN_GZIP_BYTES ? gzip(identity) : null;
+        if (gzip != null && gzip.length >= identity.length) {
+            gzip = null;
+        }
+        log.debug("Encoded {} ({} bytes, gzip {})", key, identity.length, gzip != null ? gzip.length : "-");
+        return new Encoded(etag, identity, gzip);
+    }
+    
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            if (parts[0].trim().equals("gzip") || parts[0].trim().equals("*")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    private record Encoded(String etag, byte[] identity, byte[] gzip) {
+    }
+}
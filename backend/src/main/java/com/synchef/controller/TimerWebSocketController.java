@@ -1,5 +1,8 @@
 package com.synchef.controller;
 
+import com.synchef.dto.TimerPlanUpdateDTO;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.service.CookingSessionService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,15 +11,40 @@ import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
+import java.util.Map;
+
 /**
- * WebSocket controller for real-time timer updates
+ * WebSocket controller for real-time timer updates. Sessions opened with /app/timer/plan also get their
+ * timers re-planned on every event, pushed to /topic/timer-plan/{sessionId}.
  */
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class TimerWebSocketController {
     
+    private static final String PLAN_TOPIC = "/topic/timer-plan/";
+    
     private final SimpMessagingTemplate messagingTemplate;
+    private final CookingSessionService cookingSessionService;
+    
+    /**
+     * Open a live plan for the session: the whole schedule is pushed once, then only what moves
+     */
+    @MessageMapping("/timer/plan")
+    public void handleTimerPlan(TimerPlanMessage message) {
+        try {
+            KitchenProfile kitchen = KitchenProfile.DEFAULT.with(message.getBurners(), message.getOvens(),
+                message.getCooks());
+            push(cookingSessionService.open(message.getSessionId(), message.getRecipeId(), message.getServings(),
+                kitchen));
+        } catch (RuntimeException e) {
+            log.warn("Could not open a timer plan for session {}: {}", message.getSessionId(), e.getMessage());
+            if (message.getSessionId() != null) {
+                messagingTemplate.convertAndSend(PLAN_TOPIC + message.getSessionId(),
+                    Map.of("message", String.valueOf(e.getMessage())));
+            }
+        }
+    }
     
     @MessageMapping("/timer/start")
     @SendTo("/topic/timer-updates")
@@ -30,6 +58,8 @@ public class TimerWebSocketController {
         event.setDurationSeconds(message.getDurationSeconds());
         event.setTimestamp(System.currentTimeMillis());
         
+        cookingSessionService.started(message.getSessionId(), message.getStepId(), message.getDurationSeconds())
+            .ifPresent(this::push);
         return event;
     }
     
@@ -44,6 +74,7 @@ public class TimerWebSocketController {
         event.setStepId(message.getStepId());
         event.setTimestamp(System.currentTimeMillis());
         
+        cookingSessionService.paused(message.getSessionId(), message.getStepId()).ifPresent(this::push);
         return event;
     }
     
@@ -58,6 +89,7 @@ public class TimerWebSocketController {
         event.setStepId(message.getStepId());
         event.setTimestamp(System.currentTimeMillis());
         
+        cookingSessionService.completed(message.getSessionId(), message.getStepId()).ifPresent(this::push);
         return event;
     }
     
@@ -65,7 +97,7 @@ public class TimerWebSocketController {
     @SendTo("/topic/timer-updates")
     public TimerEvent handleTimerSync(TimerSyncMessage message) {
         log.info("Timer sync for session: {} with {} active timers", 
-                 message.getSessionId(), message.getActiveTimers().size());
+                 message.getSessionId(), message.getActiveTimers() != null ? message.getActiveTimers().size() : 0);
         
         TimerEvent event = new TimerEvent();
         event.setType("SYNC");
@@ -73,9 +105,31 @@ public class TimerWebSocketController {
         event.setTimestamp(System.currentTimeMillis());
         event.setData(message.getActiveTimers());
         
+        // The client's clocks are authoritative for what is left; drift moves the steps behind them
+        if (message.getActiveTimers() != null) {
+            for (ActiveTimer timer : message.getActiveTimers()) {
+                cookingSessionService.remaining(message.getSessionId(), timer.getStepId(),
+                        timer.getRemainingSeconds())
+                    .ifPresent(this::push);
+            }
+        }
         return event;
     }
     
+    private void push(TimerPlanUpdateDTO update) {
+        messagingTemplate.convertAndSend(PLAN_TOPIC + update.getSessionId(), update);
+    }
+    
+    @Data
+    static class TimerPlanMessage {
+        private String sessionId;
+        private Long recipeId;
+        private Integer servings; // Null: as written
+        private Integer burners; // Kitchen overrides; the default kitchen otherwise
+        private Integer ovens;
+        private Integer cooks;
+    }
+    
     @Data
     static class TimerStartMessage {
         private String sessionId;
@@ -93,7 +147,7 @@ public class TimerWebSocketController {
     @Data
     static class TimerSyncMessage {
         private String sessionId;
-        private java.util.List<ActiveTimer> activeTimers;
+        private java.util.List<ActiveTimer> activeTimers = new java.util.ArrayList<>();
     }
     
     @Data
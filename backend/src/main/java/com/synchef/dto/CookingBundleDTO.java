@@ -0,0 +1,20 @@
+package com.synchef.dto;
+
+import com.synchef.catalog.RecipeView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything cooking mode needs for one recipe, fetched in one round trip
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CookingBundleDTO {
+    private RecipeView recipe;
+    private ScaledRecipeDTO scaledRecipe;
+    private TimerOrchestrationDTO timers;
+    private String personalizedTips; // Null when not requested or not ready in time
+    private Boolean tipsTimedOut;
+}
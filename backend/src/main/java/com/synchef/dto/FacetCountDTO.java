@@ -0,0 +1,14 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+    private String value; // Id or code to filter by
+    private String label;
+    private Integer count;
+}
@@ -0,0 +1,17 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for updating the kitchen timers are planned for; a missing value means the default
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenProfileRequest {
+    private Integer burners;
+    private Integer ovens;
+    private Integer cooks;
+}
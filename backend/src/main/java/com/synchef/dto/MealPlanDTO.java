@@ -0,0 +1,19 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of scaled recipes with their consolidated shopping list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanDTO {
+    private List<ScaledRecipeDTO> recipes;
+    private List<ShoppingListItemDTO> shoppingList;
+    private NutritionDTO nutrition;
+}
@@ -0,0 +1,27 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for scaling several recipes in one request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanRequestDTO {
+    private List<Item> items = new ArrayList<>();
+    private String unitSystem; // METRIC or IMPERIAL; defaults to the user's preference
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long recipeId;
+        private Integer servings;
+    }
+}
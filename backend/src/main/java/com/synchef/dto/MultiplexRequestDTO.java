@@ -0,0 +1,24 @@
+package com.synchef.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several GET requests to run in one HTTP call
+ * {"requests": [{"id": "countries", "path": "/api/countries"}, {"id": "r", "path": "/api/recipes?ids=1,2"}]}
+ */
+@Data
+@NoArgsConstructor
+public class MultiplexRequestDTO {
+    private List<Part> requests = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    public static class Part {
+        private String id; // Echoed back so the client can match responses; defaults to the path
+        private String path;
+    }
+}
@@ -0,0 +1,28 @@
+package com.synchef.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Responses of a multiplexed call, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiplexResponseDTO {
+    private List<Part> responses;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Part {
+        private String id;
+        private Integer status;
+        @JsonRawValue
+        private String body; // The sub-response's JSON as is; null when it had no body
+    }
+}
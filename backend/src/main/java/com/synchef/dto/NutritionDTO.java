@@ -0,0 +1,25 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Calories and macros of a scaled recipe or meal plan; ingredients that could not be
+ * weighed or have no nutrient profile are listed and left out of the totals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionDTO {
+    private Double energyKcal;
+    private Double proteinG;
+    private Double fatG;
+    private Double carbohydrateG;
+    private Double fiberG;
+    private Double sugarG;
+    private Double sodiumMg;
+    private List<Long> unresolvedIngredientIds;
+}
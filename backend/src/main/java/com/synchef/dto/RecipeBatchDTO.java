@@ -0,0 +1,19 @@
+package com.synchef.dto;
+
+import com.synchef.catalog.RecipeView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: the recipes found, in request order, and the ids that matched nothing
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBatchDTO {
+    private List<RecipeView> recipes;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,22 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for one page of faceted recipe results with counts per facet value
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeFacetPageDTO {
+    private Integer page;
+    private Integer size;
+    private Integer totalHits;
+    private List<RecipeSummaryDTO> items;
+    private Map<String, List<FacetCountDTO>> facets; // country, category, difficulty
+}
@@ -0,0 +1,70 @@
+package com.synchef.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One NDJSON line of a bulk recipe import. Mirrors the export format, so an export can be
+ * re-imported as is; references may be given by id, code or name.
+ */
+@Data
+@NoArgsConstructor
+public class RecipeImportDTO {
+    private String name;
+    private String description;
+    private Reference country;
+    private String countryCode; // Shorthand for country.code
+    private List<Reference> categories = new ArrayList<>();
+    private Integer prepTimeMinutes;
+    private Integer cookTimeMinutes;
+    private Integer totalTimeMinutes;
+    private Integer defaultServings;
+    private String difficultyLevel;
+    private String imageUrl;
+    private String culturalContext;
+    private List<IngredientLine> ingredients = new ArrayList<>();
+    private List<StepLine> steps = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    public static class Reference {
+        private Long id;
+        private String code;
+        private String name;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    public static class IngredientLine {
+        private Reference ingredient;
+        private BigDecimal quantity;
+        private String unit;
+        private String preparation;
+        private Boolean isOptional;
+        private String notes;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    public static class StepLine {
+        private String instruction;
+        private String instructionTemplate; // Preferred over instruction when present (see StepTemplate)
+        private Boolean hasTimer;
+        private Integer timerSeconds;
+        private String timerLabel;
+        private Boolean isParallel;
+        private Integer parallelGroup;
+        private String imageUrl;
+        private String tips;
+        private String temperature;
+        private Boolean scalesWithServings;
+        private List<Integer> dependsOn; // Order indexes (1-based position in steps) that must finish first
+        private Integer burners; // Kitchen resources held while the step runs
+        private Boolean usesOven;
+        private Boolean handsOn;
+    }
+}
@@ -0,0 +1,29 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk recipe import; errors are reported per input line
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeImportResultDTO {
+    private Long received;
+    private Long imported;
+    private Long failed;
+    private Long elapsedMs;
+    private List<LineError> errors; // Capped; see failed for the full count
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private Long line;
+        private String message;
+    }
+}
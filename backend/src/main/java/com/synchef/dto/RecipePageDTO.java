@@ -0,0 +1,22 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset page of recipe summaries. Pass nextAfterId/nextAfterName
+ * back as afterId/afterName to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipePageDTO {
+    private List<RecipeSummaryDTO> items;
+    private Integer size;
+    private Boolean hasMore;
+    private Long nextAfterId;
+    private String nextAfterName; // Only set when sorting by name
+}
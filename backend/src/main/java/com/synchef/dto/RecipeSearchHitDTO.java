@@ -0,0 +1,13 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSearchHitDTO {
+    private RecipeSummaryDTO recipe;
+    private Double score;
+}
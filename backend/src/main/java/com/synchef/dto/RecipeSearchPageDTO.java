@@ -0,0 +1,21 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of relevance-ranked recipe search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSearchPageDTO {
+    private String query;
+    private Integer page;
+    private Integer size;
+    private Integer totalHits;
+    private List<RecipeSearchHitDTO> hits;
+}
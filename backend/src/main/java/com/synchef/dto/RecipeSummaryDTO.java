@@ -0,0 +1,20 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim recipe projection for list views (no ingredients, steps or TEXT columns)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSummaryDTO {
+    private Long id;
+    private String name;
+    private String countryCode;
+    private String difficultyLevel;
+    private Integer totalTimeMinutes;
+    private String imageUrl;
+}
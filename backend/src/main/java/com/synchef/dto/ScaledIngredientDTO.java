@@ -15,6 +15,7 @@ public class ScaledIngredientDTO {
     private BigDecimal originalQuantity;
     private BigDecimal scaledQuantity;
     private String unit;
+    private String originalUnit;
     private String preparation;
     private Boolean isOptional;
     private String notes;
@@ -21,4 +21,5 @@ public class ScaledRecipeDTO {
     private List<ScaledIngredientDTO> scaledIngredients;
     private List<ScaledStepDTO> scaledSteps;
     private Integer adjustedTotalTime;
+    private NutritionDTO nutrition;
 }
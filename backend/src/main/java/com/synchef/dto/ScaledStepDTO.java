@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,4 +20,5 @@ public class ScaledStepDTO {
     private Boolean isParallel;
     private Integer parallelGroup;
     private String tips;
+    private List<Integer> dependsOn;
 }
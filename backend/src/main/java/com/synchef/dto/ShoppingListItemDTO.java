@@ -0,0 +1,23 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for one consolidated shopping list line, merged across recipes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListItemDTO {
+    private Long ingredientId;
+    private String ingredientName;
+    private BigDecimal quantity;
+    private String unit;
+    private Boolean isOptional; // Only when every recipe marks it optional
+    private List<Long> recipeIds;
+}
@@ -0,0 +1,15 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private Long id;
+    private String name;
+    private String type; // RECIPE or INGREDIENT
+    private Integer edits; // Typos corrected to reach this suggestion
+}
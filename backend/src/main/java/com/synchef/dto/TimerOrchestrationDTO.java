@@ -13,9 +13,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimerOrchestrationDTO {
-    private Long recipeId;
+    private Long recipeId; // Null for a meal of several recipes
     private String recipeName;
+    private List<Long> recipeIds; // Every recipe planned, in request order
     private List<TimerSequenceDTO> timerSequence;
     private Integer totalCookingTime;
-    private String orchestrationStrategy; // SEQUENTIAL, PARALLEL, OPTIMIZED
+    private String orchestrationStrategy; // SEQUENTIAL, PARALLEL, CRITICAL_PATH, RESOURCE_CONSTRAINED, SYNCHRONIZED
+    private List<Integer> criticalPath; // Order indexes of the steps that determine totalCookingTime
 }
@@ -0,0 +1,31 @@
+package com.synchef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Re-planned timers of a cooking session, pushed over the WebSocket; only the timers that moved
+ * (all of them when the session opens)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerPlanUpdateDTO {
+    private String sessionId;
+    private Integer elapsedSeconds; // Since the session opened; start and finish times use the same clock
+    private Integer totalCookingTime; // When the last step is now expected to finish
+    private List<Timer> timers;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Timer {
+        private Long stepId;
+        private Integer startAtSecond;
+        private Integer finishAtSecond;
+        private String state; // PENDING, RUNNING, PAUSED, DONE
+    }
+}
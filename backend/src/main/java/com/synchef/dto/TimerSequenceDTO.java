@@ -4,11 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimerSequenceDTO {
     private Long stepId;
+    private Long recipeId;
     private Integer orderIndex;
     private String timerLabel;
     private Integer durationSeconds;
@@ -16,4 +19,9 @@ public class TimerSequenceDTO {
     private Boolean canStartEarly;
     private Integer parallelGroup;
     private String instruction;
+    private Integer earliestStartSecond;
+    private Integer latestStartSecond; // Starting any later delays the whole recipe
+    private Integer slackSeconds;
+    private Boolean critical; // On the critical path (no slack)
+    private List<Integer> dependsOn; // Order indexes of the steps this one waits for, declared or implied
 }
@@ -50,6 +50,15 @@ public class Ingredient {
     @Column(name = "allergen_info", length = 200)
     private String allergenInfo;
     
+    @Column(name = "density_g_per_ml")
+    private Double densityGramsPerMl; // For volume/mass conversion, when known
+    
+    @Column(name = "grams_per_piece")
+    private Double gramsPerPiece; // Weight of one clove, piece, etc. for count units
+    
+    @Embedded
+    private NutrientProfile nutrients; // Per 100 g
+    
     @OneToMany(mappedBy = "ingredient")
     private List<RecipeIngredient> recipeIngredients = new ArrayList<>();
 }
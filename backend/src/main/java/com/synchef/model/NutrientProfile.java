@@ -0,0 +1,42 @@
+package com.synchef.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nutrients of an ingredient per 100 g; unknown values are null and count as zero
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutrientProfile {
+    
+    @Column(name = "energy_kcal")
+    private Double energyKcal;
+    
+    @Column(name = "protein_g")
+    private Double proteinG;
+    
+    @Column(name = "fat_g")
+    private Double fatG;
+    
+    @Column(name = "carbohydrate_g")
+    private Double carbohydrateG;
+    
+    @Column(name = "fiber_g")
+    private Double fiberG;
+    
+    @Column(name = "sugar_g")
+    private Double sugarG;
+    
+    @Column(name = "sodium_mg")
+    private Double sodiumMg;
+    
+    public NutrientProfile copy() {
+        return new NutrientProfile(energyKcal, proteinG, fatG, carbohydrateG, fiberG, sugarG, sodiumMg);
+    }
+}
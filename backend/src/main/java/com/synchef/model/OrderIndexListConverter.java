@@ -0,0 +1,43 @@
+package com.synchef.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a short list of step order indexes as "1,3,4" in a single column
+ */
+@Converter
+public class OrderIndexListConverter implements AttributeConverter<List<Integer>, String> {
+    
+    @Override
+    public String convertToDatabaseColumn(List<Integer> indexes) {
+        return format(indexes);
+    }
+    
+    @Override
+    public List<Integer> convertToEntityAttribute(String column) {
+        List<Integer> indexes = new ArrayList<>();
+        if (column != null) {
+            for (String part : column.split(",")) {
+                if (!part.isBlank()) {
+                    indexes.add(Integer.valueOf(part.trim()));
+                }
+            }
+        }
+        return indexes;
+    }
+    
+    /**
+     * Column value for {@code indexes}; null when there are none
+     */
+    public static String format(List<Integer> indexes) {
+        if (indexes == null || indexes.isEmpty()) {
+            return null;
+        }
+        return indexes.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
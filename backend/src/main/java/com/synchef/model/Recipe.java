@@ -12,12 +12,31 @@ import java.util.List;
  * Recipe entity containing full recipe information
  */
 @Entity
-@Table(name = "recipes")
+@NamedEntityGraphs({
+    // Recipe header plus ingredient lines and their ingredients (scaling, detail view)
+    @NamedEntityGraph(name = Recipe.GRAPH_WITH_INGREDIENTS, attributeNodes = {
+        @NamedAttributeNode("country"),
+        @NamedAttributeNode(value = "ingredients", subgraph = "recipeIngredient")
+    }, subgraphs = @NamedSubgraph(name = "recipeIngredient", attributeNodes = @NamedAttributeNode("ingredient"))),
+    // Recipe header plus steps (timer orchestration)
+    @NamedEntityGraph(name = Recipe.GRAPH_WITH_STEPS, attributeNodes = {
+        @NamedAttributeNode("country"),
+        @NamedAttributeNode("steps")
+    })
+})
+@Table(name = "recipes", indexes = {
+    @Index(name = "idx_recipes_name_id", columnList = "name, id"),
+    @Index(name = "idx_recipes_country_id", columnList = "country_id, id"),
+    @Index(name = "idx_recipes_difficulty_id", columnList = "difficulty_level, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recipe {
     
+    public static final String GRAPH_WITH_INGREDIENTS = "Recipe.withIngredients";
+    public static final String GRAPH_WITH_STEPS = "Recipe.withSteps";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
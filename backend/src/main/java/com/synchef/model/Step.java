@@ -1,9 +1,18 @@
 package com.synchef.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.synchef.template.StepTemplate;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Step entity representing individual cooking instructions with timer support
@@ -27,7 +36,7 @@ public class Step {
     private Integer orderIndex;
     
     @Column(nullable = false, columnDefinition = "TEXT")
-    private String instruction;
+    private String instruction; // May reference ingredient amounts, see StepTemplate
     
     @Column(name = "has_timer", nullable = false)
     private Boolean hasTimer = false;
@@ -56,4 +65,45 @@ public class Step {
     // For dynamic scaling of time based on servings
     @Column(name = "scales_with_servings")
     private Boolean scalesWithServings = false;
+    
+    // Order indexes of steps that must finish before this one starts. When no step of a recipe
+    // declares any, order index and parallel group imply the dependencies (see StepGraph).
+    @Convert(converter = OrderIndexListConverter.class)
+    @Column(name = "depends_on", length = 500)
+    private List<Integer> dependsOn = new ArrayList<>();
+    
+    // Kitchen resources held while the step runs, for resource-constrained timer scheduling
+    @Column(name = "burners")
+    private Integer burners = 0;
+    
+    @Column(name = "uses_oven")
+    private Boolean usesOven = false;
+    
+    @Column(name = "hands_on")
+    private Boolean handsOn = false; // Needs the cook's attention throughout, e.g. stirring
+    
+    // Instruction compiled on load, so scaled renders skip parsing
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Setter(AccessLevel.NONE)
+    private StepTemplate template;
+    
+    public void setInstruction(String instruction) {
+        this.instruction = instruction;
+        this.template = null;
+    }
+    
+    public StepTemplate getTemplate() {
+        if (template == null) {
+            compileTemplate();
+        }
+        return template;
+    }
+    
+    @PostLoad
+    void compileTemplate() {
+        template = StepTemplate.compile(instruction);
+    }
 }
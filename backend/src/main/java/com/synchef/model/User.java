@@ -77,4 +77,14 @@ public class User {
     
     @Column(name = "skill_level", length = 20)
     private String skillLevel = "BEGINNER"; // BEGINNER, INTERMEDIATE, ADVANCED
+    
+    // Kitchen the timers are planned for; null means the default kitchen (see KitchenProfile)
+    @Column(name = "kitchen_burners")
+    private Integer kitchenBurners;
+    
+    @Column(name = "kitchen_ovens")
+    private Integer kitchenOvens;
+    
+    @Column(name = "kitchen_cooks")
+    private Integer kitchenCooks;
 }
@@ -0,0 +1,50 @@
+package com.synchef.nutrition;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Weighted row sums over the packed nutrient table: {@code out += grams[i] * table[rows[i]]}.
+ * Uses the Vector API when the JVM runs with {@code --add-modules jdk.incubator.vector},
+ * otherwise a scalar loop with the same fused multiply-adds.
+ */
+@Slf4j
+final class NutrientKernels {
+    
+    static final int STRIDE = 8; // Row width: the nutrients padded to one 256-bit float vector
+    
+    static final boolean VECTORIZED = vectorApiAvailable();
+    
+    private NutrientKernels() {
+    }
+    
+    static void accumulate(float[] table, int[] rows, float[] grams, int count, float[] out) {
+        if (VECTORIZED) {
+            VectorNutrientKernel.accumulate(table, rows, grams, count, out);
+        } else {
+            accumulateScalar(table, rows, grams, count, out);
+        }
+    }
+    
+    static void accumulateScalar(float[] table, int[] rows, float[] grams, int count, float[] out) {
+        for (int i = 0; i < count; i++) {
+            int base = rows[i] * STRIDE;
+            float weight = grams[i];
+            for (int k = 0; k < STRIDE; k++) {
+                out[k] = Math.fma(table[base + k], weight, out[k]);
+            }
+        }
+    }
+    
+    private static boolean vectorApiAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info("Vector API not enabled, nutrition totals use the scalar loop");
+            return false;
+        }
+        try {
+            return VectorNutrientKernel.isSupported();
+        } catch (LinkageError e) {
+            log.warn("Vector API unavailable: {}", e.toString());
+            return false;
+        }
+    }
+}
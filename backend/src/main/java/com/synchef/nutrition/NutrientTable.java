@@ -0,0 +1,132 @@
+package com.synchef.nutrition;
+
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.catalog.IngredientView;
+import com.synchef.dto.NutritionDTO;
+import com.synchef.dto.ScaledIngredientDTO;
+import com.synchef.model.NutrientProfile;
+import com.synchef.units.Dimension;
+import com.synchef.units.Unit;
+import com.synchef.units.UnitRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nutrient profiles of all catalog ingredients, packed per gram into one float array with a fixed
+ * row stride, so recipe and meal totals are a single weighted row sum (see NutrientKernels).
+ * Rebuilt whenever a new snapshot is swapped in.
+ */
+@Component
+@Slf4j
+public class NutrientTable {
+    
+    private volatile Table table = Table.build(List.of());
+    
+    @EventListener
+    @Order(CatalogRefreshedEvent.ORDER_NUTRIENTS)
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        long started = System.currentTimeMillis();
+        table = Table.build(event.getSnapshot().getIngredients());
+        log.debug("Nutrient table built: {} ingredients in {} ms (vectorized: {})",
+            table.rowById.size(), System.currentTimeMillis() - started, NutrientKernels.VECTORIZED);
+    }
+    
+    /**
+     * Totals over scaled ingredient lines, e.g. one recipe or every recipe of a meal plan
+     */
+    public NutritionDTO total(List<ScaledIngredientDTO> lines) {
+        Table current = table;
+        int[] rows = new int[lines.size()];
+        float[] grams = new float[lines.size()];
+        Set<Long> unresolved = new LinkedHashSet<>();
+        int count = 0;
+        for (ScaledIngredientDTO line : lines) {
+            Integer row = current.rowById.get(line.getIngredientId());
+            double weight = row != null && line.getScaledQuantity() != null
+                ? current.grams(row, line.getScaledQuantity().doubleValue(), line.getUnit())
+                : Double.NaN;
+            if (Double.isNaN(weight)) {
+                unresolved.add(line.getIngredientId());
+                continue;
+            }
+            rows[count] = row;
+            grams[count] = (float) weight;
+            count++;
+        }
+        
+        float[] sums = new float[NutrientKernels.STRIDE];
+        NutrientKernels.accumulate(current.perGram, rows, grams, count, sums);
+        return new NutritionDTO(round(sums[0]), round(sums[1]), round(sums[2]), round(sums[3]),
+            round(sums[4]), round(sums[5]), round(sums[6]), List.copyOf(unresolved));
+    }
+    
+    private static double round(float value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+    
+    /**
+     * Immutable packed table; only ingredients with a nutrient profile get a row
+     */
+    private static final class Table {
+        private final Map<Long, Integer> rowById;
+        private final float[] perGram;       // row * STRIDE + nutrient
+        private final double[] gramsPerMl;   // NaN when unknown
+        private final double[] gramsPerPiece;
+        
+        private Table(Map<Long, Integer> rowById, float[] perGram, double[] gramsPerMl, double[] gramsPerPiece) {
+            this.rowById = rowById;
+            this.perGram = perGram;
+            this.gramsPerMl = gramsPerMl;
+            this.gramsPerPiece = gramsPerPiece;
+        }
+        
+        static Table build(List<IngredientView> ingredients) {
+            List<IngredientView> profiled = ingredients.stream().filter(i -> i.getNutrients() != null).toList();
+            Map<Long, Integer> rowById = new HashMap<>(profiled.size() * 2);
+            float[] perGram = new float[profiled.size() * NutrientKernels.STRIDE];
+            double[] gramsPerMl = new double[profiled.size()];
+            double[] gramsPerPiece = new double[profiled.size()];
+            Arrays.fill(gramsPerMl, Double.NaN);
+            Arrays.fill(gramsPerPiece, Double.NaN);
+            for (int row = 0; row < profiled.size(); row++) {
+                IngredientView ingredient = profiled.get(row);
+                NutrientProfile n = ingredient.getNutrients();
+                Double[] per100g = {n.getEnergyKcal(), n.getProteinG(), n.getFatG(), n.getCarbohydrateG(),
+                    n.getFiberG(), n.getSugarG(), n.getSodiumMg()};
+                for (int k = 0; k < per100g.length; k++) {
+                    perGram[row * NutrientKernels.STRIDE + k] = per100g[k] != null ? (float) (per100g[k] / 100) : 0f;
+                }
+                if (ingredient.getDensityGramsPerMl() != null) {
+                    gramsPerMl[row] = ingredient.getDensityGramsPerMl();
+                }
+                if (ingredient.getGramsPerPiece() != null) {
+                    gramsPerPiece[row] = ingredient.getGramsPerPiece();
+                }
+                rowById.put(ingredient.getId(), row);
+            }
+            return new Table(rowById, perGram, gramsPerMl, gramsPerPiece);
+        }
+        
+        /**
+         * Weight of an amount in grams: masses directly, volumes through the density and
+         * unrecognised (count) units through the piece weight; NaN when not known
+         */
+        double grams(int row, double amount, String unitName) {
+            Unit unit = UnitRegistry.parse(unitName).unit();
+            if (unit == null) {
+                return amount * gramsPerPiece[row];
+            }
+            double base = amount * unit.baseSize();
+            return unit.dimension() == Dimension.MASS ? base : base * gramsPerMl[row];
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.synchef.nutrition;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel; only loaded when the incubator module is present (see NutrientKernels)
+ */
+final class VectorNutrientKernel {
+    
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_256;
+    
+    private VectorNutrientKernel() {
+    }
+    
+    /**
+     * One row is exactly one vector; without 256-bit hardware support the scalar loop is faster
+     */
+    static boolean isSupported() {
+        return SPECIES.length() == NutrientKernels.STRIDE && FloatVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+    }
+    
+    static void accumulate(float[] table, int[] rows, float[] grams, int count, float[] out) {
+        // Two accumulators to overlap consecutive fused multiply-adds
+        FloatVector even = FloatVector.zero(SPECIES);
+        FloatVector odd = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i + 1 < count; i += 2) {
+            even = FloatVector.fromArray(SPECIES, table, rows[i] * NutrientKernels.STRIDE)
+                .fma(FloatVector.broadcast(SPECIES, grams[i]), even);
+            odd = FloatVector.fromArray(SPECIES, table, rows[i + 1] * NutrientKernels.STRIDE)
+                .fma(FloatVector.broadcast(SPECIES, grams[i + 1]), odd);
+        }
+        if (i < count) {
+            even = FloatVector.fromArray(SPECIES, table, rows[i] * NutrientKernels.STRIDE)
+                .fma(FloatVector.broadcast(SPECIES, grams[i]), even);
+        }
+        even.add(odd).add(FloatVector.fromArray(SPECIES, out, 0)).intoArray(out, 0);
+    }
+}
@@ -1,15 +1,44 @@
 package com.synchef.repository;
 
 import com.synchef.model.Recipe;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+    // Fetch plans: one join query for the graph; remaining collections load through batch fetching
+    
+    @EntityGraph(Recipe.GRAPH_WITH_INGREDIENTS)
+    Optional<Recipe> findWithIngredientsById(Long id);
+    
+    @EntityGraph(Recipe.GRAPH_WITH_INGREDIENTS)
+    List<Recipe> findWithIngredientsByIdIn(Collection<Long> ids);
+    
+    @EntityGraph(Recipe.GRAPH_WITH_STEPS)
+    Optional<Recipe> findWithStepsById(Long id);
+    
+    @EntityGraph(Recipe.GRAPH_WITH_STEPS)
+    List<Recipe> findWithStepsByIdIn(Collection<Long> ids);
+    
+    // Forward-only cursor over ids for exports, which load the recipes a chunk at a time through the fetch
+    // plans above; must be consumed inside a transaction and closed
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "256"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT r.id FROM Recipe r ORDER BY r.id")
+    Stream<Long> streamAllIdsOrderedById();
+    
     List<Recipe> findByCountryId(Long countryId);
     
     @Query("SELECT r FROM Recipe r JOIN r.categories c WHERE c.id = :categoryId")
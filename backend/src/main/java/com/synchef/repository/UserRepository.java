@@ -2,12 +2,18 @@ package com.synchef.repository;
 
 import com.synchef.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+    
+    // Rows of {recipeId, favoriteCount}
+    @Query("SELECT f, COUNT(u) FROM User u JOIN u.favoriteRecipeIds f GROUP BY f")
+    List<Object[]> countFavoritesByRecipe();
 }
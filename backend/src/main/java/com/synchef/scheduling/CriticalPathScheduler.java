@@ -0,0 +1,172 @@
+package com.synchef.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Critical path method over a task DAG in O(V + E): earliest and latest start of every task, its
+ * slack, the total time and one critical path. Tasks are array indexes; the caller supplies labels
+ * (e.g. step order indexes) only for error messages.
+ */
+public final class CriticalPathScheduler {
+    
+    private CriticalPathScheduler() {
+    }
+    
+    /**
+     * @param durations    duration of each task, non-negative
+     * @param predecessors for each task, the tasks that must finish before it starts
+     * @param labels       how tasks are named in errors
+     * @throws IllegalArgumentException on a dependency cycle or an out-of-range predecessor
+     */
+    public static Schedule schedule(int[] durations, int[][] predecessors, int[] labels) {
+        int n = durations.length;
+        
+        // Successor lists in compressed form: successors of v are succ[start[v] .. start[v + 1])
+        int[] start = new int[n + 1];
+        int[] indegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            for (int p : predecessors[v]) {
+                if (p < 0 || p >= n) {
+                    throw new IllegalArgumentException("Unknown dependency of task " + labels[v]);
+                }
+                start[p + 1]++;
+                indegree[v]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] succ = new int[start[n]];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int v = 0; v < n; v++) {
+            for (int p : predecessors[v]) {
+                succ[fill[p]++] = v;
+            }
+        }
+        
+        // Kahn's algorithm; tasks that never become ready sit on or behind a cycle
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        int[] remaining = indegree.clone();
+        for (int v = 0; v < n; v++) {
+            if (remaining[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+        int[] earliest = new int[n];
+        while (head < tail) {
+            int v = order[head++];
+            int finish = earliest[v] + durations[v];
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                int s = succ[i];
+                earliest[s] = Math.max(earliest[s], finish);
+                if (--remaining[s] == 0) {
+                    order[tail++] = s;
+                }
+            }
+        }
+        if (tail < n) {
+            List<Integer> stuck = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                if (remaining[v] > 0) {
+                    stuck.add(labels[v]);
+                }
+            }
+            throw new IllegalArgumentException("Step dependencies form a cycle involving steps " + stuck);
+        }
+        
+        int makespan = 0;
+        for (int v = 0; v < n; v++) {
+            makespan = Math.max(makespan, earliest[v] + durations[v]);
+        }
+        int[] latest = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int v = order[i];
+            int finish = makespan;
+            for (int j = start[v]; j < start[v + 1]; j++) {
+                finish = Math.min(finish, latest[succ[j]]);
+            }
+            latest[v] = finish - durations[v];
+        }
+        
+        // Follow zero-slack tasks that start exactly when the previous one finishes
+        List<Integer> path = new ArrayList<>();
+        int current = -1;
+        for (int i = 0; i < n && current < 0; i++) {
+            int v = order[i];
+            if (earliest[v] == 0 && latest[v] == 0 && (durations[v] > 0 || makespan == 0)) {
+                current = v;
+            }
+        }
+        while (current >= 0) {
+            path.add(current);
+            int finish = earliest[current] + durations[current];
+            int next = -1;
+            for (int j = start[current]; j < start[current + 1] && next < 0; j++) {
+                int s = succ[j];
+                if (earliest[s] == finish && latest[s] == finish) {
+                    next = s;
+                }
+            }
+            current = next;
+        }
+        return new Schedule(earliest, latest, durations, makespan,
+            path.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    /**
+     * Result of {@link #schedule}; arrays are indexed like the input
+     */
+    public static final class Schedule {
+        private final int[] earliestStart;
+        private final int[] latestStart;
+        private final int[] durations;
+        private final int makespan;
+        private final int[] criticalPath;
+        
+        Schedule(int[] earliestStart, int[] latestStart, int[] durations, int makespan, int[] criticalPath) {
+            this.earliestStart = earliestStart;
+            this.latestStart = latestStart;
+            this.durations = durations;
+            this.makespan = makespan;
+            this.criticalPath = criticalPath;
+        }
+        
+        public int earliestStart(int task) {
+            return earliestStart[task];
+        }
+        
+        public int latestStart(int task) {
+            return latestStart[task];
+        }
+        
+        public int earliestFinish(int task) {
+            return earliestStart[task] + durations[task];
+        }
+        
+        public int slack(int task) {
+            return latestStart[task] - earliestStart[task];
+        }
+        
+        public boolean isCritical(int task) {
+            return latestStart[task] == earliestStart[task];
+        }
+        
+        /**
+         * Minimal total time: when the last task finishes if every task starts as early as possible
+         */
+        public int makespan() {
+            return makespan;
+        }
+        
+        /**
+         * Tasks of one critical path, in execution order
+         */
+        public int[] criticalPath() {
+            return criticalPath.clone();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.synchef.scheduling;
+
+/**
+ * How many of each kitchen resource a cook has
+ */
+public record KitchenProfile(int burners, int ovens, int cooks) {
+    
+    public static final KitchenProfile DEFAULT = new KitchenProfile(4, 1, 1);
+    public static final int MAX_PER_RESOURCE = 20;
+    
+    public KitchenProfile {
+        if (burners < 0 || ovens < 0 || cooks < 1
+            || burners > MAX_PER_RESOURCE || ovens > MAX_PER_RESOURCE || cooks > MAX_PER_RESOURCE) {
+            throw new IllegalArgumentException("A kitchen needs 0-" + MAX_PER_RESOURCE + " burners and ovens and 1-"
+                + MAX_PER_RESOURCE + " cooks");
+        }
+    }
+    
+    /**
+     * This profile with any non-null value replaced
+     */
+    public KitchenProfile with(Integer burners, Integer ovens, Integer cooks) {
+        return new KitchenProfile(burners != null ? burners : this.burners, ovens != null ? ovens : this.ovens,
+            cooks != null ? cooks : this.cooks);
+    }
+    
+    /**
+     * Capacity per resource, indexed by {@link KitchenResource#ordinal()}
+     */
+    int[] capacities() {
+        return new int[]{burners, ovens, cooks};
+    }
+}
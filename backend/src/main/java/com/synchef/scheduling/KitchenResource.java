@@ -0,0 +1,10 @@
+package com.synchef.scheduling;
+
+/**
+ * Kitchen capacity a step can occupy while it runs
+ */
+public enum KitchenResource {
+    BURNER,
+    OVEN,
+    HANDS // The cook's attention, e.g. stirring or frying; passive timers don't need it
+}
@@ -0,0 +1,335 @@
+package com.synchef.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A schedule being cooked: steps are started, paused and completed at actual times (seconds since the
+ * session started), and every event moves only what depends on it. A step that has not started begins
+ * at its planned start or once everything it waits for is done, whichever is later, so delays push the
+ * steps behind them and an early finish wins back earlier delays, but nothing starts ahead of plan.
+ * Propagation runs in topological order and stops wherever a start time does not change.
+ *
+ * When the plan was made for a limited kitchen, steps sharing a burner, the oven or the cook keep the
+ * order the plan gave them, so shifting never puts more on the stove than the plan did.
+ */
+public final class LivePlan {
+    
+    public enum State {
+        PENDING,
+        RUNNING,
+        PAUSED,
+        DONE
+    }
+    
+    /**
+     * Where one step stands after an event
+     */
+    public record Change(long stepId, int startAtSecond, int finishAtSecond, State state) {
+    }
+    
+    private final long[] stepIds;
+    private final boolean[] timed;
+    private final int[] durations;
+    private final int[] planned;
+    private final int[][] predecessors;
+    private final int[][] successors;
+    private final int[] position; // In topological order
+    private final Map<Long, Integer> tasksByStepId = new HashMap<>();
+    
+    private final int[] start;
+    private final int[] finish;
+    private final int[] remaining; // Of paused steps
+    private final State[] states;
+    private final Set<Integer> paused = new LinkedHashSet<>();
+    private final PriorityQueue<Integer> queue;
+    private final boolean[] queued;
+    private int pendingTimers;
+    
+    private LivePlan(long[] stepIds, boolean[] timed, int[] durations, int[] planned, int[][] predecessors) {
+        int n = stepIds.length;
+        this.stepIds = stepIds;
+        this.timed = timed;
+        this.durations = durations;
+        this.planned = planned;
+        this.predecessors = predecessors;
+        this.successors = ResourceScheduler.invert(predecessors);
+        this.position = topologicalPositions(predecessors, successors);
+        this.start = planned.clone();
+        this.finish = new int[n];
+        this.remaining = new int[n];
+        this.states = new State[n];
+        this.queue = new PriorityQueue<>(Comparator.comparingInt(task -> position[task]));
+        this.queued = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            tasksByStepId.put(stepIds[v], v);
+            finish[v] = planned[v] + durations[v];
+            states[v] = State.PENDING;
+            if (timed[v]) {
+                pendingTimers++;
+            }
+        }
+    }
+    
+    /**
+     * Live copy of {@code schedule}, which was computed for {@code graph} in {@code kitchen} (null: unlimited)
+     *
+     * @param stepIds step id of each task of the graph
+     */
+    public static LivePlan of(StepGraph graph, CriticalPathScheduler.Schedule schedule, KitchenProfile kitchen,
+                              long[] stepIds) {
+        int n = graph.nodes().size();
+        boolean[] timed = new boolean[n];
+        int[] durations = new int[n];
+        int[] planned = new int[n];
+        for (int v = 0; v < n; v++) {
+            durations[v] = graph.nodes().get(v).durationSeconds();
+            timed[v] = durations[v] > 0;
+            planned[v] = schedule.latestStart(v);
+        }
+        int[][] predecessors = graph.predecessors();
+        if (kitchen != null && graph.hasResourceDemands()) {
+            predecessors = withResourceOrder(graph, durations, planned);
+        }
+        return new LivePlan(stepIds, timed, durations, planned, predecessors);
+    }
+    
+    /**
+     * Every timed step as it stands
+     */
+    public synchronized List<Change> timers() {
+        List<Change> timers = new ArrayList<>();
+        for (int v = 0; v < stepIds.length; v++) {
+            if (timed[v]) {
+                timers.add(change(v));
+            }
+        }
+        return timers;
+    }
+    
+    /**
+     * A step started at {@code now}, or resumed when paused; {@code durationSeconds} is how long it will run
+     * from now (null: its planned duration, or what was left when it was paused)
+     *
+     * @return timed steps that moved, including this one
+     */
+    public synchronized List<Change> started(long stepId, int now, Integer durationSeconds) {
+        Set<Integer> changed = refreshPaused(now);
+        Integer task = tasksByStepId.get(stepId);
+        if (task == null || states[task] == State.DONE) {
+            return changes(changed);
+        }
+        int runFor = durationSeconds != null ? Math.max(0, durationSeconds)
+            : states[task] == State.PAUSED ? remaining[task] : durations[task];
+        if (states[task] == State.PENDING) {
+            start[task] = now;
+        }
+        paused.remove(task);
+        states[task] = State.RUNNING;
+        finishAt(task, now + runFor, changed);
+        return changes(changed);
+    }
+    
+    /**
+     * A running step paused at {@code now}; what depends on it slides with every later event until it resumes
+     */
+    public synchronized List<Change> paused(long stepId, int now) {
+        Set<Integer> changed = refreshPaused(now);
+        Integer task = tasksByStepId.get(stepId);
+        if (task != null && states[task] == State.RUNNING) {
+            remaining[task] = Math.max(0, finish[task] - now);
+            states[task] = State.PAUSED;
+            paused.add(task);
+            changed.add(task);
+        }
+        return changes(changed);
+    }
+    
+    /**
+     * A step finished at {@code now}, early or late
+     */
+    public synchronized List<Change> completed(long stepId, int now) {
+        Set<Integer> changed = refreshPaused(now);
+        Integer task = tasksByStepId.get(stepId);
+        if (task == null || states[task] == State.DONE) {
+            return changes(changed);
+        }
+        if (states[task] == State.PENDING) {
+            // Done without its timer ever being started
+            start[task] = Math.min(start[task], now);
+        }
+        paused.remove(task);
+        states[task] = State.DONE;
+        if (timed[task]) {
+            pendingTimers--;
+        }
+        finishAt(task, now, changed);
+        return changes(changed);
+    }
+    
+    /**
+     * What the client's clock says is left on a running or paused step, to correct drift
+     */
+    public synchronized List<Change> remaining(long stepId, int now, int remainingSeconds) {
+        Set<Integer> changed = refreshPaused(now);
+        Integer task = tasksByStepId.get(stepId);
+        if (task != null && states[task] == State.RUNNING) {
+            finishAt(task, now + Math.max(0, remainingSeconds), changed);
+        } else if (task != null && states[task] == State.PAUSED) {
+            remaining[task] = Math.max(0, remainingSeconds);
+            changed.addAll(refreshPaused(now));
+        }
+        return changes(changed);
+    }
+    
+    /**
+     * When the last step is expected to finish
+     */
+    public synchronized int projectedFinish() {
+        return Arrays.stream(finish).max().orElse(0);
+    }
+    
+    /**
+     * True once every timed step is done
+     */
+    public synchronized boolean isFinished() {
+        return pendingTimers == 0;
+    }
+    
+    /**
+     * Paused steps cannot finish before they resume: move their finish (and what waits for it) to now
+     * plus what is left
+     */
+    private Set<Integer> refreshPaused(int now) {
+        Set<Integer> changed = new LinkedHashSet<>();
+        for (int task : paused) {
+            if (now + remaining[task] != finish[task]) {
+                finishAt(task, now + remaining[task], changed);
+            }
+        }
+        return changed;
+    }
+    
+    private void finishAt(int task, int time, Set<Integer> changed) {
+        finish[task] = time;
+        changed.add(task);
+        enqueueSuccessors(task);
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            queued[v] = false;
+            if (states[v] != State.PENDING) {
+                continue;
+            }
+            int ready = planned[v];
+            for (int p : predecessors[v]) {
+                ready = Math.max(ready, finish[p]);
+            }
+            if (ready != start[v]) {
+                start[v] = ready;
+                finish[v] = ready + durations[v];
+                changed.add(v);
+                enqueueSuccessors(v);
+            }
+        }
+    }
+    
+    private void enqueueSuccessors(int task) {
+        for (int s : successors[task]) {
+            if (!queued[s]) {
+                queued[s] = true;
+                queue.add(s);
+            }
+        }
+    }
+    
+    private List<Change> changes(Set<Integer> changed) {
+        List<Change> changes = new ArrayList<>(changed.size());
+        for (int v : changed) {
+            if (timed[v]) {
+                changes.add(change(v));
+            }
+        }
+        return changes;
+    }
+    
+    private Change change(int v) {
+        return new Change(stepIds[v], start[v], finish[v], states[v]);
+    }
+    
+    /**
+     * Precedence plus the plan's order between steps that share a resource and did not overlap
+     */
+    private static int[][] withResourceOrder(StepGraph graph, int[] durations, int[] planned) {
+        int n = durations.length;
+        int[][] demands = new int[n][];
+        List<Integer> holders = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            // Within capacity: the scheduler rejects a timed step that needs more than the kitchen has
+            demands[v] = graph.nodes().get(v).demands();
+            if (durations[v] > 0 && Arrays.stream(demands[v]).anyMatch(d -> d > 0)) {
+                holders.add(v);
+            }
+        }
+        List<List<Integer>> extra = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            extra.add(new ArrayList<>());
+        }
+        for (int a : holders) {
+            for (int b : holders) {
+                if (a != b && planned[a] + durations[a] <= planned[b] && shareResource(demands[a], demands[b])) {
+                    extra.get(b).add(a);
+                }
+            }
+        }
+        int[][] predecessors = new int[n][];
+        for (int v = 0; v < n; v++) {
+            int[] before = graph.predecessors()[v];
+            predecessors[v] = Arrays.copyOf(before, before.length + extra.get(v).size());
+            for (int i = 0; i < extra.get(v).size(); i++) {
+                predecessors[v][before.length + i] = extra.get(v).get(i);
+            }
+        }
+        return predecessors;
+    }
+    
+    private static boolean shareResource(int[] a, int[] b) {
+        for (int r = 0; r < a.length; r++) {
+            if (a[r] > 0 && b[r] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static int[] topologicalPositions(int[][] predecessors, int[][] successors) {
+        int n = predecessors.length;
+        int[] waiting = new int[n];
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            waiting[v] = predecessors[v].length;
+            if (waiting[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            for (int s : successors[order[head]]) {
+                if (--waiting[s] == 0) {
+                    order[tail++] = s;
+                }
+            }
+        }
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        return position;
+    }
+}
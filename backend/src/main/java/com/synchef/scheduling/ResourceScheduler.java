@@ -0,0 +1,314 @@
+package com.synchef.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Resource-constrained scheduling of a task DAG: a serial list scheduler that places tasks by
+ * critical-path priority (least latest start first), followed by forward-backward justification and a
+ * short, bounded search over perturbed priorities. The result respects precedence and never uses more
+ * of a resource at once than its capacity; the critical path length is a lower bound for it.
+ */
+public final class ResourceScheduler {
+    
+    // The search stops after this many restarts, or as soon as a lower bound is reached; with a fixed
+    // seed the same inputs always give the same schedule
+    static final int MAX_RESTARTS = 64;
+    private static final int MAX_JUSTIFICATIONS = 8;
+    private static final long SEED = 0x5EEDL;
+    private static final String[] RESOURCE_NAMES = {"burners", "ovens", "cooks"};
+    
+    private final int[] durations;
+    private final int[][] predecessors;
+    private final int[][] successors;
+    private final int[][] demands;
+    private final int[] capacities;
+    
+    private ResourceScheduler(int[] durations, int[][] predecessors, int[][] demands, int[] capacities) {
+        this.durations = durations;
+        this.predecessors = predecessors;
+        this.successors = invert(predecessors);
+        this.demands = demands;
+        this.capacities = capacities;
+    }
+    
+    /**
+     * @param demands    per task, how much of each resource it holds while it runs
+     * @param capacities how much of each resource exists
+     * @param labels     how tasks are named in errors
+     * @throws IllegalArgumentException on a dependency cycle, or when a timed task needs more of a resource
+     *                                  than exists, so no schedule could run it
+     */
+    public static CriticalPathScheduler.Schedule schedule(int[] durations, int[][] predecessors, int[][] demands,
+                                                          int[] capacities, int[] labels) {
+        for (int v = 0; v < durations.length; v++) {
+            for (int r = 0; r < capacities.length; r++) {
+                if (durations[v] > 0 && demands[v][r] > capacities[r]) {
+                    throw new IllegalArgumentException("Step " + labels[v] + " needs more " + RESOURCE_NAMES[r]
+                        + " than the kitchen has (" + demands[v][r] + " of " + capacities[r] + ")");
+                }
+            }
+        }
+        CriticalPathScheduler.Schedule unconstrained = CriticalPathScheduler.schedule(durations, predecessors, labels);
+        return new ResourceScheduler(durations, predecessors, demands, capacities).search(unconstrained);
+    }
+    
+    private CriticalPathScheduler.Schedule search(CriticalPathScheduler.Schedule unconstrained) {
+        int n = durations.length;
+        int lowerBound = Math.max(unconstrained.makespan(), resourceBound());
+        
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            // Least latest start first, longer tasks first on ties
+            keys[v] = ((long) unconstrained.latestStart(v) << 32) - durations[v];
+        }
+        int[] best = justify(place(predecessors, successors, keys));
+        int bestMakespan = makespan(best);
+        
+        SplittableRandom random = new SplittableRandom(SEED);
+        int spread = Math.max(1, unconstrained.makespan() / 4);
+        for (int restart = 0; restart < MAX_RESTARTS && bestMakespan > lowerBound; restart++) {
+            for (int v = 0; v < n; v++) {
+                keys[v] = ((long) (unconstrained.latestStart(v) + random.nextInt(spread)) << 32) - durations[v];
+            }
+            int[] candidate = justify(place(predecessors, successors, keys));
+            int candidateMakespan = makespan(candidate);
+            if (candidateMakespan < bestMakespan) {
+                best = candidate;
+                bestMakespan = candidateMakespan;
+            }
+        }
+        
+        int[] latest = rightJustify(best);
+        if (makespan(latest) > bestMakespan) {
+            latest = best;
+        }
+        int[] earliest = new int[n];
+        for (int v = 0; v < n; v++) {
+            earliest[v] = Math.min(best[v], latest[v]);
+        }
+        return new CriticalPathScheduler.Schedule(earliest, latest, durations, bestMakespan,
+            criticalTasks(earliest, latest));
+    }
+    
+    /**
+     * Alternate right- and left-justification until the makespan stops shrinking; returns left-justified starts
+     */
+    private int[] justify(int[] starts) {
+        int current = makespan(starts);
+        for (int round = 0; round < MAX_JUSTIFICATIONS; round++) {
+            int[] right = rightJustify(starts);
+            long[] keys = new long[starts.length];
+            for (int v = 0; v < starts.length; v++) {
+                keys[v] = right[v];
+            }
+            int[] left = place(predecessors, successors, keys);
+            int improved = makespan(left);
+            if (improved >= current) {
+                return improved == current ? left : starts;
+            }
+            starts = left;
+            current = improved;
+        }
+        return starts;
+    }
+    
+    /**
+     * Every task as late as possible without exceeding the makespan of {@code starts}: scheduled
+     * backwards on the reversed graph, latest finish first
+     */
+    private int[] rightJustify(int[] starts) {
+        int n = starts.length;
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            keys[v] = -(long) (starts[v] + durations[v]);
+        }
+        int[] reversed = place(successors, predecessors, keys);
+        int span = makespan(reversed);
+        // A reversed pass can come out longer; it is then still feasible, just not aligned to the end
+        int shift = Math.max(0, makespan(starts) - span);
+        int[] right = new int[n];
+        for (int v = 0; v < n; v++) {
+            right[v] = shift + span - reversed[v] - durations[v];
+        }
+        return right;
+    }
+    
+    /**
+     * Serial schedule generation: repeatedly take the eligible task with the smallest key and start it at
+     * the earliest time its predecessors are done and its resources are free
+     */
+    private int[] place(int[][] before, int[][] after, long[] keys) {
+        int n = durations.length;
+        int[] starts = new int[n];
+        int[] ready = new int[n];
+        int[] waiting = new int[n];
+        PriorityQueue<Integer> eligible = new PriorityQueue<>(Math.max(1, n),
+            (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b]) : Integer.compare(a, b));
+        for (int v = 0; v < n; v++) {
+            waiting[v] = before[v].length;
+            if (waiting[v] == 0) {
+                eligible.add(v);
+            }
+        }
+        Profile profile = new Profile(capacities);
+        while (!eligible.isEmpty()) {
+            int v = eligible.poll();
+            int start = profile.earliest(ready[v], durations[v], demands[v]);
+            profile.hold(start, durations[v], demands[v]);
+            starts[v] = start;
+            int finish = start + durations[v];
+            for (int s : after[v]) {
+                ready[s] = Math.max(ready[s], finish);
+                if (--waiting[s] == 0) {
+                    eligible.add(s);
+                }
+            }
+        }
+        return starts;
+    }
+    
+    /**
+     * Lower bound from capacity alone: total resource-seconds over capacity
+     */
+    private int resourceBound() {
+        int bound = 0;
+        for (int r = 0; r < capacities.length; r++) {
+            if (capacities[r] == 0) {
+                continue;
+            }
+            long total = 0;
+            for (int v = 0; v < durations.length; v++) {
+                total += (long) durations[v] * demands[v][r];
+            }
+            bound = (int) Math.max(bound, (total + capacities[r] - 1) / capacities[r]);
+        }
+        return bound;
+    }
+    
+    private int makespan(int[] starts) {
+        int makespan = 0;
+        for (int v = 0; v < starts.length; v++) {
+            makespan = Math.max(makespan, starts[v] + durations[v]);
+        }
+        return makespan;
+    }
+    
+    private int[] criticalTasks(int[] earliest, int[] latest) {
+        Integer[] tasks = new Integer[earliest.length];
+        for (int v = 0; v < tasks.length; v++) {
+            tasks[v] = v;
+        }
+        Arrays.sort(tasks, (a, b) -> earliest[a] != earliest[b] ? Integer.compare(earliest[a], earliest[b])
+            : Integer.compare(a, b));
+        List<Integer> critical = new ArrayList<>();
+        for (int v : tasks) {
+            if (earliest[v] == latest[v] && durations[v] > 0) {
+                critical.add(v);
+            }
+        }
+        return critical.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Successor lists from predecessor lists
+     */
+    static int[][] invert(int[][] predecessors) {
+        int[] counts = new int[predecessors.length];
+        for (int[] before : predecessors) {
+            for (int p : before) {
+                counts[p]++;
+            }
+        }
+        int[][] successors = new int[predecessors.length][];
+        for (int v = 0; v < successors.length; v++) {
+            successors[v] = new int[counts[v]];
+        }
+        int[] fill = new int[predecessors.length];
+        for (int v = 0; v < predecessors.length; v++) {
+            for (int p : predecessors[v]) {
+                successors[p][fill[p]++] = v;
+            }
+        }
+        return successors;
+    }
+    
+    /**
+     * Resource usage over time as a step function: each key holds the usage from that time until the next key
+     */
+    private static final class Profile {
+        private final int[] capacities;
+        private final TreeMap<Integer, int[]> usage = new TreeMap<>();
+        
+        Profile(int[] capacities) {
+            this.capacities = capacities;
+            usage.put(0, new int[capacities.length]);
+        }
+        
+        int earliest(int from, int duration, int[] demand) {
+            if (duration == 0 || isZero(demand)) {
+                return from;
+            }
+            int start = from;
+            boolean moved = true;
+            while (moved) {
+                moved = false;
+                int end = start + duration;
+                Map.Entry<Integer, int[]> segment = usage.floorEntry(start);
+                while (segment != null && segment.getKey() < end) {
+                    Map.Entry<Integer, int[]> next = usage.higherEntry(segment.getKey());
+                    if (!fits(segment.getValue(), demand)) {
+                        // The last segment is always empty, so a conflicting one has a successor
+                        start = next.getKey();
+                        moved = true;
+                        break;
+                    }
+                    segment = next;
+                }
+            }
+            return start;
+        }
+        
+        void hold(int start, int duration, int[] demand) {
+            if (duration == 0 || isZero(demand)) {
+                return;
+            }
+            split(start);
+            split(start + duration);
+            for (int[] used : usage.subMap(start, true, start + duration, false).values()) {
+                for (int r = 0; r < used.length; r++) {
+                    used[r] += demand[r];
+                }
+            }
+        }
+        
+        private void split(int time) {
+            if (!usage.containsKey(time)) {
+                usage.put(time, usage.floorEntry(time).getValue().clone());
+            }
+        }
+        
+        private boolean fits(int[] used, int[] demand) {
+            for (int r = 0; r < used.length; r++) {
+                if (used[r] + demand[r] > capacities[r]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static boolean isZero(int[] demand) {
+            for (int d : demand) {
+                if (d != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
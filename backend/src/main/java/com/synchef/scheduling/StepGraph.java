@@ -0,0 +1,234 @@
+package com.synchef.scheduling;
+
+import com.synchef.model.Step;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency graph of a recipe's steps, keyed by order index. Steps with a timer last their timer;
+ * other steps are treated as instant. When any step declares {@code dependsOn}, those edges are the
+ * whole graph. Otherwise they are implied the way recipes have always been written: a parallel step
+ * may start once the preceding sequential step is done, and a sequential step waits for everything
+ * before it, so members of one parallel group (or adjacent parallel steps) run side by side.
+ * Steps may also hold kitchen resources (burners, the oven, the cook's hands), which a
+ * {@link KitchenProfile} limits.
+ */
+public final class StepGraph {
+    
+    private final List<Node> nodes;
+    private final int[][] predecessors;
+    private final boolean explicit;
+    
+    /**
+     * One step as the graph sees it
+     */
+    public record Node(int orderIndex, int durationSeconds, boolean parallel, Integer parallelGroup,
+                       List<Integer> dependsOn, int burners, boolean oven, boolean handsOn) {
+        
+        public static Node of(Step step) {
+            return of(step, step.getTimerSeconds());
+        }
+        
+        /**
+         * The step with its timer replaced, e.g. by one scaled to the servings cooked
+         */
+        public static Node of(Step step, Integer timerSeconds) {
+            int duration = Boolean.TRUE.equals(step.getHasTimer()) && timerSeconds != null
+                ? Math.max(0, timerSeconds) : 0;
+            return new Node(step.getOrderIndex(), duration, Boolean.TRUE.equals(step.getIsParallel()),
+                step.getParallelGroup(), step.getDependsOn() != null ? step.getDependsOn() : List.of(),
+                step.getBurners() != null ? Math.max(0, step.getBurners()) : 0, Boolean.TRUE.equals(step.getUsesOven()),
+                Boolean.TRUE.equals(step.getHandsOn()));
+        }
+        
+        /**
+         * Amount held of each resource, indexed by {@link KitchenResource#ordinal()}
+         */
+        int[] demands() {
+            return new int[]{burners, oven ? 1 : 0, handsOn ? 1 : 0};
+        }
+    }
+    
+    private StepGraph(List<Node> nodes, int[][] predecessors, boolean explicit) {
+        this.nodes = nodes;
+        this.predecessors = predecessors;
+        this.explicit = explicit;
+    }
+    
+    public static StepGraph ofSteps(List<Step> steps) {
+        return of(steps.stream().map(Node::of).toList());
+    }
+    
+    /**
+     * Build and validate the graph
+     *
+     * @throws IllegalArgumentException on duplicate order indexes or dependencies on unknown steps
+     */
+    public static StepGraph of(List<Node> steps) {
+        List<Node> nodes = new ArrayList<>(steps);
+        nodes.sort(Comparator.comparingInt(Node::orderIndex));
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (positions.put(nodes.get(i).orderIndex(), i) != null) {
+                throw new IllegalArgumentException("Duplicate step order index " + nodes.get(i).orderIndex());
+            }
+        }
+        
+        boolean explicit = nodes.stream().anyMatch(node -> !node.dependsOn().isEmpty());
+        int[][] predecessors = explicit ? declared(nodes, positions) : implied(nodes);
+        return new StepGraph(List.copyOf(nodes), predecessors, explicit);
+    }
+    
+    /**
+     * Several independent graphs as one, e.g. the dishes of a meal: tasks of {@code graphs.get(1)} follow
+     * those of {@code graphs.get(0)} and so on, and no edges cross between them. Scheduled together, every
+     * graph's last step finishes at the common makespan when started at its latest start.
+     */
+    public static StepGraph combine(List<StepGraph> graphs) {
+        List<Node> nodes = new ArrayList<>();
+        List<int[]> predecessors = new ArrayList<>();
+        boolean explicit = false;
+        for (StepGraph graph : graphs) {
+            int offset = nodes.size();
+            nodes.addAll(graph.nodes);
+            for (int[] before : graph.predecessors) {
+                int[] shifted = new int[before.length];
+                for (int i = 0; i < before.length; i++) {
+                    shifted[i] = before[i] + offset;
+                }
+                predecessors.add(shifted);
+            }
+            explicit |= graph.explicit;
+        }
+        return new StepGraph(List.copyOf(nodes), predecessors.toArray(new int[0][]), explicit);
+    }
+    
+    /**
+     * Earliest/latest starts and critical path
+     *
+     * @throws IllegalArgumentException when the dependencies form a cycle
+     */
+    public CriticalPathScheduler.Schedule schedule() {
+        return schedule(null);
+    }
+    
+    /**
+     * Like {@link #schedule()}, but no more steps run at once than the kitchen can hold. A null profile,
+     * or a recipe without resource annotations, gets the plain critical path schedule.
+     *
+     * @throws IllegalArgumentException when the dependencies form a cycle
+     */
+    public CriticalPathScheduler.Schedule schedule(KitchenProfile kitchen) {
+        int[] durations = new int[nodes.size()];
+        int[] labels = new int[nodes.size()];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = nodes.get(i).durationSeconds();
+            labels[i] = nodes.get(i).orderIndex();
+        }
+        if (kitchen == null || !hasResourceDemands()) {
+            return CriticalPathScheduler.schedule(durations, predecessors, labels);
+        }
+        int[][] demands = new int[nodes.size()][];
+        for (int i = 0; i < demands.length; i++) {
+            demands[i] = nodes.get(i).demands();
+        }
+        return ResourceScheduler.schedule(durations, predecessors, demands, kitchen.capacities(), labels);
+    }
+    
+    /**
+     * Steps in order index order (per graph, when combined); task {@code i} of the schedule is
+     * {@code nodes().get(i)}
+     */
+    public List<Node> nodes() {
+        return nodes;
+    }
+    
+    /**
+     * Order indexes of the steps task {@code i} waits for, declared or implied
+     */
+    public List<Integer> dependsOn(int task) {
+        List<Integer> orderIndexes = new ArrayList<>(predecessors[task].length);
+        for (int p : predecessors[task]) {
+            orderIndexes.add(nodes.get(p).orderIndex());
+        }
+        return orderIndexes;
+    }
+    
+    /**
+     * For each task, the tasks it waits for; shared, not to be modified
+     */
+    int[][] predecessors() {
+        return predecessors;
+    }
+    
+    /**
+     * True when the recipe declares its dependencies rather than relying on order and parallel groups
+     */
+    public boolean isExplicit() {
+        return explicit;
+    }
+    
+    /**
+     * True when any timed step holds a kitchen resource
+     */
+    public boolean hasResourceDemands() {
+        return nodes.stream().anyMatch(node -> node.durationSeconds() > 0
+            && (node.burners() > 0 || node.oven() || node.handsOn()));
+    }
+    
+    private static int[][] declared(List<Node> nodes, Map<Integer, Integer> positions) {
+        int[][] predecessors = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            Set<Integer> seen = new HashSet<>();
+            List<Integer> resolved = new ArrayList<>();
+            for (Integer orderIndex : node.dependsOn()) {
+                Integer position = orderIndex != null ? positions.get(orderIndex) : null;
+                if (position == null) {
+                    throw new IllegalArgumentException("Step " + node.orderIndex() + " depends on unknown step "
+                        + orderIndex);
+                }
+                if (position == i) {
+                    throw new IllegalArgumentException("Step " + node.orderIndex() + " depends on itself");
+                }
+                if (seen.add(position)) {
+                    resolved.add(position);
+                }
+            }
+            predecessors[i] = resolved.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return predecessors;
+    }
+    
+    private static int[][] implied(List<Node> nodes) {
+        int[][] predecessors = new int[nodes.size()][];
+        int lastSequential = -1;
+        // Parallel steps since the last sequential one; the next sequential step waits for all of them.
+        // Only these and the last sequential step are edges, which keeps the graph linear in size.
+        List<Integer> open = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).parallel()) {
+                predecessors[i] = lastSequential >= 0 ? new int[]{lastSequential} : new int[0];
+                open.add(i);
+            } else {
+                int[] waits = new int[open.size() + (lastSequential >= 0 ? 1 : 0)];
+                for (int j = 0; j < open.size(); j++) {
+                    waits[j] = open.get(j);
+                }
+                if (lastSequential >= 0) {
+                    waits[waits.length - 1] = lastSequential;
+                }
+                predecessors[i] = waits;
+                open.clear();
+                lastSequential = i;
+            }
+        }
+        return predecessors;
+    }
+}
@@ -0,0 +1,192 @@
+package com.synchef.search;
+
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.IngredientView;
+import com.synchef.catalog.RecipeIngredientView;
+import com.synchef.catalog.RecipeView;
+import com.synchef.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Type-ahead suggestions over recipe and ingredient names. Recipes are ranked by how many users
+ * favorited them, ingredients by how many recipes use them.
+ * Rebuilt from the catalog on full reloads and patched with the changed recipes otherwise; favorite
+ * counts are re-read on full reloads only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteIndex {
+    
+    public enum Type { RECIPE, INGREDIENT }
+    
+    // Suggestions weighed when resolving a name that matches no ingredient exactly
+    static final int RESOLVE_CANDIDATES = 20;
+    
+    private final UserRepository userRepository;
+    
+    private volatile PrefixIndex recipes = PrefixIndex.build(List.of());
+    private volatile PrefixIndex ingredients = PrefixIndex.build(List.of());
+    private volatile Map<String, Long> ingredientsByName = Map.of(); // Folded full name
+    private volatile Map<Long, Long> favoriteCounts = Map.of();
+    
+    // Only touched by the listener, which the catalog calls one refresh at a time
+    private CatalogSnapshot indexed = CatalogSnapshot.EMPTY;
+    private Map<Long, Long> usage = new HashMap<>(); // Recipes using each ingredient
+    
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        long started = System.currentTimeMillis();
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            favoriteCounts = loadFavoriteCounts();
+            rebuild(snapshot);
+        } else {
+            patch(snapshot, event.getChangedRecipeIds());
+        }
+        indexed = snapshot;
+        log.debug("Autocomplete {}: {} recipes, {} ingredients in {} ms", event.isFullReload() ? "rebuilt" : "patched",
+                  recipes.size(), ingredients.size(), System.currentTimeMillis() - started);
+    }
+    
+    private void rebuild(CatalogSnapshot snapshot) {
+        usage = new HashMap<>();
+        for (RecipeView recipe : snapshot.getRecipes().byId()) {
+            for (RecipeIngredientView ri : recipe.getIngredients()) {
+                usage.merge(ri.getIngredient().getId(), 1L, Long::sum);
+            }
+        }
+        
+        Map<Long, Long> favorites = favoriteCounts;
+        recipes = PrefixIndex.build(snapshot.getRecipes().byId().stream()
+            .map(r -> new PrefixIndex.Entry(r.getId(), r.getName(), favorites.getOrDefault(r.getId(), 0L)))
+            .toList());
+        ingredients = PrefixIndex.build(snapshot.getIngredients().stream()
+            .map(i -> new PrefixIndex.Entry(i.getId(), i.getName(), usage.getOrDefault(i.getId(), 0L)))
+            .toList());
+        Map<String, Long> byName = new HashMap<>();
+        snapshot.getIngredients().forEach(ingredient -> putName(byName, ingredient.getName(), ingredient.getId()));
+        ingredientsByName = byName;
+    }
+    
+    /**
+     * Re-enter the changed recipes, and the ingredients whose usage they moved, without rebuilding
+     */
+    private void patch(CatalogSnapshot snapshot, Set<Long> changedRecipeIds) {
+        Map<Long, Long> favorites = favoriteCounts;
+        List<PrefixIndex.Entry> changedRecipes = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+        for (Long id : changedRecipeIds) {
+            RecipeView old = indexed.getRecipesById().get(id);
+            RecipeView recipe = snapshot.getRecipesById().get(id);
+            if (old != null) {
+                old.getIngredients().forEach(ri -> {
+                    usage.merge(ri.getIngredient().getId(), -1L, Long::sum);
+                    touched.add(ri.getIngredient().getId());
+                });
+            }
+            if (recipe != null) {
+                recipe.getIngredients().forEach(ri -> {
+                    usage.merge(ri.getIngredient().getId(), 1L, Long::sum);
+                    touched.add(ri.getIngredient().getId());
+                });
+                changedRecipes.add(new PrefixIndex.Entry(id, recipe.getName(), favorites.getOrDefault(id, 0L)));
+            }
+        }
+        
+        List<PrefixIndex.Entry> changedIngredients = touched.stream()
+            .map(snapshot.getIngredientsById()::get)
+            .filter(Objects::nonNull)
+            .map(i -> new PrefixIndex.Entry(i.getId(), i.getName(), usage.getOrDefault(i.getId(), 0L)))
+            .toList();
+        recipes = recipes.withEntries(changedRecipes);
+        ingredients = ingredients.withEntries(changedIngredients);
+        Map<String, Long> byName = new HashMap<>(ingredientsByName);
+        changedIngredients.forEach(entry -> putName(byName, entry.name(), entry.id()));
+        ingredientsByName = byName;
+    }
+    
+    private void putName(Map<String, Long> byName, String name, Long id) {
+        // Names are unique, but two can fold alike; the more used one wins
+        byName.merge(TextAnalyzer.fold(name).trim(), id,
+            (a, b) -> usage.getOrDefault(b, 0L) > usage.getOrDefault(a, 0L) ? b : a);
+    }
+    
+    public List<PrefixIndex.Match> suggest(Type type, String prefix, int limit) {
+        PrefixIndex index = type == Type.RECIPE ? recipes : ingredients;
+        return index.suggest(prefix, editBudget(prefix), limit);
+    }
+    
+    /**
+     * The ingredient a free-typed name denotes, or empty if nothing is close: an exact (case- and
+     * accent-insensitive) name match, else the suggestion whose whole name is the fewest edits away,
+     * the more used one on ties
+     */
+    public Optional<IngredientView> resolveIngredient(String name, CatalogSnapshot snapshot) {
+        String folded = TextAnalyzer.fold(name).trim();
+        Long exact = ingredientsByName.get(folded);
+        if (exact != null && snapshot.getIngredientsById().containsKey(exact)) {
+            return Optional.of(snapshot.getIngredientsById().get(exact));
+        }
+        // Suggestions come ranked by popularity, and min keeps the first of equally close ones
+        return suggest(Type.INGREDIENT, name, RESOLVE_CANDIDATES).stream()
+            .min(Comparator.comparingInt(match -> distance(folded, TextAnalyzer.fold(match.name()).trim())))
+            .map(match -> snapshot.getIngredientsById().get(match.id()))
+            .filter(Objects::nonNull);
+    }
+    
+    /**
+     * Typos allowed for a prefix: none while it is too short to tell apart, then one, then two
+     */
+    static int editBudget(String prefix) {
+        int length = prefix.trim().length();
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+    
+    /**
+     * Levenshtein distance between two strings
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+    
+    private Map<Long, Long> loadFavoriteCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : userRepository.countFavoritesByRecipe()) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,296 @@
+package com.synchef.search;
+
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.RecipeIngredientView;
+import com.synchef.catalog.RecipeView;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable columnar index for combined recipe filters. Each recipe is a row position (id order);
+ * scalar attributes live in primitive arrays and every facet value owns a bitmap of the rows that
+ * carry it, so a query is a handful of bitmap ANDs/ORs rather than joins.
+ *
+ * Values within one facet are OR-ed, facets are AND-ed, included ingredients must all be present.
+ * Facet counts are disjunctive: each facet is counted under every filter except its own.
+ */
+public final class FacetIndex {
+    
+    public static final FacetIndex EMPTY = build(List.of());
+    
+    private static final int NO_TIME = Integer.MAX_VALUE;
+    
+    private final int rows;
+    private final long[] recipeIds;
+    private final int[] totalTime;
+    private final long[] countryIds;
+    private final String[] difficulties;
+    private final Map<Long, BitSet> byCountry;
+    private final Map<Long, BitSet> byCategory;
+    private final Map<String, BitSet> byDifficulty;
+    private final Map<Long, BitSet> byIngredient;
+    
+    private FacetIndex(int rows, long[] recipeIds, int[] totalTime, long[] countryIds, String[] difficulties,
+                       Map<Long, BitSet> byCountry, Map<Long, BitSet> byCategory,
+                       Map<String, BitSet> byDifficulty, Map<Long, BitSet> byIngredient) {
+        this.rows = rows;
+        this.recipeIds = recipeIds;
+        this.totalTime = totalTime;
+        this.countryIds = countryIds;
+        this.difficulties = difficulties;
+        this.byCountry = byCountry;
+        this.byCategory = byCategory;
+        this.byDifficulty = byDifficulty;
+        this.byIngredient = byIngredient;
+    }
+    
+    /**
+     * Build from recipes in the order results should be returned
+     */
+    public static FacetIndex build(List<RecipeView> recipes) {
+        int n = recipes.size();
+        long[] ids = new long[n];
+        int[] times = new int[n];
+        long[] countries = new long[n];
+        String[] levels = new String[n];
+        Map<Long, BitSet> byCountry = new HashMap<>();
+        Map<Long, BitSet> byCategory = new HashMap<>();
+        Map<String, BitSet> byDifficulty = new HashMap<>();
+        Map<Long, BitSet> byIngredient = new HashMap<>();
+        
+        for (int row = 0; row < n; row++) {
+            RecipeView recipe = recipes.get(row);
+            ids[row] = recipe.getId();
+            times[row] = recipe.getTotalTimeMinutes() != null ? recipe.getTotalTimeMinutes() : NO_TIME;
+            countries[row] = recipe.getCountry().getId();
+            levels[row] = recipe.getDifficultyLevel();
+            byCountry.computeIfAbsent(countries[row], k -> new BitSet(n)).set(row);
+            if (levels[row] != null) {
+                byDifficulty.computeIfAbsent(levels[row], k -> new BitSet(n)).set(row);
+            }
+            for (CategoryView category : recipe.getCategories()) {
+                byCategory.computeIfAbsent(category.getId(), k -> new BitSet()).set(row);
+            }
+            for (RecipeIngredientView ri : recipe.getIngredients()) {
+                byIngredient.computeIfAbsent(ri.getIngredient().getId(), k -> new BitSet()).set(row);
+            }
+        }
+        return new FacetIndex(n, ids, times, countries, levels, byCountry, byCategory, byDifficulty, byIngredient);
+    }
+    
+    /**
+     * New index with the given recipes updated in their rows, or appended when their id sorts after every
+     * row. Arrays and maps are copied and only the bitmaps a changed row enters or leaves are cloned.
+     * A recipe that would land between existing rows needs a full rebuild from {@code all} instead.
+     */
+    public FacetIndex withRecipes(Collection<RecipeView> changed, List<RecipeView> all) {
+        List<RecipeView> sorted = changed.stream().sorted(Comparator.comparing(RecipeView::getId)).toList();
+        int n = rows;
+        for (RecipeView recipe : sorted) {
+            if (Arrays.binarySearch(recipeIds, 0, rows, recipe.getId()) < 0) {
+                if (rows > 0 && recipe.getId() < recipeIds[rows - 1]) {
+                    return build(all);
+                }
+                n++;
+            }
+        }
+        
+        long[] ids = Arrays.copyOf(recipeIds, n);
+        int[] times = Arrays.copyOf(totalTime, n);
+        long[] countries = Arrays.copyOf(countryIds, n);
+        String[] levels = Arrays.copyOf(difficulties, n);
+        Map<Long, BitSet> newByCountry = new HashMap<>(byCountry);
+        Map<Long, BitSet> newByCategory = new HashMap<>(byCategory);
+        Map<String, BitSet> newByDifficulty = new HashMap<>(byDifficulty);
+        Map<Long, BitSet> newByIngredient = new HashMap<>(byIngredient);
+        Set<BitSet> cloned = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        int appended = rows;
+        for (RecipeView recipe : sorted) {
+            int row = Arrays.binarySearch(recipeIds, 0, rows, recipe.getId());
+            if (row >= 0) {
+                clearRow(newByCountry, row, cloned);
+                clearRow(newByCategory, row, cloned);
+                clearRow(newByDifficulty, row, cloned);
+                clearRow(newByIngredient, row, cloned);
+            } else {
+                row = appended++;
+            }
+            ids[row] = recipe.getId();
+            times[row] = recipe.getTotalTimeMinutes() != null ? recipe.getTotalTimeMinutes() : NO_TIME;
+            countries[row] = recipe.getCountry().getId();
+            levels[row] = recipe.getDifficultyLevel();
+            setRow(newByCountry, countries[row], row, cloned);
+            if (levels[row] != null) {
+                setRow(newByDifficulty, levels[row], row, cloned);
+            }
+            for (CategoryView category : recipe.getCategories()) {
+                setRow(newByCategory, category.getId(), row, cloned);
+            }
+            for (RecipeIngredientView ri : recipe.getIngredients()) {
+                setRow(newByIngredient, ri.getIngredient().getId(), row, cloned);
+            }
+        }
+        return new FacetIndex(n, ids, times, countries, levels, newByCountry, newByCategory, newByDifficulty,
+            newByIngredient);
+    }
+    
+    public int size() {
+        return rows;
+    }
+    
+    public Result query(Query query, int offset, int limit) {
+        BitSet country = anyOf(byCountry, query.countryIds());
+        BitSet category = anyOf(byCategory, query.categoryIds());
+        BitSet difficulty = anyOf(byDifficulty, query.difficulties());
+        BitSet shared = sharedFilter(query);
+        
+        BitSet matches = and(shared, country, category, difficulty);
+        
+        // Disjunctive counts: drop the facet's own filter so the client can see its alternatives
+        BitSet forCountry = and(shared, category, difficulty);
+        Map<Long, Integer> countryCounts = new LinkedHashMap<>();
+        for (int row = forCountry.nextSetBit(0); row >= 0; row = forCountry.nextSetBit(row + 1)) {
+            countryCounts.merge(countryIds[row], 1, Integer::sum);
+        }
+        BitSet forDifficulty = and(shared, country, category);
+        Map<String, Integer> difficultyCounts = new LinkedHashMap<>();
+        for (int row = forDifficulty.nextSetBit(0); row >= 0; row = forDifficulty.nextSetBit(row + 1)) {
+            if (difficulties[row] != null) {
+                difficultyCounts.merge(difficulties[row], 1, Integer::sum);
+            }
+        }
+        BitSet forCategory = and(shared, country, difficulty);
+        Map<Long, Integer> categoryCounts = new LinkedHashMap<>();
+        for (Map.Entry<Long, BitSet> entry : byCategory.entrySet()) {
+            int count = intersectionSize(forCategory, entry.getValue());
+            if (count > 0) {
+                categoryCounts.put(entry.getKey(), count);
+            }
+        }
+        
+        long[] page = new long[Math.max(0, Math.min(limit, matches.cardinality() - offset))];
+        int row = matches.nextSetBit(0);
+        for (int skipped = 0; row >= 0 && skipped < offset; skipped++) {
+            row = matches.nextSetBit(row + 1);
+        }
+        for (int i = 0; i < page.length && row >= 0; i++, row = matches.nextSetBit(row + 1)) {
+            page[i] = recipeIds[row];
+        }
+        return new Result(matches.cardinality(), page, countryCounts, categoryCounts, difficultyCounts);
+    }
+    
+    /**
+     * Filters that are not facets themselves: time limit and ingredient include/exclude
+     */
+    private BitSet sharedFilter(Query query) {
+        BitSet shared = new BitSet(rows);
+        if (query.maxTotalTime() != null) {
+            int max = query.maxTotalTime();
+            for (int row = 0; row < rows; row++) {
+                if (totalTime[row] <= max) {
+                    shared.set(row);
+                }
+            }
+        } else {
+            shared.set(0, rows);
+        }
+        for (Long ingredientId : query.includeIngredientIds()) {
+            BitSet rowsWith = byIngredient.get(ingredientId);
+            if (rowsWith == null) {
+                shared.clear();
+                break;
+            }
+            shared.and(rowsWith);
+        }
+        for (Long ingredientId : query.excludeIngredientIds()) {
+            BitSet rowsWith = byIngredient.get(ingredientId);
+            if (rowsWith != null) {
+                shared.andNot(rowsWith);
+            }
+        }
+        return shared;
+    }
+    
+    /**
+     * Union of the bitmaps for the selected values, or null when the facet is unconstrained
+     */
+    private static <K> BitSet anyOf(Map<K, BitSet> bitmaps, Collection<K> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (K value : values) {
+            BitSet rowsWith = bitmaps.get(value);
+            if (rowsWith != null) {
+                union.or(rowsWith);
+            }
+        }
+        return union;
+    }
+    
+    /**
+     * Take {@code row} out of every bitmap holding it, cloning each before its first change
+     */
+    private static <K> void clearRow(Map<K, BitSet> bitmaps, int row, Set<BitSet> cloned) {
+        List<K> holding = bitmaps.entrySet().stream()
+            .filter(entry -> entry.getValue().get(row))
+            .map(Map.Entry::getKey)
+            .toList();
+        for (K key : holding) {
+            BitSet rowsWith = owned(bitmaps, key, cloned);
+            rowsWith.clear(row);
+            if (rowsWith.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+    
+    private static <K> void setRow(Map<K, BitSet> bitmaps, K key, int row, Set<BitSet> cloned) {
+        owned(bitmaps, key, cloned).set(row);
+    }
+    
+    private static <K> BitSet owned(Map<K, BitSet> bitmaps, K key, Set<BitSet> cloned) {
+        BitSet rowsWith = bitmaps.get(key);
+        if (rowsWith == null || !cloned.contains(rowsWith)) {
+            rowsWith = rowsWith != null ? (BitSet) rowsWith.clone() : new BitSet();
+            bitmaps.put(key, rowsWith);
+            cloned.add(rowsWith);
+        }
+        return rowsWith;
+    }
+    
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+    
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet both = (BitSet) b.clone();
+        both.and(a);
+        return both.cardinality();
+    }
+    
+    public record Query(Set<Long> countryIds, Set<Long> categoryIds, Set<String> difficulties,
+                        Integer maxTotalTime, Set<Long> includeIngredientIds, Set<Long> excludeIngredientIds) {
+    }
+    
+    public record Result(int totalHits, long[] recipeIds, Map<Long, Integer> countryCounts,
+                         Map<Long, Integer> categoryCounts, Map<String, Integer> difficultyCounts) {
+    }
+}
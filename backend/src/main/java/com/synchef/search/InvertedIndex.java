@@ -0,0 +1,280 @@
+package com.synchef.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable BM25 inverted index over weighted document fields.
+ *
+ * Documents are numbered densely; each term maps to parallel arrays of document numbers and
+ * field-weighted term frequencies. Adding documents returns a new index that shares the postings
+ * of untouched terms. Replaced documents are tombstoned until the next full rebuild.
+ */
+public final class InvertedIndex {
+    
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    
+    public static final InvertedIndex EMPTY =
+        new InvertedIndex(new long[0], new float[0], 0, new BitSet(), Map.of(), Map.of(), 0, 0d);
+    
+    private final long[] keys;           // doc -> external key (recipe id)
+    private final float[] lengths;       // doc -> weighted length
+    private final int docCount;
+    private final BitSet deleted;
+    private final Map<Long, Integer> docByKey;
+    private final Map<String, Postings> postings;
+    private final int liveDocs;
+    private final double totalLength;
+    
+    private InvertedIndex(long[] keys, float[] lengths, int docCount, BitSet deleted,
+                          Map<Long, Integer> docByKey, Map<String, Postings> postings,
+                          int liveDocs, double totalLength) {
+        this.keys = keys;
+        this.lengths = lengths;
+        this.docCount = docCount;
+        this.deleted = deleted;
+        this.docByKey = docByKey;
+        this.postings = postings;
+        this.liveDocs = liveDocs;
+        this.totalLength = totalLength;
+    }
+    
+    public static InvertedIndex build(Collection<Document> documents) {
+        return EMPTY.withDocuments(documents);
+    }
+    
+    public int size() {
+        return liveDocs;
+    }
+    
+    public int vocabularySize() {
+        return postings.size();
+    }
+    
+    /**
+     * New index with the given documents added; documents whose key is already present replace it
+     */
+    public InvertedIndex withDocuments(Collection<Document> documents) {
+        int newCount = docCount + documents.size();
+        long[] newKeys = Arrays.copyOf(keys, newCount);
+        float[] newLengths = Arrays.copyOf(lengths, newCount);
+        BitSet newDeleted = (BitSet) deleted.clone();
+        Map<Long, Integer> newDocByKey = new HashMap<>(docByKey);
+        int newLive = liveDocs;
+        double newTotal = totalLength;
+        
+        Map<String, PostingsBuilder> touched = new HashMap<>();
+        int doc = docCount;
+        for (Document document : documents) {
+            Integer previous = newDocByKey.put(document.key(), doc);
+            if (previous != null && !newDeleted.get(previous)) {
+                newDeleted.set(previous);
+                newLive--;
+                newTotal -= newLengths[previous];
+            }
+            
+            float length = 0f;
+            for (Map.Entry<String, Float> tf : document.termWeights().entrySet()) {
+                touched.computeIfAbsent(tf.getKey(), t -> new PostingsBuilder(postings.get(t)))
+                       .add(doc, tf.getValue());
+                length += tf.getValue();
+            }
+            newKeys[doc] = document.key();
+            newLengths[doc] = length;
+            newLive++;
+            newTotal += length;
+            doc++;
+        }
+        
+        Map<String, Postings> newPostings = new HashMap<>(postings);
+        touched.forEach((term, builder) -> newPostings.put(term, builder.build()));
+        
+        return new InvertedIndex(newKeys, newLengths, newCount, newDeleted,
+            newDocByKey, newPostings, newLive, newTotal);
+    }
+    
+    /**
+     * Top hits for the analyzed query terms; {@code offset}/{@code limit} select a page of the ranking
+     */
+    public SearchResult search(List<String> queryTerms, int offset, int limit) {
+        if (queryTerms.isEmpty() || liveDocs == 0) {
+            return new SearchResult(0, List.of());
+        }
+        double avgLength = totalLength / liveDocs;
+        List<Postings> matched = new ArrayList<>();
+        int candidates = 0;
+        for (String term : queryTerms.stream().distinct().toList()) {
+            Postings p = postings.get(term);
+            if (p != null) {
+                matched.add(p);
+                candidates += p.size;
+            }
+        }
+        // Sized up front so the accumulator never rehashes while scoring
+        DocScores scores = new DocScores(Integer.highestOneBit(Math.max(16, candidates)) << 2);
+        
+        for (Postings p : matched) {
+            double idf = Math.log(1 + (liveDocs - p.size + 0.5) / (p.size + 0.5));
+            for (int i = 0; i < p.size; i++) {
+                int doc = p.docs[i];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                double tf = p.weights[i];
+                double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                scores.add(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+            }
+        }
+        
+        int k = offset + limit;
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::key);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, k), ranking.reversed());
+        scores.forEach((doc, score) -> {
+            Hit hit = new Hit(keys[doc], score);
+            if (top.size() < k) {
+                top.add(hit);
+            } else if (k > 0 && ranking.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        });
+        
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new SearchResult(scores.size(), List.copyOf(page));
+    }
+    
+    /**
+     * A document to index: external key plus field-weighted term frequencies
+     */
+    public record Document(long key, Map<String, Float> termWeights) {
+    }
+    
+    public record Hit(long key, float score) {
+    }
+    
+    public record SearchResult(int totalHits, List<Hit> hits) {
+    }
+    
+    private static final class Postings {
+        final int[] docs;
+        final float[] weights;
+        final int size;
+        
+        Postings(int[] docs, float[] weights, int size) {
+            this.docs = docs;
+            this.weights = weights;
+            this.size = size;
+        }
+    }
+    
+    private static final class PostingsBuilder {
+        int[] docs;
+        float[] weights;
+        int size;
+        
+        PostingsBuilder(Postings base) {
+            if (base == null) {
+                docs = new int[4];
+                weights = new float[4];
+            } else {
+                docs = Arrays.copyOf(base.docs, Math.max(4, base.size + 4));
+                weights = Arrays.copyOf(base.weights, docs.length);
+                size = base.size;
+            }
+        }
+        
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+        
+        Postings build() {
+            return new Postings(Arrays.copyOf(docs, size), Arrays.copyOf(weights, size), size);
+        }
+    }
+    
+    /**
+     * Open-addressing int -> float accumulator, so scoring does not box or allocate per posting
+     */
+    private static final class DocScores {
+        private int[] docs;
+        private float[] scores;
+        private boolean[] used;
+        private int size;
+        
+        DocScores(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+            used = new boolean[capacity];
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        void add(int doc, float score) {
+            if (size * 2 >= docs.length) {
+                grow();
+            }
+            int mask = docs.length - 1;
+            int slot = mix(doc) & mask;
+            while (used[slot] && docs[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                docs[slot] = doc;
+                size++;
+            }
+            scores[slot] += score;
+        }
+        
+        void forEach(ScoreConsumer consumer) {
+            for (int i = 0; i < docs.length; i++) {
+                if (used[i]) {
+                    consumer.accept(docs[i], scores[i]);
+                }
+            }
+        }
+        
+        private void grow() {
+            int[] oldDocs = docs;
+            float[] oldScores = scores;
+            boolean[] oldUsed = used;
+            docs = new int[oldDocs.length * 2];
+            scores = new float[docs.length];
+            used = new boolean[docs.length];
+            size = 0;
+            for (int i = 0; i < oldDocs.length; i++) {
+                if (oldUsed[i]) {
+                    add(oldDocs[i], oldScores[i]);
+                }
+            }
+        }
+        
+        private static int mix(int x) {
+            int h = x * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ScoreConsumer {
+        void accept(int doc, float score);
+    }
+}
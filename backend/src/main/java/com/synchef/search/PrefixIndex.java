@@ -0,0 +1,352 @@
+package com.synchef.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable type-ahead index: sorted key array (an implicit trie), a max-segment tree over entry
+ * weights for top-k extraction from any key range, and bounded-edit-distance prefix matching that
+ * walks the implicit trie with Levenshtein rows.
+ *
+ * Every entry is reachable from its full name and from each later word of the name, so "sitaw"
+ * finds "Adobong Sitaw".
+ */
+public final class PrefixIndex {
+    
+    // Score penalty per edit, in units of log-weight, so a typo has to be much more popular to win
+    static final double EDIT_PENALTY = 2.0;
+    
+    // Upper bound on implicit-trie nodes a fuzzy lookup may visit, keeping worst-case latency flat
+    static final int MAX_FUZZY_NODES = 1024;
+    
+    private final String[] keys;     // folded, sorted
+    private final int[] keyEntry;    // key -> entry
+    private final long[] entryIds;
+    private final String[] entryNames;
+    private final double[] entryWeights;
+    private final int[] maxTree;     // segment tree of key positions with the heaviest entry
+    private final int leaves;
+    
+    private PrefixIndex(String[] keys, int[] keyEntry, long[] entryIds, String[] entryNames, double[] entryWeights) {
+        this.keys = keys;
+        this.keyEntry = keyEntry;
+        this.entryIds = entryIds;
+        this.entryNames = entryNames;
+        this.entryWeights = entryWeights;
+        int n = 1;
+        while (n < Math.max(1, keys.length)) {
+            n <<= 1;
+        }
+        this.leaves = n;
+        this.maxTree = new int[2 * n];
+        Arrays.fill(maxTree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            maxTree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            maxTree[i] = heavier(maxTree[2 * i], maxTree[2 * i + 1]);
+        }
+    }
+    
+    public static PrefixIndex build(List<Entry> entries) {
+        List<KeyRef> refs = new ArrayList<>();
+        long[] ids = new long[entries.size()];
+        String[] names = new String[entries.size()];
+        double[] weights = new double[entries.size()];
+        
+        for (int e = 0; e < entries.size(); e++) {
+            Entry entry = entries.get(e);
+            ids[e] = entry.id();
+            names[e] = entry.name();
+            weights[e] = entry.weight();
+            addKeys(entry.name(), e, refs);
+        }
+        
+        refs.sort(Comparator.comparing(KeyRef::key));
+        String[] keys = new String[refs.size()];
+        int[] keyEntry = new int[refs.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = refs.get(i).key();
+            keyEntry[i] = refs.get(i).entry();
+        }
+        return new PrefixIndex(keys, keyEntry, ids, names, weights);
+    }
+    
+    /**
+     * New index with the given entries added; entries whose id is already present replace it. Only the
+     * new entries' keys are sorted, then merged into the existing sorted keys.
+     */
+    public PrefixIndex withEntries(Collection<Entry> entries) {
+        Map<Long, Entry> changed = new LinkedHashMap<>();
+        entries.forEach(entry -> changed.put(entry.id(), entry));
+        
+        int kept = 0;
+        int[] remap = new int[entryIds.length]; // old entry -> new entry, -1 when replaced
+        for (int e = 0; e < entryIds.length; e++) {
+            remap[e] = changed.containsKey(entryIds[e]) ? -1 : kept++;
+        }
+        int n = kept + changed.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        double[] weights = new double[n];
+        for (int e = 0; e < entryIds.length; e++) {
+            if (remap[e] >= 0) {
+                ids[remap[e]] = entryIds[e];
+                names[remap[e]] = entryNames[e];
+                weights[remap[e]] = entryWeights[e];
+            }
+        }
+        List<KeyRef> added = new ArrayList<>();
+        int e = kept;
+        for (Entry entry : changed.values()) {
+            ids[e] = entry.id();
+            names[e] = entry.name();
+            weights[e] = entry.weight();
+            addKeys(entry.name(), e++, added);
+        }
+        added.sort(Comparator.comparing(KeyRef::key));
+        
+        int keptKeys = 0;
+        for (int k = 0; k < keys.length; k++) {
+            if (remap[keyEntry[k]] >= 0) {
+                keptKeys++;
+            }
+        }
+        String[] mergedKeys = new String[keptKeys + added.size()];
+        int[] mergedEntries = new int[mergedKeys.length];
+        int m = 0;
+        int a = 0;
+        for (int k = 0; k < keys.length; k++) {
+            if (remap[keyEntry[k]] < 0) {
+                continue;
+            }
+            for (; a < added.size() && added.get(a).key().compareTo(keys[k]) < 0; a++, m++) {
+                mergedKeys[m] = added.get(a).key();
+                mergedEntries[m] = added.get(a).entry();
+            }
+            mergedKeys[m] = keys[k];
+            mergedEntries[m++] = remap[keyEntry[k]];
+        }
+        for (; a < added.size(); a++, m++) {
+            mergedKeys[m] = added.get(a).key();
+            mergedEntries[m] = added.get(a).entry();
+        }
+        return new PrefixIndex(mergedKeys, mergedEntries, ids, names, weights);
+    }
+    
+    /**
+     * Keys of an entry: its folded name from the start and from every later word
+     */
+    private static void addKeys(String name, int entry, List<KeyRef> refs) {
+        String folded = TextAnalyzer.fold(name).trim();
+        for (int i = 0; i < folded.length(); i++) {
+            boolean wordStart = i == 0 || (!Character.isLetterOrDigit(folded.charAt(i - 1))
+                && Character.isLetterOrDigit(folded.charAt(i)));
+            if (wordStart) {
+                refs.add(new KeyRef(folded.substring(i), entry));
+            }
+        }
+    }
+    
+    public int size() {
+        return entryIds.length;
+    }
+    
+    /**
+     * Up to {@code limit} entries whose name (or a word in it) starts with {@code prefix}, allowing up
+     * to {@code maxEdits} typos in the prefix. Ranked by log-weight minus an edit penalty.
+     */
+    public List<Match> suggest(String prefix, int maxEdits, int limit) {
+        String q = TextAnalyzer.fold(prefix).trim();
+        if (q.isEmpty() || keys.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        
+        List<int[]> ranges = new ArrayList<>(); // {from, to, edits}
+        int from = lowerBound(q, 0, keys.length);
+        int to = prefixEnd(q, from);
+        if (from < to) {
+            ranges.add(new int[]{from, to, 0});
+        }
+        // Typo tolerance only kicks in when exact prefix matches cannot fill the page
+        if (maxEdits > 0 && distinctEntries(from, to, limit) < limit) {
+            int[][] rows = new int[q.length() + maxEdits + 2][q.length() + 1];
+            for (int j = 0; j <= q.length(); j++) {
+                rows[0][j] = j;
+            }
+            walk(q, maxEdits, 0, 0, keys.length, rows, ranges, new int[]{MAX_FUZZY_NODES});
+        }
+        return topK(ranges, limit);
+    }
+    
+    private int distinctEntries(int from, int to, int cap) {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = from; i < to && seen.size() < cap; i++) {
+            seen.add(keyEntry[i]);
+        }
+        return seen.size();
+    }
+    
+    /**
+     * Depth-first walk of the implicit trie node (depth, [lo, hi)); rows[depth] holds the edit
+     * distances between the node's prefix and every prefix of the query
+     */
+    private void walk(String q, int maxEdits, int depth, int lo, int hi, int[][] rows, List<int[]> ranges,
+                      int[] budget) {
+        int[] row = rows[depth];
+        int m = q.length();
+        if (row[m] <= maxEdits) {
+            // The exact range is already collected; topK keeps the best score per entry anyway
+            if (row[m] > 0) {
+                ranges.add(new int[]{lo, hi, row[m]});
+            }
+            return;
+        }
+        if (--budget[0] < 0) {
+            return;
+        }
+        if (depth + 1 >= rows.length || min(row) > maxEdits) {
+            return;
+        }
+        int i = lo;
+        // Keys that end exactly at this depth sort first and have no children
+        while (i < hi && keys[i].length() == depth) {
+            i++;
+        }
+        while (i < hi) {
+            char c = keys[i].charAt(depth);
+            int end = childEnd(depth, c, i, hi);
+            int[] next = rows[depth + 1];
+            next[0] = row[0] + 1;
+            for (int j = 1; j <= m; j++) {
+                int cost = q.charAt(j - 1) == c ? 0 : 1;
+                next[j] = Math.min(Math.min(next[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+            }
+            walk(q, maxEdits, depth + 1, i, end, rows, ranges, budget);
+            i = end;
+        }
+    }
+    
+    private List<Match> topK(List<int[]> ranges, int limit) {
+        // Each heap item is a key range together with its heaviest key; popping splits the range around it
+        PriorityQueue<double[]> heap = new PriorityQueue<>((a, b) -> Double.compare(b[0], a[0]));
+        for (int[] range : ranges) {
+            offer(heap, range[0], range[1], range[2]);
+        }
+        List<Match> matches = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        while (!heap.isEmpty() && matches.size() < limit) {
+            double[] top = heap.poll();
+            int from = (int) top[1];
+            int to = (int) top[2];
+            int edits = (int) top[3];
+            int key = (int) top[4];
+            int entry = keyEntry[key];
+            if (seen.add(entry)) {
+                matches.add(new Match(entryIds[entry], entryNames[entry], entryWeights[entry], edits));
+            }
+            offer(heap, from, key, edits);
+            offer(heap, key + 1, to, edits);
+        }
+        return matches;
+    }
+    
+    private void offer(PriorityQueue<double[]> heap, int from, int to, int edits) {
+        if (from >= to) {
+            return;
+        }
+        int key = argMax(from, to);
+        double score = Math.log1p(entryWeights[keyEntry[key]]) - edits * EDIT_PENALTY;
+        heap.add(new double[]{score, from, to, edits, key});
+    }
+    
+    private int argMax(int from, int to) {
+        int best = -1;
+        for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = heavier(best, maxTree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, maxTree[--r]);
+            }
+        }
+        return best;
+    }
+    
+    private int heavier(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return entryWeights[keyEntry[b]] > entryWeights[keyEntry[a]] ? b : a;
+    }
+    
+    private int lowerBound(String q, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private int prefixEnd(String q, int from) {
+        int lo = from;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].startsWith(q)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    /**
+     * End of the run of keys in [from, hi) that have character {@code c} at {@code depth}
+     */
+    private int childEnd(int depth, char c, int from, int hi) {
+        int lo = from;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].charAt(depth) <= c) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private static int min(int[] row) {
+        int min = Integer.MAX_VALUE;
+        for (int v : row) {
+            min = Math.min(min, v);
+        }
+        return min;
+    }
+    
+    private record KeyRef(String key, int entry) {
+    }
+    
+    public record Entry(long id, String name, double weight) {
+    }
+    
+    public record Match(long id, String name, double weight, int edits) {
+    }
+}
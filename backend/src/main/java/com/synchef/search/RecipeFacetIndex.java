@@ -0,0 +1,39 @@
+package com.synchef.search;
+
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.catalog.CatalogSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Columnar facet index over the recipe catalog: rebuilt on full reloads, patched with the changed
+ * recipes otherwise
+ */
+@Component
+@Slf4j
+public class RecipeFacetIndex {
+    
+    private volatile FacetIndex index = FacetIndex.EMPTY;
+    
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        long started = System.currentTimeMillis();
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            index = FacetIndex.build(snapshot.getRecipes().byId());
+            log.debug("Facet index built: {} recipes in {} ms", index.size(), System.currentTimeMillis() - started);
+        } else {
+            index = index.withRecipes(event.getChangedRecipeIds().stream()
+                .map(snapshot.getRecipesById()::get)
+                .filter(Objects::nonNull)
+                .toList(), snapshot.getRecipes().byId());
+        }
+    }
+    
+    public FacetIndex.Result query(FacetIndex.Query query, int offset, int limit) {
+        return index.query(query, offset, limit);
+    }
+}
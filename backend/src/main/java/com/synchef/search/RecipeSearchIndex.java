@@ -0,0 +1,75 @@
+package com.synchef.search;
+
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.RecipeIngredientView;
+import com.synchef.catalog.RecipeView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Full-text index over recipe name, description, ingredients, categories and country, ranked with BM25.
+ * Follows the recipe catalog: rebuilt on full reloads, patched with the changed recipes otherwise.
+ */
+@Component
+@Slf4j
+public class RecipeSearchIndex {
+    
+    // Per-field term frequency multipliers (a name match outranks a description mention)
+    static final float NAME_WEIGHT = 3.0f;
+    static final float INGREDIENT_WEIGHT = 2.0f;
+    static final float CATEGORY_WEIGHT = 1.5f;
+    static final float COUNTRY_WEIGHT = 1.5f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+    
+    private volatile InvertedIndex index = InvertedIndex.EMPTY;
+    
+    @EventListener
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        CatalogSnapshot snapshot = event.getSnapshot();
+        if (event.isFullReload()) {
+            long started = System.currentTimeMillis();
+            index = InvertedIndex.build(snapshot.getRecipes().byId().stream().map(this::toDocument).toList());
+            log.info("Search index built: {} recipes, {} terms in {} ms",
+                     index.size(), index.vocabularySize(), System.currentTimeMillis() - started);
+        } else {
+            index = index.withDocuments(event.getChangedRecipeIds().stream()
+                .map(snapshot.getRecipesById()::get)
+                .filter(Objects::nonNull)
+                .map(this::toDocument)
+                .toList());
+        }
+    }
+    
+    public InvertedIndex.SearchResult search(String query, int offset, int limit) {
+        return index.search(TextAnalyzer.analyze(query), offset, limit);
+    }
+    
+    private InvertedIndex.Document toDocument(RecipeView recipe) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, recipe.getName(), NAME_WEIGHT);
+        addField(weights, recipe.getDescription(), DESCRIPTION_WEIGHT);
+        addField(weights, recipe.getCountry().getName(), COUNTRY_WEIGHT);
+        for (RecipeIngredientView ri : recipe.getIngredients()) {
+            addField(weights, ri.getIngredient().getName(), INGREDIENT_WEIGHT);
+        }
+        for (CategoryView category : recipe.getCategories()) {
+            addField(weights, category.getName(), CATEGORY_WEIGHT);
+        }
+        return new InvertedIndex.Document(recipe.getId(), weights);
+    }
+    
+    private void addField(Map<String, Float> weights, String text, float weight) {
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (String term : terms) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.synchef.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by indexing and querying: folds case and accents, splits on anything that is not
+ * a letter or digit, drops stop words and applies a light English suffix stemmer.
+ */
+public final class TextAnalyzer {
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+        "of", "on", "or", "the", "to", "with", "style"
+    );
+    
+    private TextAnalyzer() {
+    }
+    
+    public static List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Lower-case and strip combining marks, so "Sauté" and "saute" meet in the same term
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                out.append(Character.toLowerCase(c));
+            }
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Strips plurals, -ing/-ed and a trailing e, and folds a trailing y to i, so "berries"/"berry",
+     * "braised"/"braise" and "baking"/"bake" share a stem. Short words are left alone.
+     */
+    static String stem(String token) {
+        String t = token;
+        int n = t.length();
+        if (n > 4 && t.endsWith("ies")) {
+            t = t.substring(0, n - 3) + "i";
+        } else if (n > 4 && (t.endsWith("ches") || t.endsWith("shes") || t.endsWith("sses")
+                || t.endsWith("xes") || t.endsWith("zes") || t.endsWith("oes"))) {
+            t = t.substring(0, n - 2);
+        } else if (n > 3 && t.endsWith("s") && !t.endsWith("ss") && !t.endsWith("us")) {
+            t = t.substring(0, n - 1);
+        }
+        
+        n = t.length();
+        if (n > 5 && t.endsWith("ing")) {
+            t = undouble(t.substring(0, n - 3));
+        } else if (n > 4 && t.endsWith("ed")) {
+            t = t.endsWith("eed") ? t.substring(0, n - 2) : undouble(t.substring(0, n - 2));
+        }
+        
+        n = t.length();
+        if (n > 3 && t.endsWith("e")) {
+            t = t.substring(0, n - 1);
+        } else if (n > 3 && t.endsWith("y")) {
+            t = t.substring(0, n - 1) + "i";
+        }
+        return t;
+    }
+    
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n > 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+}
@@ -1,7 +1,9 @@
 package com.synchef.service;
 
+import com.synchef.catalog.RecipeCatalog;
 import com.synchef.model.Ingredient;
 import com.synchef.repository.IngredientRepository;
+import com.synchef.search.AutocompleteIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.ChatClient;
@@ -22,12 +24,17 @@ public class AIAssistantService {
     
     private final ChatClient chatClient;
     private final IngredientRepository ingredientRepository;
+    private final AutocompleteIndex autocompleteIndex;
+    private final RecipeCatalog catalog;
     
     /**
      * AI-powered ingredient substitution with cultural awareness
      */
     public List<String> suggestSubstitutions(String ingredientName, String userRegion, List<String> allergies) {
-        Ingredient ingredient = ingredientRepository.findByName(ingredientName).orElse(null);
+        Ingredient ingredient = ingredientRepository.findByName(ingredientName)
+            .or(() -> autocompleteIndex.resolveIngredient(ingredientName, catalog.snapshot())
+                .flatMap(match -> ingredientRepository.findById(match.getId())))
+            .orElse(null);
         
         String prompt = buildSubstitutionPrompt(ingredientName, ingredient, userRegion, allergies);
         
@@ -1,11 +1,14 @@
 package com.synchef.service;
 
 import com.synchef.dto.AuthResponse;
+import com.synchef.dto.KitchenProfileRequest;
 import com.synchef.dto.LoginRequest;
 import com.synchef.dto.RegisterRequest;
 import com.synchef.model.User;
 import com.synchef.repository.UserRepository;
+import com.synchef.scheduling.KitchenProfile;
 import com.synchef.security.JwtTokenProvider;
+import com.synchef.units.UnitSystem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -119,6 +122,58 @@ public class AuthService {
         return buildAuthResponse(user);
     }
     
+    /**
+     * Preferred unit system of the user behind an "Authorization: Bearer" header; null when anonymous
+     */
+    public UnitSystem preferredUnitSystem(String authorizationHeader) {
+        return currentUser(authorizationHeader)
+            .map(user -> UnitSystem.parse(user.getPreferredUnitSystem()))
+            .orElse(null);
+    }
+    
+    /**
+     * Kitchen of the user behind an "Authorization: Bearer" header; the default kitchen when anonymous
+     * or not set
+     */
+    public KitchenProfile kitchenProfile(String authorizationHeader) {
+        return currentUser(authorizationHeader)
+            .map(user -> KitchenProfile.DEFAULT.with(user.getKitchenBurners(), user.getKitchenOvens(),
+                user.getKitchenCooks()))
+            .orElse(KitchenProfile.DEFAULT);
+    }
+    
+    /**
+     * Save the kitchen of the user behind an "Authorization: Bearer" header; empty when anonymous
+     *
+     * @throws IllegalArgumentException when the kitchen is out of range
+     */
+    public Optional<KitchenProfile> updateKitchenProfile(String authorizationHeader, KitchenProfileRequest request) {
+        Optional<User> userOpt = currentUser(authorizationHeader);
+        if (userOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        KitchenProfile kitchen = KitchenProfile.DEFAULT.with(request.getBurners(), request.getOvens(),
+            request.getCooks());
+        User user = userOpt.get();
+        user.setKitchenBurners(request.getBurners());
+        user.setKitchenOvens(request.getOvens());
+        user.setKitchenCooks(request.getCooks());
+        userRepository.save(user);
+        log.info("Kitchen updated for user {}: {}", user.getEmail(), kitchen);
+        return Optional.of(kitchen);
+    }
+    
+    private Optional<User> currentUser(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        Long userId = tokenProvider.getUserIdFromToken(authorizationHeader.substring(7));
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return userRepository.findById(userId);
+    }
+    
     /**
      * Build AuthResponse from User entity
      */
@@ -0,0 +1,117 @@
+package com.synchef.service;
+
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.catalog.RecipeView;
+import com.synchef.dto.CookingBundleDTO;
+import com.synchef.dto.ScaledRecipeDTO;
+import com.synchef.dto.TimerOrchestrationDTO;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.units.UnitSystem;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the cooking-mode bundle: AI tips (optional, the slow part) run in the background while the
+ * scaled recipe and its timer schedule are taken from their caches or computed, so the response takes
+ * about as long as the tips. The tips task is joined or cancelled before a bundle is returned or fails.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CookingBundleService {
+    
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    
+    private final RecipeCatalog catalog;
+    private final RecipeScalingService scalingService;
+    private final TimerOrchestrationService timerOrchestrationService;
+    private final AIAssistantService aiService;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS, daemonThreads());
+    
+    @Value("${app.cookingBundle.tipsTimeoutMs:2500}")
+    private long tipsTimeoutMs;
+    
+    /**
+     * Bundle for one recipe; servings default to the recipe's own. Tips are only generated when a
+     * skill level is given and are dropped if not ready within the configured time box. Timers are
+     * planned for the given kitchen.
+     */
+    public CookingBundleDTO bundle(Long recipeId, Integer servings, UnitSystem unitSystem, KitchenProfile kitchen,
+                                   String skillLevel, List<String> dietaryRestrictions) {
+        long started = System.nanoTime();
+        RecipeView view = catalog.snapshot().getRecipesById().get(recipeId);
+        if (view == null) {
+            throw new RuntimeException("Recipe not found with id: " + recipeId);
+        }
+        int requestedServings = servings != null ? servings : view.getDefaultServings();
+        if (requestedServings <= 0 || requestedServings > MealPlanService.MAX_SERVINGS) {
+            throw new IllegalArgumentException("servings must be between 1 and " + MealPlanService.MAX_SERVINGS);
+        }
+        
+        // Tips are the slowest part and only need the name, so they start first
+        Future<String> tips = skillLevel == null || skillLevel.isBlank() ? null
+            : executor.submit(() -> aiService.generatePersonalizedTips(view.getName(), skillLevel,
+                dietaryRestrictions != null ? dietaryRestrictions : List.of()));
+        try {
+            // Both come from caches once a (recipe, servings) pair has been cooked; timers reuse the scaled steps
+            ScaledRecipeDTO scaled = scalingService.scaleRecipe(recipeId, requestedServings, unitSystem);
+            TimerOrchestrationDTO timers =
+                timerOrchestrationService.orchestrateTimers(recipeId, requestedServings, unitSystem, kitchen);
+            
+            CookingBundleDTO bundle = new CookingBundleDTO(view, scaled, timers, null, false);
+            if (tips != null) {
+                long remaining = tipsTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                try {
+                    bundle.setPersonalizedTips(tips.get(Math.max(0, remaining), TimeUnit.MILLISECONDS));
+                } catch (TimeoutException e) {
+                    log.debug("Personalized tips for recipe {} not ready within {} ms", recipeId, tipsTimeoutMs);
+                    bundle.setTipsTimedOut(true);
+                } catch (ExecutionException e) {
+                    // Tips are optional; the rest of the bundle is still useful
+                    log.warn("Personalized tips failed for recipe {}", recipeId, e.getCause());
+                }
+            }
+            return bundle;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the cooking bundle", e);
+        } finally {
+            // No-op when finished; stops the AI call when it timed out or the rest of the bundle failed
+            cancel(tips);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private static void cancel(Future<?> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+    
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "cooking-bundle-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.synchef.service;
+
+import com.synchef.dto.TimerPlanUpdateDTO;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.scheduling.LivePlan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live timer plans of the cooking sessions in progress, keyed by the client's session id. Each timer
+ * event re-plans only the steps downstream of it (see {@link LivePlan}); sessions without events for
+ * a while are dropped by a periodic sweep, and treated as gone if an event arrives before it runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CookingSessionService {
+    
+    static final int MAX_SESSIONS = 10_000;
+    
+    private final TimerOrchestrationService timerOrchestrationService;
+    
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    
+    @Value("${app.cookingSession.idleMinutes:240}")
+    private long idleMinutes;
+    
+    /**
+     * Start (or restart) a session cooking the recipe; its clock starts now
+     *
+     * @throws IllegalArgumentException on invalid servings or when too many sessions are open
+     */
+    public TimerPlanUpdateDTO open(String sessionId, Long recipeId, Integer servings, KitchenProfile kitchen) {
+        if (sessionId == null || sessionId.isBlank() || recipeId == null) {
+            throw new IllegalArgumentException("A cooking session needs a sessionId and a recipeId");
+        }
+        dropIdle();
+        if (sessions.size() >= MAX_SESSIONS && !sessions.containsKey(sessionId)) {
+            throw new IllegalArgumentException("Too many cooking sessions in progress");
+        }
+        Session session = new Session(timerOrchestrationService.livePlan(recipeId, servings, kitchen));
+        sessions.put(sessionId, session);
+        log.info("Cooking session {} opened for recipe {}", sessionId, recipeId);
+        return update(sessionId, session, session.plan.timers());
+    }
+    
+    public Optional<TimerPlanUpdateDTO> started(String sessionId, Long stepId, Integer durationSeconds) {
+        return replan(sessionId, stepId, (plan, now) -> plan.started(stepId, now, durationSeconds));
+    }
+    
+    public Optional<TimerPlanUpdateDTO> paused(String sessionId, Long stepId) {
+        return replan(sessionId, stepId, (plan, now) -> plan.paused(stepId, now));
+    }
+    
+    public Optional<TimerPlanUpdateDTO> completed(String sessionId, Long stepId) {
+        Optional<TimerPlanUpdateDTO> update = replan(sessionId, stepId, (plan, now) -> plan.completed(stepId, now));
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null && session.plan.isFinished()) {
+            sessions.remove(sessionId);
+            log.info("Cooking session {} finished", sessionId);
+        }
+        return update;
+    }
+    
+    /**
+     * Correct a running or paused timer to what the client shows as left
+     */
+    public Optional<TimerPlanUpdateDTO> remaining(String sessionId, Long stepId, Integer remainingSeconds) {
+        if (remainingSeconds == null) {
+            return Optional.empty();
+        }
+        return replan(sessionId, stepId, (plan, now) -> plan.remaining(stepId, now, remainingSeconds));
+    }
+    
+    private Optional<TimerPlanUpdateDTO> replan(String sessionId, Long stepId, Event event) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null && session.idleSince(idleCutoff())) {
+            sessions.remove(sessionId, session);
+            session = null;
+        }
+        if (session == null || stepId == null) {
+            return Optional.empty();
+        }
+        session.lastEventNanos = System.nanoTime();
+        List<LivePlan.Change> changes = event.apply(session.plan, session.elapsedSeconds());
+        return changes.isEmpty() ? Optional.empty() : Optional.of(update(sessionId, session, changes));
+    }
+    
+    private TimerPlanUpdateDTO update(String sessionId, Session session, List<LivePlan.Change> changes) {
+        List<TimerPlanUpdateDTO.Timer> timers = changes.stream()
+            .map(change -> new TimerPlanUpdateDTO.Timer(change.stepId(), change.startAtSecond(),
+                change.finishAtSecond(), change.state().name()))
+            .toList();
+        return new TimerPlanUpdateDTO(sessionId, session.elapsedSeconds(), session.plan.projectedFinish(), timers);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.cookingSession.sweepMillis:60000}")
+    void dropIdle() {
+        long cutoff = idleCutoff();
+        if (sessions.values().removeIf(session -> session.idleSince(cutoff))) {
+            log.info("Dropped idle cooking sessions; {} in progress", sessions.size());
+        }
+    }
+    
+    private long idleCutoff() {
+        return System.nanoTime() - TimeUnit.MINUTES.toNanos(idleMinutes);
+    }
+    
+    @FunctionalInterface
+    private interface Event {
+        List<LivePlan.Change> apply(LivePlan plan, int now);
+    }
+    
+    private static final class Session {
+        private final LivePlan plan;
+        private final long openedNanos = System.nanoTime();
+        private volatile long lastEventNanos = openedNanos;
+        
+        Session(LivePlan plan) {
+            this.plan = plan;
+        }
+        
+        int elapsedSeconds() {
+            return (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - openedNanos);
+        }
+        
+        boolean idleSince(long cutoffNanos) {
+            return lastEventNanos - cutoffNanos < 0;
+        }
+    }
+}
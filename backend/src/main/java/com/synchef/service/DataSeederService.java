@@ -114,12 +114,15 @@ public class DataSeederService {
         List<Ingredient> ingredients = Arrays.asList(
             createIngredient("Calamansi", "Small citrus fruit", philippines, true, "Fruits",
                            Arrays.asList("Lemon + Lime", "Key Lime")),
-            createIngredient("Soy Sauce", "Fermented soybean condiment", null, false, "Condiments",
+            withNutrition(createIngredient("Soy Sauce", "Fermented soybean condiment", null, false, "Condiments",
                            Arrays.asList("Tamari", "Coconut Aminos")),
-            createIngredient("Garlic", "Aromatic bulb vegetable", null, false, "Vegetables",
+                          1.2, null, new NutrientProfile(53.0, 8.1, 0.6, 4.9, 0.8, 0.4, 5493.0)),
+            withNutrition(createIngredient("Garlic", "Aromatic bulb vegetable", null, false, "Vegetables",
                            Arrays.asList("Garlic Powder", "Shallots")),
-            createIngredient("Sitaw", "Long green beans", philippines, true, "Vegetables",
+                          null, 3.0, new NutrientProfile(149.0, 6.4, 0.5, 33.1, 2.1, 1.0, 17.0)),
+            withNutrition(createIngredient("Sitaw", "Long green beans", philippines, true, "Vegetables",
                            Arrays.asList("Green Beans", "Yard-long Beans")),
+                          null, null, new NutrientProfile(47.0, 2.8, 0.4, 8.4, 3.6, 1.4, 4.0)),
             createIngredient("Pasta", "Italian wheat noodles", italy, false, "Grains",
                            Arrays.asList("Gluten-free Pasta", "Zucchini Noodles")),
             createIngredient("Tomato", "Red fruit vegetable", null, false, "Vegetables",
@@ -144,6 +147,14 @@ public class DataSeederService {
         return ingredient;
     }
     
+    private Ingredient withNutrition(Ingredient ingredient, Double gramsPerMl, Double gramsPerPiece,
+                                     NutrientProfile per100g) {
+        ingredient.setDensityGramsPerMl(gramsPerMl);
+        ingredient.setGramsPerPiece(gramsPerPiece);
+        ingredient.setNutrients(per100g);
+        return ingredient;
+    }
+    
     private void seedRecipes() {
         seedAdobongSitaw();
         log.info("Seeded sample recipes");
@@ -184,10 +195,10 @@ public class DataSeederService {
         // Steps
         List<Step> steps = new ArrayList<>();
         steps.add(createStep(recipe, 1, "Heat oil in a large pan over medium heat.", false, null, null, false, null));
-        steps.add(createStep(recipe, 2, "Sauté garlic until golden brown.", true, 120, "Sauté garlic", false, null));
-        steps.add(createStep(recipe, 3, "Add sitaw and stir fry for 2 minutes.", true, 120, "Stir fry sitaw", true, 1));
-        steps.add(createStep(recipe, 4, "Pour in soy sauce, vinegar, and water. Bring to boil.", false, null, null, false, null));
-        steps.add(createStep(recipe, 5, "Simmer covered until beans are tender.", true, 600, "Simmer beans", false, null));
+        steps.add(withResources(createStep(recipe, 2, "Sauté {{qty:3}} garlic until golden brown.", true, 120, "Sauté garlic", false, null), 1, true));
+        steps.add(withResources(createStep(recipe, 3, "Add sitaw and stir fry for 2 minutes.", true, 120, "Stir fry sitaw", true, 1), 1, true));
+        steps.add(createStep(recipe, 4, "Pour in {{qty:2}} soy sauce, vinegar, and water. Bring to boil.", false, null, null, false, null));
+        steps.add(withResources(createStep(recipe, 5, "Simmer covered until beans are tender.", true, 600, "Simmer beans", false, null), 1, false));
         
         recipe.setSteps(steps);
         
@@ -222,4 +233,10 @@ public class DataSeederService {
         step.setScalesWithServings(false);
         return step;
     }
+    
+    private Step withResources(Step step, int burners, boolean handsOn) {
+        step.setBurners(burners);
+        step.setHandsOn(handsOn);
+        return step;
+    }
 }
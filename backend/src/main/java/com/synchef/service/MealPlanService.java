@@ -0,0 +1,158 @@
+package com.synchef.service;
+
+import com.synchef.catalog.IngredientView;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.dto.MealPlanDTO;
+import com.synchef.dto.MealPlanRequestDTO;
+import com.synchef.dto.ScaledIngredientDTO;
+import com.synchef.dto.ScaledRecipeDTO;
+import com.synchef.dto.ShoppingListItemDTO;
+import com.synchef.nutrition.NutrientTable;
+import com.synchef.units.Dimension;
+import com.synchef.units.Unit;
+import com.synchef.units.UnitRegistry;
+import com.synchef.units.UnitSystem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for scaling a whole meal plan at once and consolidating its shopping list
+ */
+@Service
+@RequiredArgsConstructor
+public class MealPlanService {
+    
+    public static final int MAX_ITEMS = 50;
+    public static final int MAX_SERVINGS = 500;
+    
+    private final RecipeScalingService scalingService;
+    private final RecipeCatalog catalog;
+    private final NutrientTable nutrientTable;
+    
+    /**
+     * Scale every item and build the shopping list, converting measurements to the given unit system
+     * (null keeps recipes as written and totals mixed units in metric)
+     */
+    public MealPlanDTO scaleMealPlan(MealPlanRequestDTO request, UnitSystem unitSystem) {
+        List<ScaledRecipeDTO> recipes = scalingService.scaleAll(validItems(request), unitSystem);
+        List<ScaledIngredientDTO> lines = recipes.stream()
+            .flatMap(recipe -> recipe.getScaledIngredients().stream())
+            .toList();
+        return new MealPlanDTO(recipes, shoppingList(recipes, unitSystem != null ? unitSystem : UnitSystem.METRIC),
+            nutrientTable.total(lines));
+    }
+    
+    /**
+     * The request's items, checked for size, recipe ids and servings
+     *
+     * @throws IllegalArgumentException when any is missing or out of range
+     */
+    public static List<MealPlanRequestDTO.Item> validItems(MealPlanRequestDTO request) {
+        List<MealPlanRequestDTO.Item> items = request.getItems() != null ? request.getItems() : List.of();
+        if (items.isEmpty() || items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("A meal plan needs between 1 and " + MAX_ITEMS + " recipes");
+        }
+        for (MealPlanRequestDTO.Item item : items) {
+            if (item.getRecipeId() == null || item.getServings() == null
+                || item.getServings() <= 0 || item.getServings() > MAX_SERVINGS) {
+                throw new IllegalArgumentException(
+                    "Every item needs a recipeId and servings between 1 and " + MAX_SERVINGS);
+            }
+        }
+        return items;
+    }
+    
+    /**
+     * Merge identical ingredients across recipes. Lines in one unit are summed as is; lines in
+     * different units of the same dimension are summed in ml or g and shown in the system's unit.
+     * Volumes of ingredients with a known density merge with their weights; unknown units stay separate.
+     */
+    private List<ShoppingListItemDTO> shoppingList(List<ScaledRecipeDTO> recipes, UnitSystem unitSystem) {
+        Map<Long, IngredientView> ingredients = catalog.snapshot().getIngredientsById();
+        Map<String, Line> lines = new LinkedHashMap<>();
+        for (ScaledRecipeDTO recipe : recipes) {
+            for (ScaledIngredientDTO ingredient : recipe.getScaledIngredients()) {
+                IngredientView view = ingredients.get(ingredient.getIngredientId());
+                Double density = view != null ? view.getDensityGramsPerMl() : null;
+                Unit unit = UnitRegistry.parse(ingredient.getUnit()).unit();
+                String unitKey = unit != null ? unit.symbol() : normalizeUnknown(ingredient.getUnit());
+                Dimension dimension = unit == null ? null
+                    : unit.dimension() == Dimension.VOLUME && density != null ? Dimension.MASS : unit.dimension();
+                lines.computeIfAbsent(ingredient.getIngredientId() + "|" + (dimension != null ? dimension : unitKey),
+                        key -> new Line(ingredient.getIngredientId(), ingredient.getIngredientName(), dimension))
+                    .add(ingredient, unit, unitKey, density, recipe.getRecipeId());
+            }
+        }
+        return lines.values().stream()
+            .map(line -> line.toItem(unitSystem))
+            // Seeded and imported lines may have no unit (or, in principle, no name)
+            .sorted(Comparator.comparing(ShoppingListItemDTO::getIngredientName,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(ShoppingListItemDTO::getUnit, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .toList();
+    }
+    
+    private static String normalizeUnknown(String unit) {
+        return unit == null ? "" : unit.trim().toLowerCase(Locale.ROOT).replace(".", "");
+    }
+    
+    /**
+     * Running total for one ingredient in one dimension
+     */
+    private static final class Line {
+        private final Long ingredientId;
+        private final String ingredientName;
+        private final Dimension dimension;
+        private final Set<Long> recipeIds = new LinkedHashSet<>();
+        private final Set<String> units = new LinkedHashSet<>();
+        private BigDecimal sameUnitTotal = BigDecimal.ZERO;
+        private BigDecimal baseTotal = BigDecimal.ZERO;
+        private String firstUnit;
+        private boolean optional = true;
+        
+        Line(Long ingredientId, String ingredientName, Dimension dimension) {
+            this.ingredientId = ingredientId;
+            this.ingredientName = ingredientName;
+            this.dimension = dimension;
+        }
+        
+        void add(ScaledIngredientDTO ingredient, Unit unit, String unitKey, Double density, Long recipeId) {
+            if (firstUnit == null) {
+                firstUnit = ingredient.getUnit();
+            }
+            units.add(unitKey);
+            sameUnitTotal = sameUnitTotal.add(ingredient.getScaledQuantity());
+            if (unit != null) {
+                BigDecimal base = ingredient.getScaledQuantity().multiply(BigDecimal.valueOf(unit.baseSize()));
+                if (unit.dimension() != dimension) {
+                    base = base.multiply(BigDecimal.valueOf(density));
+                }
+                baseTotal = baseTotal.add(base);
+            }
+            optional &= Boolean.TRUE.equals(ingredient.getIsOptional());
+            recipeIds.add(recipeId);
+        }
+        
+        ShoppingListItemDTO toItem(UnitSystem unitSystem) {
+            BigDecimal quantity = sameUnitTotal.setScale(2, RoundingMode.HALF_UP);
+            String unit = firstUnit;
+            if (units.size() > 1 && dimension != null) {
+                Unit target = UnitRegistry.preferred(dimension, unitSystem, baseTotal.doubleValue());
+                quantity = baseTotal.divide(BigDecimal.valueOf(target.baseSize()), 2, RoundingMode.HALF_UP);
+                unit = target.symbol();
+            }
+            return new ShoppingListItemDTO(ingredientId, ingredientName, quantity, unit, optional,
+                List.copyOf(recipeIds));
+        }
+    }
+}
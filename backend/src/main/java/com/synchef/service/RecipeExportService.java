@@ -0,0 +1,103 @@
+package com.synchef.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.catalog.RecipeView;
+import com.synchef.model.Recipe;
+import com.synchef.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the full recipe catalog as NDJSON (one recipe per line) from a database cursor over ids,
+ * loading the recipes a chunk at a time, so memory stays flat regardless of catalog size
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeExportService {
+    
+    // Recipes loaded and written per chunk, between persistence context clears
+    static final int CLEAR_INTERVAL = 100;
+    
+    private final RecipeRepository recipeRepository;
+    private final RecipeCatalog catalog;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Write every recipe to {@code out}; the stream is flushed but not closed
+     */
+    public long exportNdjson(OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // Flushing is batched below instead of after every record
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long started = System.currentTimeMillis();
+        
+        Long written = transaction.execute(status -> {
+            // Country, category and ingredient views are shared with the catalog instead of re-read per recipe
+            CatalogSnapshot snapshot = catalog.snapshot();
+            long count = 0;
+            try (Stream<Long> ids = recipeRepository.streamAllIdsOrderedById();
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null); // Lines are terminated explicitly
+                Iterator<Long> cursor = ids.iterator();
+                List<Long> chunk = new ArrayList<>(CLEAR_INTERVAL);
+                while (cursor.hasNext()) {
+                    chunk.add(cursor.next());
+                    if (chunk.size() == CLEAR_INTERVAL || !cursor.hasNext()) {
+                        count += writeChunk(chunk, snapshot, writer, json);
+                        chunk.clear();
+                        json.flush();
+                        entityManager.clear();
+                    }
+                }
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        
+        log.info("Exported {} recipes in {} ms", written, System.currentTimeMillis() - started);
+        return written != null ? written : 0L;
+    }
+    
+    /**
+     * One join query for the chunk's ingredient lines and one for its steps fill the same entities;
+     * categories then load through batch fetching, so nothing is loaded one recipe at a time
+     */
+    private int writeChunk(List<Long> ids, CatalogSnapshot snapshot, ObjectWriter writer, JsonGenerator json)
+            throws IOException {
+        List<Recipe> recipes = new ArrayList<>(recipeRepository.findWithIngredientsByIdIn(ids));
+        recipeRepository.findWithStepsByIdIn(ids);
+        recipes.sort(Comparator.comparing(Recipe::getId));
+        for (Recipe recipe : recipes) {
+            RecipeView view = RecipeView.from(recipe, snapshot.getCountriesById(), snapshot.getCategoriesById(),
+                snapshot.getIngredientsById());
+            writer.writeValue(json, view);
+            json.writeRaw('\n');
+        }
+        return recipes.size();
+    }
+}
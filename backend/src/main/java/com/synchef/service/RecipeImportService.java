@@ -0,0 +1,427 @@
+package com.synchef.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.CountryView;
+import com.synchef.catalog.IngredientView;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.dto.RecipeImportDTO;
+import com.synchef.dto.RecipeImportResultDTO;
+import com.synchef.model.OrderIndexListConverter;
+import com.synchef.scheduling.StepGraph;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk recipe import from NDJSON. Lines are parsed and resolved one at a time against the in-memory
+ * catalog, then written with JDBC batch inserts, one bounded transaction per batch.
+ *
+ * A bad line (malformed JSON, unknown reference, missing field) is reported and skipped. If a batch
+ * is rejected by the database, its recipes are retried one by one so only the offending ones fail.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeImportService {
+    
+    // Recipes per transaction and JDBC batch
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private static final String INSERT_RECIPE = "INSERT INTO recipes (name, description, country_id, "
+        + "prep_time_minutes, cook_time_minutes, total_time_minutes, default_servings, difficulty_level, "
+        + "image_url, cultural_context, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY =
+        "INSERT INTO recipe_categories (recipe_id, category_id) VALUES (?, ?)";
+    private static final String INSERT_INGREDIENT = "INSERT INTO recipe_ingredients (recipe_id, ingredient_id, "
+        + "quantity, unit, order_index, preparation, is_optional, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_STEP = "INSERT INTO steps (recipe_id, order_index, instruction, has_timer, "
+        + "timer_seconds, timer_label, is_parallel, parallel_group, image_url, tips, temperature, "
+        + "scales_with_servings, depends_on, burners, uses_oven, hands_on) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final int[] CATEGORY_TYPES = {Types.BIGINT, Types.BIGINT};
+    private static final int[] INGREDIENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.DECIMAL, Types.VARCHAR,
+        Types.INTEGER, Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR};
+    private static final int[] STEP_TYPES = {Types.BIGINT, Types.INTEGER, Types.VARCHAR, Types.BOOLEAN,
+        Types.INTEGER, Types.VARCHAR, Types.BOOLEAN, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.BOOLEAN, Types.VARCHAR, Types.INTEGER, Types.BOOLEAN, Types.BOOLEAN};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final RecipeCatalog catalog;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Import every line of {@code in}; the catalog is reloaded once at the end if anything was written
+     */
+    public RecipeImportResultDTO importNdjson(InputStream in) throws IOException {
+        long started = System.currentTimeMillis();
+        ObjectReader reader = objectMapper.readerFor(RecipeImportDTO.class);
+        Lookup lookup = new Lookup(catalog.snapshot());
+        Progress progress = new Progress();
+        List<PendingRecipe> batch = new ArrayList<>(BATCH_SIZE);
+        
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.received++;
+                try {
+                    add(batch, resolve(lineNumber, reader.readValue(line), lookup), progress);
+                } catch (JsonProcessingException e) {
+                    progress.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    progress.fail(lineNumber, e.getMessage());
+                }
+            }
+        }
+        return finish(batch, progress, started);
+    }
+    
+    /**
+     * Import recipes that are already objects (e.g. generated ones) through the same batched path;
+     * errors report the 1-based position in {@code recipes} as the line
+     */
+    public RecipeImportResultDTO importRecipes(Iterator<RecipeImportDTO> recipes) {
+        long started = System.currentTimeMillis();
+        Lookup lookup = new Lookup(catalog.snapshot());
+        Progress progress = new Progress();
+        List<PendingRecipe> batch = new ArrayList<>(BATCH_SIZE);
+        
+        long position = 0;
+        while (recipes.hasNext()) {
+            position++;
+            progress.received++;
+            try {
+                add(batch, resolve(position, recipes.next(), lookup), progress);
+            } catch (IllegalArgumentException e) {
+                progress.fail(position, e.getMessage());
+            }
+        }
+        return finish(batch, progress, started);
+    }
+    
+    private void add(List<PendingRecipe> batch, PendingRecipe recipe, Progress progress) {
+        batch.add(recipe);
+        if (batch.size() == BATCH_SIZE) {
+            flush(batch, progress);
+            batch.clear();
+        }
+    }
+    
+    private RecipeImportResultDTO finish(List<PendingRecipe> batch, Progress progress, long started) {
+        flush(batch, progress);
+        if (progress.imported > 0) {
+            catalog.reload();
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Imported {} of {} recipes ({} failed) in {} ms",
+                 progress.imported, progress.received, progress.failed, elapsed);
+        return new RecipeImportResultDTO(progress.received, progress.imported, progress.failed, elapsed,
+            progress.errors);
+    }
+    
+    private void flush(List<PendingRecipe> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+            progress.imported += batch.size();
+        } catch (DataAccessException batchFailure) {
+            log.warn("Import batch of {} rejected, retrying recipes individually: {}",
+                     batch.size(), NestedExceptionUtils.getMostSpecificCause(batchFailure).getMessage());
+            for (PendingRecipe recipe : batch) {
+                try {
+                    insert(List.of(recipe));
+                    progress.imported++;
+                } catch (DataAccessException e) {
+                    progress.fail(recipe.line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Insert recipes and their child rows in one transaction: recipes first to learn their ids,
+     * then one JDBC batch per child table
+     */
+    private void insert(List<PendingRecipe> batch) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long[] ids = insertRecipes(batch);
+            
+            List<Object[]> categories = new ArrayList<>();
+            List<Object[]> ingredients = new ArrayList<>();
+            List<Object[]> steps = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRecipe pending = batch.get(i);
+                RecipeImportDTO recipe = pending.recipe();
+                for (Long categoryId : pending.categoryIds()) {
+                    categories.add(new Object[]{ids[i], categoryId});
+                }
+                for (int j = 0; j < recipe.getIngredients().size(); j++) {
+                    RecipeImportDTO.IngredientLine line = recipe.getIngredients().get(j);
+                    ingredients.add(new Object[]{ids[i], pending.ingredientIds().get(j),
+                        line.getQuantity().setScale(2, RoundingMode.HALF_UP), line.getUnit(), j + 1,
+                        line.getPreparation(), Boolean.TRUE.equals(line.getIsOptional()), line.getNotes()});
+                }
+                for (int j = 0; j < recipe.getSteps().size(); j++) {
+                    RecipeImportDTO.StepLine step = recipe.getSteps().get(j);
+                    String instruction = step.getInstructionTemplate() != null
+                        ? step.getInstructionTemplate() : step.getInstruction();
+                    steps.add(new Object[]{ids[i], j + 1, instruction,
+                        Boolean.TRUE.equals(step.getHasTimer()), step.getTimerSeconds(), step.getTimerLabel(),
+                        Boolean.TRUE.equals(step.getIsParallel()), step.getParallelGroup(), step.getImageUrl(),
+                        step.getTips(), step.getTemperature(), Boolean.TRUE.equals(step.getScalesWithServings()),
+                        OrderIndexListConverter.format(step.getDependsOn()),
+                        step.getBurners() != null ? step.getBurners() : 0, Boolean.TRUE.equals(step.getUsesOven()),
+                        Boolean.TRUE.equals(step.getHandsOn())});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories, CATEGORY_TYPES);
+            jdbcTemplate.batchUpdate(INSERT_INGREDIENT, ingredients, INGREDIENT_TYPES);
+            jdbcTemplate.batchUpdate(INSERT_STEP, steps, STEP_TYPES);
+        });
+    }
+    
+    private long[] insertRecipes(List<PendingRecipe> batch) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_RECIPE, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingRecipe pending = batch.get(i);
+                    RecipeImportDTO recipe = pending.recipe();
+                    ps.setString(1, recipe.getName());
+                    ps.setString(2, recipe.getDescription());
+                    ps.setLong(3, pending.countryId());
+                    ps.setInt(4, recipe.getPrepTimeMinutes());
+                    ps.setInt(5, recipe.getCookTimeMinutes());
+                    ps.setInt(6, recipe.getTotalTimeMinutes());
+                    ps.setInt(7, recipe.getDefaultServings());
+                    ps.setString(8, recipe.getDifficultyLevel());
+                    ps.setString(9, recipe.getImageUrl());
+                    ps.setString(10, recipe.getCulturalContext());
+                    ps.setTimestamp(11, now);
+                    ps.setTimestamp(12, now);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }, keys);
+        
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != batch.size()) {
+            throw new IllegalStateException("Expected " + batch.size() + " generated ids, got " + generated.size());
+        }
+        long[] ids = new long[batch.size()];
+        for (int i = 0; i < ids.length; i++) {
+            // Only the id column was requested, whatever case the driver reports it in
+            ids[i] = ((Number) generated.get(i).values().iterator().next()).longValue();
+        }
+        return ids;
+    }
+    
+    /**
+     * Validate a parsed line and resolve its references, normalizing defaults in place
+     */
+    private PendingRecipe resolve(long line, RecipeImportDTO recipe, Lookup lookup) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Expected a recipe object");
+        }
+        if (recipe.getName() == null || recipe.getName().isBlank()) {
+            throw new IllegalArgumentException("Recipe name is required");
+        }
+        if (recipe.getName().length() > 200) {
+            throw new IllegalArgumentException("Recipe name is longer than 200 characters");
+        }
+        if (recipe.getPrepTimeMinutes() == null || recipe.getCookTimeMinutes() == null) {
+            throw new IllegalArgumentException("prepTimeMinutes and cookTimeMinutes are required");
+        }
+        if (recipe.getTotalTimeMinutes() == null) {
+            recipe.setTotalTimeMinutes(recipe.getPrepTimeMinutes() + recipe.getCookTimeMinutes());
+        }
+        if (recipe.getDefaultServings() == null || recipe.getDefaultServings() <= 0) {
+            throw new IllegalArgumentException("defaultServings must be a positive number");
+        }
+        if (recipe.getDifficultyLevel() != null) {
+            recipe.setDifficultyLevel(recipe.getDifficultyLevel().toUpperCase(Locale.ROOT));
+        }
+        
+        RecipeImportDTO.Reference countryRef = recipe.getCountry() != null
+            ? recipe.getCountry()
+            : new RecipeImportDTO.Reference();
+        if (recipe.getCountryCode() != null) {
+            countryRef.setCode(recipe.getCountryCode());
+        }
+        Long countryId = lookup.country(countryRef);
+        
+        List<Long> categoryIds = new ArrayList<>();
+        for (RecipeImportDTO.Reference category : listOrEmpty(recipe.getCategories())) {
+            Long categoryId = lookup.category(category);
+            if (!categoryIds.contains(categoryId)) {
+                categoryIds.add(categoryId);
+            }
+        }
+        
+        recipe.setIngredients(listOrEmpty(recipe.getIngredients()));
+        List<Long> ingredientIds = new ArrayList<>(recipe.getIngredients().size());
+        for (RecipeImportDTO.IngredientLine ingredient : recipe.getIngredients()) {
+            if (ingredient.getQuantity() == null || ingredient.getUnit() == null || ingredient.getUnit().isBlank()) {
+                throw new IllegalArgumentException("Every ingredient needs a quantity and a unit");
+            }
+            ingredientIds.add(lookup.ingredient(ingredient.getIngredient()));
+        }
+        
+        recipe.setSteps(listOrEmpty(recipe.getSteps()));
+        List<StepGraph.Node> graph = new ArrayList<>(recipe.getSteps().size());
+        for (RecipeImportDTO.StepLine step : recipe.getSteps()) {
+            String instruction = step.getInstructionTemplate() != null
+                ? step.getInstructionTemplate() : step.getInstruction();
+            if (instruction == null || instruction.isBlank()) {
+                throw new IllegalArgumentException("Every step needs an instruction");
+            }
+            boolean timed = Boolean.TRUE.equals(step.getHasTimer());
+            if (timed && (step.getTimerSeconds() == null || step.getTimerSeconds() <= 0)) {
+                throw new IllegalArgumentException("Timed step without a positive timerSeconds");
+            }
+            if (step.getBurners() != null && step.getBurners() < 0) {
+                throw new IllegalArgumentException("A step cannot use a negative number of burners");
+            }
+            graph.add(new StepGraph.Node(graph.size() + 1, timed ? step.getTimerSeconds() : 0,
+                Boolean.TRUE.equals(step.getIsParallel()), step.getParallelGroup(), listOrEmpty(step.getDependsOn()),
+                step.getBurners() != null ? step.getBurners() : 0, Boolean.TRUE.equals(step.getUsesOven()),
+                Boolean.TRUE.equals(step.getHandsOn())));
+        }
+        // Rejects unknown steps and cycles in dependsOn
+        StepGraph.of(graph).schedule();
+        return new PendingRecipe(line, recipe, countryId, categoryIds, ingredientIds);
+    }
+    
+    private static <T> List<T> listOrEmpty(List<T> values) {
+        return values != null ? values : new ArrayList<>();
+    }
+    
+    private record PendingRecipe(long line, RecipeImportDTO recipe, long countryId, List<Long> categoryIds,
+                                 List<Long> ingredientIds) {
+    }
+    
+    /**
+     * Reference resolution against one catalog snapshot: by id, then code (countries), then name
+     */
+    private static final class Lookup {
+        private final CatalogSnapshot snapshot;
+        private final Map<String, Long> categoriesByName = new HashMap<>();
+        private final Map<String, Long> ingredientsByName = new HashMap<>();
+        
+        Lookup(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+            for (CategoryView category : snapshot.getCategories()) {
+                categoriesByName.putIfAbsent(key(category.getName()), category.getId());
+            }
+            for (IngredientView ingredient : snapshot.getIngredients()) {
+                ingredientsByName.putIfAbsent(key(ingredient.getName()), ingredient.getId());
+            }
+        }
+        
+        Long country(RecipeImportDTO.Reference ref) {
+            if (ref.getId() != null && snapshot.getCountriesById().containsKey(ref.getId())) {
+                return ref.getId();
+            }
+            if (ref.getCode() != null) {
+                CountryView country = snapshot.getCountriesByCode().get(ref.getCode().toUpperCase(Locale.ROOT));
+                if (country != null) {
+                    return country.getId();
+                }
+            }
+            throw new IllegalArgumentException("Unknown country: " + describe(ref));
+        }
+        
+        Long category(RecipeImportDTO.Reference ref) {
+            if (ref.getId() != null && snapshot.getCategoriesById().containsKey(ref.getId())) {
+                return ref.getId();
+            }
+            Long id = ref.getName() != null ? categoriesByName.get(key(ref.getName())) : null;
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown category: " + describe(ref));
+            }
+            return id;
+        }
+        
+        Long ingredient(RecipeImportDTO.Reference ref) {
+            if (ref == null) {
+                throw new IllegalArgumentException("Ingredient line without an ingredient");
+            }
+            if (ref.getId() != null && snapshot.getIngredientsById().containsKey(ref.getId())) {
+                return ref.getId();
+            }
+            Long id = ref.getName() != null ? ingredientsByName.get(key(ref.getName())) : null;
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown ingredient: " + describe(ref));
+            }
+            return id;
+        }
+        
+        private static String key(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+        
+        private static String describe(RecipeImportDTO.Reference ref) {
+            if (ref.getName() != null) {
+                return ref.getName();
+            }
+            return ref.getCode() != null ? ref.getCode() : String.valueOf(ref.getId());
+        }
+    }
+    
+    private static final class Progress {
+        long received;
+        long imported;
+        long failed;
+        final List<RecipeImportResultDTO.LineError> errors = new ArrayList<>();
+        
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RecipeImportResultDTO.LineError(line, message));
+            }
+        }
+    }
+}
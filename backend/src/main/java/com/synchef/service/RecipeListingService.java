@@ -0,0 +1,213 @@
+package com.synchef.service;
+
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.CountryView;
+import com.synchef.catalog.OrderedRecipes;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.catalog.RecipeView;
+import com.synchef.dto.FacetCountDTO;
+import com.synchef.dto.RecipeFacetPageDTO;
+import com.synchef.dto.RecipePageDTO;
+import com.synchef.dto.RecipeSearchHitDTO;
+import com.synchef.dto.RecipeSearchPageDTO;
+import com.synchef.dto.RecipeSummaryDTO;
+import com.synchef.search.FacetIndex;
+import com.synchef.search.InvertedIndex;
+import com.synchef.search.RecipeFacetIndex;
+import com.synchef.search.RecipeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Service for keyset-paginated recipe listings of slim summaries.
+ * Pages are binary-search seeks into the catalog's pre-sorted lists, so cost stays flat
+ * no matter how deep the client pages.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecipeListingService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_DEPTH = 1000; // Ranked results beyond this are not paged
+    
+    private final RecipeCatalog catalog;
+    private final RecipeSearchIndex searchIndex;
+    private final RecipeFacetIndex facetIndex;
+    
+    public RecipePageDTO listAll(String sort, Long afterId, String afterName, Integer size) {
+        return page(catalog.snapshot().getRecipes(), sort, afterId, afterName, size);
+    }
+    
+    public RecipePageDTO listByCountry(Long countryId, String sort, Long afterId, String afterName, Integer size) {
+        return page(catalog.snapshot().recipesByCountryId(countryId), sort, afterId, afterName, size);
+    }
+    
+    public RecipePageDTO listByCountryCode(String countryCode, String sort, Long afterId, String afterName, Integer size) {
+        return page(catalog.snapshot().recipesByCountryCode(countryCode), sort, afterId, afterName, size);
+    }
+    
+    public RecipePageDTO listByCategory(Long categoryId, String sort, Long afterId, String afterName, Integer size) {
+        return page(catalog.snapshot().recipesByCategoryId(categoryId), sort, afterId, afterName, size);
+    }
+    
+    public RecipePageDTO listByDifficulty(String level, String sort, Long afterId, String afterName, Integer size) {
+        return page(catalog.snapshot().recipesByDifficulty(level), sort, afterId, afterName, size);
+    }
+    
+    public RecipePageDTO searchByName(String keyword, String sort, Long afterId, String afterName, Integer size) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        int pageSize = clampPageSize(size);
+        boolean byName = "name".equalsIgnoreCase(sort);
+        List<RecipeView> rows = catalog.snapshot().getRecipes().scan(byName, nameCursor(afterName),
+            idCursor(afterId), pageSize + 1, r -> r.getName().toLowerCase(Locale.ROOT).contains(needle));
+        return toPage(rows, pageSize, byName);
+    }
+    
+    /**
+     * Relevance-ranked full-text search over the in-memory index, paged by offset
+     */
+    public RecipeSearchPageDTO searchRanked(String query, Integer page, Integer size) {
+        int pageSize = clampPageSize(size);
+        int pageNumber = page != null && page > 0 ? page : 0;
+        int offset = (int) Math.min((long) pageNumber * pageSize, MAX_SEARCH_DEPTH);
+        int limit = Math.min(pageSize, MAX_SEARCH_DEPTH - offset);
+        
+        InvertedIndex.SearchResult result = searchIndex.search(query, offset, limit);
+        Map<Long, RecipeView> recipes = catalog.snapshot().getRecipesById();
+        List<RecipeSearchHitDTO> hits = result.hits().stream()
+            .filter(hit -> recipes.containsKey(hit.key()))
+            .map(hit -> new RecipeSearchHitDTO(recipes.get(hit.key()).toSummary(), (double) hit.score()))
+            .toList();
+        
+        return new RecipeSearchPageDTO(query, pageNumber, hits.size(), result.totalHits(), hits);
+    }
+    
+    /**
+     * Combined filter over country, category, difficulty, time and ingredients, paged by offset in id
+     * order, with per-value counts for the country, category and difficulty facets
+     */
+    public RecipeFacetPageDTO facetSearch(List<Long> countryIds, List<String> countryCodes, List<Long> categoryIds,
+                                          List<String> difficulties, Integer maxTotalTime,
+                                          List<Long> includeIngredientIds, List<Long> excludeIngredientIds,
+                                          Integer page, Integer size) {
+        CatalogSnapshot snapshot = catalog.snapshot();
+        Set<Long> countries = new HashSet<>(orEmpty(countryIds));
+        for (String code : orEmpty(countryCodes)) {
+            CountryView country = snapshot.getCountriesByCode().get(code.toUpperCase(Locale.ROOT));
+            // An unknown code still constrains the facet, so it matches nothing rather than everything
+            countries.add(country != null ? country.getId() : -1L);
+        }
+        Set<String> levels = new HashSet<>();
+        for (String level : orEmpty(difficulties)) {
+            levels.add(level.toUpperCase(Locale.ROOT));
+        }
+        FacetIndex.Query query = new FacetIndex.Query(countries, Set.copyOf(orEmpty(categoryIds)), levels,
+            maxTotalTime, Set.copyOf(orEmpty(includeIngredientIds)), Set.copyOf(orEmpty(excludeIngredientIds)));
+        
+        int pageSize = clampPageSize(size);
+        int pageNumber = page != null && page > 0 ? page : 0;
+        // Facet listings are not depth-limited; past the last match the page is just empty
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        FacetIndex.Result result = facetIndex.query(query, offset, pageSize);
+        
+        Map<Long, RecipeView> recipes = snapshot.getRecipesById();
+        List<RecipeSummaryDTO> items = Arrays.stream(result.recipeIds())
+            .mapToObj(recipes::get)
+            .filter(Objects::nonNull)
+            .map(RecipeView::toSummary)
+            .toList();
+        
+        Map<String, List<FacetCountDTO>> facets = new LinkedHashMap<>();
+        facets.put("country", facetCounts(result.countryCounts(), id -> {
+            CountryView country = snapshot.getCountriesById().get(id);
+            return country != null ? country.getName() : String.valueOf(id);
+        }));
+        facets.put("category", facetCounts(result.categoryCounts(), id -> {
+            CategoryView category = snapshot.getCategoriesById().get(id);
+            return category != null ? category.getName() : String.valueOf(id);
+        }));
+        facets.put("difficulty", facetCounts(result.difficultyCounts(), Function.identity()));
+        
+        return new RecipeFacetPageDTO(pageNumber, items.size(), result.totalHits(), items, facets);
+    }
+    
+    /**
+     * Unpaged name search returning full recipe views (legacy search endpoint)
+     */
+    public List<RecipeView> searchAllByName(String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return catalog.snapshot().getRecipes().byId().stream()
+            .filter(r -> r.getName().toLowerCase(Locale.ROOT).contains(needle))
+            .toList();
+    }
+    
+    private RecipePageDTO page(OrderedRecipes recipes, String sort, Long afterId, String afterName, Integer size) {
+        int pageSize = clampPageSize(size);
+        boolean byName = "name".equalsIgnoreCase(sort);
+        
+        // Take one extra row to learn whether another page exists without counting
+        List<RecipeView> rows = byName
+            ? recipes.seekByName(nameCursor(afterName), idCursor(afterId), pageSize + 1)
+            : recipes.seekById(idCursor(afterId), pageSize + 1);
+        return toPage(rows, pageSize, byName);
+    }
+    
+    private RecipePageDTO toPage(List<RecipeView> rows, int pageSize, boolean byName) {
+        boolean hasMore = rows.size() > pageSize;
+        List<RecipeSummaryDTO> items = rows.stream()
+            .limit(pageSize)
+            .map(RecipeView::toSummary)
+            .toList();
+        
+        RecipePageDTO page = new RecipePageDTO();
+        page.setItems(items);
+        page.setSize(items.size());
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            RecipeSummaryDTO last = items.get(items.size() - 1);
+            page.setNextAfterId(last.getId());
+            page.setNextAfterName(byName ? last.getName() : null);
+        }
+        return page;
+    }
+    
+    private <K> List<FacetCountDTO> facetCounts(Map<K, Integer> counts, Function<K, String> label) {
+        List<FacetCountDTO> values = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> values.add(new FacetCountDTO(String.valueOf(value), label.apply(value), count)));
+        values.sort(Comparator.comparing(FacetCountDTO::getCount).reversed().thenComparing(FacetCountDTO::getLabel));
+        return values;
+    }
+    
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values != null ? values : List.of();
+    }
+    
+    private long idCursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+    
+    private String nameCursor(String afterName) {
+        return afterName != null ? afterName : "";
+    }
+    
+    private int clampPageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -1,20 +1,37 @@
 package com.synchef.service;
 
+import com.synchef.cache.CacheStats;
+import com.synchef.cache.FrequencyAwareCache;
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.dto.MealPlanRequestDTO;
 import com.synchef.dto.ScaledIngredientDTO;
 import com.synchef.dto.ScaledRecipeDTO;
 import com.synchef.dto.ScaledStepDTO;
 import com.synchef.model.Recipe;
 import com.synchef.model.RecipeIngredient;
 import com.synchef.model.Step;
+import com.synchef.nutrition.NutrientTable;
 import com.synchef.repository.RecipeRepository;
+import com.synchef.template.StepTemplate;
+import com.synchef.units.Quantity;
+import com.synchef.units.Unit;
+import com.synchef.units.UnitRegistry;
+import com.synchef.units.UnitSystem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,34 +42,123 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RecipeScalingService {
     
+    // Distinct (recipe, servings) pairs actually requested are few; this holds the hot ones
+    static final int SCALE_CACHE_CAPACITY = 2048;
+    
     private final RecipeRepository recipeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final NutrientTable nutrientTable;
+    
+    private final FrequencyAwareCache<ScaleKey, ScaledRecipeDTO> scaleCache =
+        new FrequencyAwareCache<>("scaled-recipes", SCALE_CACHE_CAPACITY);
     
-    @Transactional(readOnly = true)
     public ScaledRecipeDTO scaleRecipe(Long recipeId, Integer requestedServings) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-            .orElseThrow(() -> new RuntimeException("Recipe not found with id: " + recipeId));
+        return scaleRecipe(recipeId, requestedServings, null);
+    }
+    
+    /**
+     * Scaled copy of a recipe, with measurements converted to the given unit system (null keeps them as
+     * written). Results are cached per (recipe, servings, system) and shared between callers, so they
+     * must be treated as read-only. Only misses open a transaction.
+     */
+    public ScaledRecipeDTO scaleRecipe(Long recipeId, Integer requestedServings, UnitSystem unitSystem) {
+        return scaleCache.get(new ScaleKey(recipeId, requestedServings, unitSystem), key -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            return transaction.execute(status -> computeScaledRecipe(key));
+        });
+    }
+    
+    /**
+     * Same as {@link #scaleRecipe(Long, Integer, UnitSystem)} for a recipe the caller already loaded with its
+     * ingredients and steps; may run outside a transaction
+     */
+    public ScaledRecipeDTO scaleRecipe(Recipe recipe, Integer requestedServings, UnitSystem unitSystem) {
+        return scaleCache.get(new ScaleKey(recipe.getId(), requestedServings, unitSystem),
+            key -> scale(recipe, key.servings(), key.unitSystem()));
+    }
+    
+    @EventListener
+    @Order(CatalogRefreshedEvent.ORDER_SCALED_RECIPES)
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (event.isFullReload()) {
+            scaleCache.invalidateAll();
+        } else {
+            scaleCache.invalidateIf(key -> event.getChangedRecipeIds().contains(key.recipeId()));
+        }
+    }
+    
+    public CacheStats cacheStats() {
+        return scaleCache.stats();
+    }
+    
+    /**
+     * Scale several recipes at once, in request order. Cache misses are loaded with one query and
+     * scaled in parallel; duplicate (recipe, servings) pairs are computed once.
+     */
+    public List<ScaledRecipeDTO> scaleAll(List<MealPlanRequestDTO.Item> items, UnitSystem unitSystem) {
+        List<ScaleKey> keys = items.stream()
+            .map(item -> new ScaleKey(item.getRecipeId(), item.getServings(), unitSystem))
+            .toList();
+        Map<ScaleKey, ScaledRecipeDTO> scaled = scaleCache.getAll(keys, this::computeScaledRecipes);
+        return keys.stream().map(scaled::get).toList();
+    }
+    
+    private Map<ScaleKey, ScaledRecipeDTO> computeScaledRecipes(Set<ScaleKey> keys) {
+        Set<Long> recipeIds = keys.stream().map(ScaleKey::recipeId).collect(Collectors.toSet());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Map<Long, Recipe> recipes = transaction.execute(status -> {
+            Map<Long, Recipe> byId = new HashMap<>();
+            for (Recipe recipe : recipeRepository.findWithIngredientsByIdIn(recipeIds)) {
+                // Initialize steps here (batch fetched) so scaling can run on other threads after the transaction
+                Hibernate.initialize(recipe.getSteps());
+                byId.put(recipe.getId(), recipe);
+            }
+            return byId;
+        });
+        for (Long recipeId : recipeIds) {
+            if (!recipes.containsKey(recipeId)) {
+                throw new RuntimeException("Recipe not found with id: " + recipeId);
+            }
+        }
         
+        return keys.parallelStream()
+            .collect(Collectors.toConcurrentMap(key -> key,
+                key -> scale(recipes.get(key.recipeId()), key.servings(), key.unitSystem())));
+    }
+    
+    private ScaledRecipeDTO computeScaledRecipe(ScaleKey key) {
+        // Ingredient lines come with the recipe; steps follow in a single batched select
+        Recipe recipe = recipeRepository.findWithIngredientsById(key.recipeId())
+            .orElseThrow(() -> new RuntimeException("Recipe not found with id: " + key.recipeId()));
+        return scale(recipe, key.servings(), key.unitSystem());
+    }
+    
+    private ScaledRecipeDTO scale(Recipe recipe, Integer requestedServings, UnitSystem unitSystem) {
         Integer originalServings = recipe.getDefaultServings();
         double scalingFactor = (double) requestedServings / originalServings;
         
-        log.info("Scaling recipe '{}' from {} to {} servings (factor: {})", 
+        log.debug("Scaling recipe '{}' from {} to {} servings (factor: {})", 
                  recipe.getName(), originalServings, requestedServings, scalingFactor);
         
         // Scale ingredients
+        Quantity.Factor factor = Quantity.Factor.of(scalingFactor);
         List<ScaledIngredientDTO> scaledIngredients = recipe.getIngredients().stream()
-            .map(ri -> scaleIngredient(ri, scalingFactor))
+            .map(ri -> scaleIngredient(ri, factor, unitSystem))
             .collect(Collectors.toList());
         
         // Scale steps (timing)
+        StepTemplate.Amounts amounts = stepAmounts(recipe, scaledIngredients);
         List<ScaledStepDTO> scaledSteps = recipe.getSteps().stream()
-            .map(step -> scaleStep(step, scalingFactor))
+            .map(step -> scaleStep(step, scalingFactor, amounts))
             .collect(Collectors.toList());
         
         // Adjust total time (cooking time scales differently than prep time)
         Integer adjustedTotalTime = calculateAdjustedTime(recipe, scalingFactor);
         
         ScaledRecipeDTO result = new ScaledRecipeDTO();
-        result.setRecipeId(recipeId);
+        result.setRecipeId(recipe.getId());
         result.setRecipeName(recipe.getName());
         result.setOriginalServings(originalServings);
         result.setRequestedServings(requestedServings);
@@ -60,24 +166,47 @@ public class RecipeScalingService {
         result.setScaledIngredients(scaledIngredients);
         result.setScaledSteps(scaledSteps);
         result.setAdjustedTotalTime(adjustedTotalTime);
+        result.setNutrition(nutrientTable.total(scaledIngredients));
         
         return result;
     }
     
-    private ScaledIngredientDTO scaleIngredient(RecipeIngredient ri, double scalingFactor) {
+    private ScaledIngredientDTO scaleIngredient(RecipeIngredient ri, Quantity.Factor factor, UnitSystem unitSystem) {
         BigDecimal originalQty = ri.getQuantity();
-        BigDecimal scaledQty = originalQty.multiply(BigDecimal.valueOf(scalingFactor))
-                                          .setScale(2, RoundingMode.HALF_UP);
-        
+        UnitRegistry.Parsed unit = UnitRegistry.parse(ri.getUnit());
+        long hundredths = Quantity.hundredths(originalQty);
+        long scaled = hundredths == Quantity.NOT_EXACT ? Quantity.NOT_EXACT : factor.apply(hundredths);
         // Smart rounding for common measurements
-        scaledQty = smartRound(scaledQty, ri.getUnit());
+        if (scaled != Quantity.NOT_EXACT && unit.quarterRounded()) {
+            scaled = Quantity.roundToQuarter(scaled);
+        }
+        
+        BigDecimal scaledQty;
+        if (scaled != Quantity.NOT_EXACT) {
+            scaledQty = Quantity.toBigDecimal(scaled);
+        } else {
+            scaledQty = smartRound(factor.applyExactly(originalQty), unit);
+        }
+        String scaledUnit = ri.getUnit();
+        
+        // Measurements from the other system are converted; spoons and unknown units stay as written
+        Unit from = unit.unit();
+        if (unitSystem != null && from != null && from.system() != null && from.system() != unitSystem) {
+            double amount = scaledQty.doubleValue();
+            Unit to = UnitRegistry.preferred(from.dimension(), unitSystem, amount * from.baseSize());
+            long converted = Math.round(UnitRegistry.convert(amount, from, to, null) * 100);
+            long rounded = to.isQuarterRounded() ? Quantity.roundToQuarter(converted) : converted;
+            scaledQty = Quantity.toBigDecimal(rounded != Quantity.NOT_EXACT ? rounded : converted);
+            scaledUnit = to.symbol();
+        }
         
         ScaledIngredientDTO dto = new ScaledIngredientDTO();
         dto.setIngredientId(ri.getIngredient().getId());
         dto.setIngredientName(ri.getIngredient().getName());
         dto.setOriginalQuantity(originalQty);
         dto.setScaledQuantity(scaledQty);
-        dto.setUnit(ri.getUnit());
+        dto.setUnit(scaledUnit);
+        dto.setOriginalUnit(ri.getUnit());
         dto.setPreparation(ri.getPreparation());
         dto.setIsOptional(ri.getIsOptional());
         dto.setNotes(ri.getNotes());
@@ -85,19 +214,42 @@ public class RecipeScalingService {
         return dto;
     }
     
-    private ScaledStepDTO scaleStep(Step step, double scalingFactor) {
-        Integer scaledTimer = step.getTimerSeconds();
-        
-        // Only scale timing if marked as scalable
-        if (step.getScalesWithServings() != null && step.getScalesWithServings() && scaledTimer != null) {
-            // Time doesn't scale linearly - use logarithmic scaling
-            scaledTimer = (int) (scaledTimer * Math.pow(scalingFactor, 0.3));
+    /**
+     * Scaled amounts for instruction placeholders, or null when no step has any
+     */
+    private StepTemplate.Amounts stepAmounts(Recipe recipe, List<ScaledIngredientDTO> scaledIngredients) {
+        if (recipe.getSteps().stream().allMatch(step -> step.getTemplate().isStatic())) {
+            return null;
         }
+        StepTemplate.Amounts amounts = new StepTemplate.Amounts();
+        List<RecipeIngredient> lines = recipe.getIngredients();
+        for (int i = 0; i < lines.size(); i++) {
+            ScaledIngredientDTO scaled = scaledIngredients.get(i);
+            amounts.put(lines.get(i).getOrderIndex(), scaled.getScaledQuantity(), scaled.getUnit(),
+                scaled.getIngredientName());
+        }
+        return amounts;
+    }
+    
+    /**
+     * Timer of a step cooked for {@code scalingFactor} times the recipe's servings
+     */
+    public static Integer scaledTimerSeconds(Step step, double scalingFactor) {
+        Integer timer = step.getTimerSeconds();
+        // Only scale timing if marked as scalable; time doesn't scale linearly - use logarithmic scaling
+        if (step.getScalesWithServings() != null && step.getScalesWithServings() && timer != null) {
+            return (int) (timer * Math.pow(scalingFactor, 0.3));
+        }
+        return timer;
+    }
+    
+    private ScaledStepDTO scaleStep(Step step, double scalingFactor, StepTemplate.Amounts amounts) {
+        Integer scaledTimer = scaledTimerSeconds(step, scalingFactor);
         
         ScaledStepDTO dto = new ScaledStepDTO();
         dto.setStepId(step.getId());
         dto.setOrderIndex(step.getOrderIndex());
-        dto.setInstruction(step.getInstruction());
+        dto.setInstruction(amounts != null ? step.getTemplate().render(amounts) : step.getInstruction());
         dto.setHasTimer(step.getHasTimer());
         dto.setOriginalTimerSeconds(step.getTimerSeconds());
         dto.setScaledTimerSeconds(scaledTimer);
@@ -105,14 +257,17 @@ public class RecipeScalingService {
         dto.setIsParallel(step.getIsParallel());
         dto.setParallelGroup(step.getParallelGroup());
         dto.setTips(step.getTips());
+        dto.setDependsOn(step.getDependsOn());
         
         return dto;
     }
     
-    private BigDecimal smartRound(BigDecimal value, String unit) {
+    /**
+     * BigDecimal rounding for quantities outside the fixed-point range
+     */
+    private BigDecimal smartRound(BigDecimal value, UnitRegistry.Parsed unit) {
         // Round to common fractions for cooking measurements
-        if (unit.toLowerCase().contains("cup") || unit.toLowerCase().contains("tbsp") 
-            || unit.toLowerCase().contains("tsp")) {
+        if (unit.quarterRounded()) {
             // Round to nearest 1/4
             BigDecimal quarters = value.multiply(BigDecimal.valueOf(4));
             quarters = quarters.setScale(0, RoundingMode.HALF_UP);
@@ -129,4 +284,7 @@ public class RecipeScalingService {
         
         return prepAdjustment + cookAdjustment;
     }
+    
+    private record ScaleKey(Long recipeId, Integer servings, UnitSystem unitSystem) {
+    }
 }
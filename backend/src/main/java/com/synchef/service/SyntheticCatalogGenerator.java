@@ -0,0 +1,475 @@
+package com.synchef.service;
+
+import com.synchef.catalog.CatalogSnapshot;
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.RecipeCatalog;
+import com.synchef.dto.RecipeImportDTO;
+import com.synchef.dto.RecipeImportResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a large, deterministic synthetic catalog for scale testing. Disabled by
+ * default; the same seed and sizes always produce the same countries, ingredients and recipes.
+ * Recipes go through the bulk import path, so they are written in JDBC batches like an NDJSON import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticCatalogGenerator {
+    
+    private static final String CODE_PREFIX = "SY";
+    private static final int BATCH_SIZE = 1000;
+    private static final int PROGRESS_EVERY = 50_000;
+    
+    private static final String INSERT_COUNTRY = "INSERT INTO countries (name, code, continent, description, "
+        + "flag_emoji, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_INGREDIENT = "INSERT INTO ingredients (name, description, country_id, "
+        + "is_traditional, category, density_g_per_ml, grams_per_piece, energy_kcal, protein_g, fat_g, "
+        + "carbohydrate_g, fiber_g, sugar_g, sodium_mg) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBSTITUTE =
+        "INSERT INTO ingredient_substitutions (ingredient_id, substitute_name) VALUES (?, ?)";
+    private static final int[] SUBSTITUTE_TYPES = {Types.BIGINT, Types.VARCHAR};
+    
+    // Salts so countries, ingredients and recipes draw from independent streams of one seed
+    private static final long COUNTRY_STREAM = 0x436F756E74727931L;
+    private static final long INGREDIENT_STREAM = 0x496E677265646931L;
+    private static final long RECIPE_STREAM = 0x5265636970657331L;
+    
+    private static final String[] CONTINENTS = {"ASIA", "EUROPE", "AFRICA", "NORTH_AMERICA", "SOUTH_AMERICA",
+        "OCEANIA"};
+    private static final String[] DIFFICULTIES = {"EASY", "EASY", "EASY", "EASY", "EASY", "MEDIUM", "MEDIUM",
+        "MEDIUM", "HARD", "HARD"};
+    private static final int[] SERVINGS = {1, 2, 2, 3, 4, 4, 4, 4, 6, 6, 8, 12};
+    private static final String[] PREFIXES = {"Fresh", "Dried", "Smoked", "Roasted", "Pickled", "Wild", "Sweet",
+        "Black", "Red", "Green", "Golden", "Young", "Aged", "Mountain", "Coastal", "Village"};
+    private static final String[] STYLES = {"Braised", "Grilled", "Steamed", "Crispy", "Slow-Cooked", "Spiced",
+        "Stir-Fried", "Baked", "Festival", "Street", "Grandmother's", "Smoky", "Tangy", "Hearty"};
+    private static final String[] DISHES = {"Stew", "Curry", "Salad", "Soup", "Noodles", "Rice", "Skewers",
+        "Flatbread", "Dumplings", "Casserole", "Porridge", "Fritters", "Tart", "Pudding", "Wraps"};
+    private static final String[] PREP_VERBS = {"Chop", "Slice", "Dice", "Mince", "Rinse", "Peel", "Grate",
+        "Crush", "Measure out", "Toss"};
+    private static final String[] TIMED_VERBS = {"Simmer", "Boil", "Roast", "Bake", "Marinate", "Rest",
+        "Soak", "Steam", "Braise", "Chill"};
+    
+    private static final Kind[] KINDS = {
+        new Kind("Vegetables", new String[]{"Carrot", "Leek", "Cabbage", "Eggplant", "Squash", "Pepper", "Onion",
+            "Bean", "Okra", "Radish"}, new String[]{"g", "cup", "piece", "kg"}, 0.6, 120.0, 150,
+            new double[]{35, 1.5, 0.3, 7, 2.5, 3.5, 25}),
+        new Kind("Fruits", new String[]{"Mango", "Plum", "Lime", "Apple", "Fig", "Guava", "Berry", "Date"},
+            new String[]{"g", "piece", "cup"}, 0.65, 150.0, 120, new double[]{60, 0.8, 0.3, 15, 2.2, 11, 2}),
+        new Kind("Proteins", new String[]{"Chicken", "Pork", "Beef", "Lamb", "Tofu", "Shrimp", "Fish", "Egg"},
+            new String[]{"g", "kg", "lb", "piece"}, null, 180.0, 400, new double[]{190, 22, 11, 0.5, 0, 0, 70}),
+        new Kind("Grains", new String[]{"Rice", "Millet", "Barley", "Flour", "Oats", "Noodle", "Corn"},
+            new String[]{"g", "cup", "kg"}, 0.75, null, 200, new double[]{360, 10, 2, 75, 5, 1, 5}),
+        new Kind("Dairy", new String[]{"Milk", "Yogurt", "Cheese", "Cream", "Butter"},
+            new String[]{"ml", "cup", "g", "tbsp"}, 1.03, null, 150, new double[]{150, 6, 9, 6, 0, 5, 60}),
+        new Kind("Spices", new String[]{"Cumin", "Paprika", "Chili", "Pepper", "Turmeric", "Cinnamon", "Clove",
+            "Anise", "Coriander", "Cardamom"}, new String[]{"tsp", "tbsp", "g"}, 0.45, null, 2,
+            new double[]{320, 12, 12, 50, 30, 3, 60}),
+        new Kind("Herbs", new String[]{"Basil", "Mint", "Parsley", "Dill", "Thyme", "Lemongrass", "Bay Leaf"},
+            new String[]{"tbsp", "cup", "g", "piece"}, 0.2, 1.0, 10, new double[]{30, 3, 0.6, 5, 3, 0.5, 20}),
+        new Kind("Sauces", new String[]{"Soy Sauce", "Vinegar", "Fish Sauce", "Paste", "Stock", "Syrup"},
+            new String[]{"tbsp", "ml", "cup", "tsp"}, 1.1, null, 30, new double[]{60, 4, 0.5, 8, 0.5, 4, 4500}),
+        new Kind("Oils", new String[]{"Olive Oil", "Sesame Oil", "Coconut Oil", "Ghee", "Lard"},
+            new String[]{"tbsp", "ml", "tsp"}, 0.92, null, 15, new double[]{880, 0, 99, 0, 0, 0, 0})
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final RecipeCatalog catalog;
+    private final RecipeImportService importService;
+    
+    @Value("${app.synthetic.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+    
+    @Value("${app.synthetic.countries:200}")
+    private int countryCount;
+    
+    @Value("${app.synthetic.ingredients:50000}")
+    private int ingredientCount;
+    
+    @Value("${app.synthetic.recipes:500000}")
+    private int recipeCount;
+    
+    @Value("${app.synthetic.avgIngredients:12}")
+    private int avgIngredients;
+    
+    @Value("${app.synthetic.avgSteps:20}")
+    private int avgSteps;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM countries WHERE code LIKE ?", Integer.class, CODE_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            log.info("Synthetic catalog already generated. Skipping...");
+            return;
+        }
+        generate();
+    }
+    
+    /**
+     * Insert countries and ingredients, then stream the recipes through the bulk importer
+     */
+    public RecipeImportResultDTO generate() {
+        long started = System.currentTimeMillis();
+        log.info("Generating synthetic catalog (seed {}): {} countries, {} ingredients, {} recipes",
+                 seed, countryCount, ingredientCount, recipeCount);
+        
+        long[] countryIds = insertCountries();
+        long[] ingredientIds = insertIngredients(countryIds);
+        CatalogSnapshot snapshot = catalog.reload();
+        long[] categoryIds = snapshot.getCategories().stream().mapToLong(CategoryView::getId).toArray();
+        
+        RecipeImportResultDTO result = importService.importRecipes(
+            new Recipes(countryIds, ingredientIds, categoryIds));
+        log.info("Synthetic catalog generated in {} ms", System.currentTimeMillis() - started);
+        return result;
+    }
+    
+    private long[] insertCountries() {
+        List<Object[]> rows = new ArrayList<>(countryCount);
+        for (int i = 0; i < countryCount; i++) {
+            SplittableRandom random = random(COUNTRY_STREAM, i);
+            String continent = CONTINENTS[random.nextInt(CONTINENTS.length)];
+            // Uniform over the sphere's surface rather than clustered at the poles
+            double latitude = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+            double longitude = random.nextDouble(-180, 180);
+            rows.add(new Object[]{String.format("Synthetic Country %03d", i + 1),
+                String.format("%s%03d", CODE_PREFIX, i + 1), continent,
+                "Generated for scale testing", null, round(latitude, 4), round(longitude, 4)});
+        }
+        return insertReturningIds(INSERT_COUNTRY, rows);
+    }
+    
+    private long[] insertIngredients(long[] countryIds) {
+        List<Object[]> rows = new ArrayList<>(ingredientCount);
+        List<Object[]> substitutes = new ArrayList<>();
+        List<int[]> substituteIndexes = new ArrayList<>();
+        for (int i = 0; i < ingredientCount; i++) {
+            SplittableRandom random = random(INGREDIENT_STREAM, i);
+            Kind kind = kind(i);
+            double[] nutrients = new double[kind.nutrients().length];
+            for (int n = 0; n < nutrients.length; n++) {
+                nutrients[n] = round(kind.nutrients()[n] * logNormal(random, 1, 0.25), 1);
+            }
+            // About a third are traditional to a country, favouring the popular ones
+            boolean traditional = countryIds.length > 0 && random.nextInt(3) == 0;
+            Long countryId = traditional ? countryIds[zipf(random, countryIds.length)] : null;
+            Double density = kind.density() != null ? round(kind.density() * logNormal(random, 1, 0.1), 3) : null;
+            Double gramsPerPiece = kind.gramsPerPiece() != null
+                ? round(kind.gramsPerPiece() * logNormal(random, 1, 0.3), 1) : null;
+            rows.add(new Object[]{ingredientName(i), kind.category() + " (synthetic)", countryId, traditional,
+                kind.category(), density, gramsPerPiece, nutrients[0], nutrients[1], nutrients[2], nutrients[3],
+                nutrients[4], nutrients[5], nutrients[6]});
+            
+            int count = random.nextInt(4);
+            for (int s = 0; s < count; s++) {
+                // Substitutes come from the same kind, so they stay plausible
+                int other = random.nextInt(ingredientCount / KINDS.length + 1) * KINDS.length + i % KINDS.length;
+                if (other != i && other < ingredientCount) {
+                    substituteIndexes.add(new int[]{i, other});
+                }
+            }
+        }
+        long[] ids = insertReturningIds(INSERT_INGREDIENT, rows);
+        for (int[] pair : substituteIndexes) {
+            substitutes.add(new Object[]{ids[pair[0]], ingredientName(pair[1])});
+        }
+        for (int from = 0; from < substitutes.size(); from += BATCH_SIZE) {
+            List<Object[]> chunk = substitutes.subList(from, Math.min(from + BATCH_SIZE, substitutes.size()));
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> jdbcTemplate.batchUpdate(INSERT_SUBSTITUTE, chunk, SUBSTITUTE_TYPES));
+        }
+        log.info("Inserted {} synthetic ingredients and {} substitutes", ids.length, substitutes.size());
+        return ids;
+    }
+    
+    /**
+     * Batch insert rows in chunks, one transaction per chunk, and return the generated ids in row order
+     */
+    private long[] insertReturningIds(String sql, List<Object[]> rows) {
+        long[] ids = new long[rows.size()];
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            int offset = from;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Object[] row = chunk.get(i);
+                            for (int c = 0; c < row.length; c++) {
+                                ps.setObject(c + 1, row[c]);
+                            }
+                        }
+                        
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+                List<Map<String, Object>> generated = keys.getKeyList();
+                if (generated.size() != chunk.size()) {
+                    throw new IllegalStateException("Expected " + chunk.size() + " generated ids, got "
+                        + generated.size());
+                }
+                for (int i = 0; i < generated.size(); i++) {
+                    ids[offset + i] = ((Number) generated.get(i).values().iterator().next()).longValue();
+                }
+            });
+        }
+        return ids;
+    }
+    
+    /**
+     * Lazily generated recipes; each one depends only on the seed and its index
+     */
+    private final class Recipes implements Iterator<RecipeImportDTO> {
+        private final long[] countryIds;
+        private final long[] ingredientIds;
+        private final long[] categoryIds;
+        private int next;
+        
+        Recipes(long[] countryIds, long[] ingredientIds, long[] categoryIds) {
+            this.countryIds = countryIds;
+            this.ingredientIds = ingredientIds;
+            this.categoryIds = categoryIds;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next < recipeCount && countryIds.length > 0 && ingredientIds.length > 0;
+        }
+        
+        @Override
+        public RecipeImportDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = next++;
+            if (next % PROGRESS_EVERY == 0) {
+                log.info("Generated {} of {} synthetic recipes", next, recipeCount);
+            }
+            return recipe(index, random(RECIPE_STREAM, index));
+        }
+        
+        private RecipeImportDTO recipe(int index, SplittableRandom random) {
+            RecipeImportDTO recipe = new RecipeImportDTO();
+            recipe.setName(STYLES[random.nextInt(STYLES.length)] + " " + DISHES[random.nextInt(DISHES.length)]
+                + " " + (index + 1));
+            recipe.setDescription("Synthetic recipe generated for scale testing");
+            recipe.setCountry(reference(countryIds[zipf(random, countryIds.length)]));
+            if (categoryIds.length > 0) {
+                int categories = 1 + random.nextInt(2);
+                for (int c = 0; c < categories; c++) {
+                    recipe.getCategories().add(reference(categoryIds[random.nextInt(categoryIds.length)]));
+                }
+            }
+            recipe.setDefaultServings(SERVINGS[random.nextInt(SERVINGS.length)]);
+            recipe.setDifficultyLevel(DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+            
+            int[] picked = pickIngredients(random);
+            for (int ingredient : picked) {
+                recipe.getIngredients().add(ingredientLine(ingredient, random));
+            }
+            
+            int stepCount = count(random, avgSteps, 1);
+            int prepSeconds = 0;
+            int cookSeconds = 0;
+            int group = 0;
+            int groupLeft = 0;
+            int groupLongest = 0;
+            for (int s = 0; s < stepCount; s++) {
+                if (groupLeft == 0 && s + 1 < stepCount && random.nextInt(100) < 15) {
+                    // A few timed steps that run side by side, e.g. rice cooking while the sauce simmers
+                    group++;
+                    groupLeft = 2 + random.nextInt(2);
+                    groupLongest = 0;
+                }
+                boolean parallel = groupLeft > 0;
+                RecipeImportDTO.StepLine step = step(random, picked, parallel || random.nextInt(100) < 55);
+                if (parallel) {
+                    step.setIsParallel(true);
+                    step.setParallelGroup(group);
+                    groupLeft--;
+                    cookSeconds += Math.max(0, step.getTimerSeconds() - groupLongest);
+                    groupLongest = Math.max(groupLongest, step.getTimerSeconds());
+                } else if (Boolean.TRUE.equals(step.getHasTimer())) {
+                    cookSeconds += step.getTimerSeconds();
+                } else {
+                    prepSeconds += 90 + random.nextInt(240);
+                }
+                recipe.getSteps().add(step);
+            }
+            recipe.setPrepTimeMinutes(Math.max(1, prepSeconds / 60));
+            recipe.setCookTimeMinutes(cookSeconds / 60);
+            return recipe;
+        }
+        
+        /**
+         * Distinct ingredient indexes with a long tail: a few staples appear in most recipes
+         */
+        private int[] pickIngredients(SplittableRandom random) {
+            int count = Math.min(count(random, avgIngredients, 2), ingredientIds.length);
+            int[] picked = new int[count];
+            int found = 0;
+            while (found < count) {
+                int candidate = zipf(random, ingredientIds.length);
+                boolean duplicate = false;
+                for (int i = 0; i < found && !duplicate; i++) {
+                    duplicate = picked[i] == candidate;
+                }
+                if (!duplicate) {
+                    picked[found++] = candidate;
+                }
+            }
+            return picked;
+        }
+        
+        private RecipeImportDTO.IngredientLine ingredientLine(int ingredient, SplittableRandom random) {
+            Kind kind = kind(ingredient);
+            String unit = kind.units()[random.nextInt(kind.units().length)];
+            double grams = kind.typicalGrams() * logNormal(random, 1, 0.5);
+            double amount = switch (unit) {
+                case "kg" -> grams / 1000;
+                case "lb" -> grams / 453.6;
+                case "cup" -> grams / 240;
+                case "tbsp" -> grams / 15;
+                case "tsp" -> grams / 5;
+                case "piece" -> grams / (kind.gramsPerPiece() != null ? kind.gramsPerPiece() : 50);
+                default -> grams;
+            };
+            BigDecimal quantity = switch (unit) {
+                case "cup", "tbsp", "tsp", "piece" ->
+                    BigDecimal.valueOf(Math.max(1, Math.round(amount * 4)), 0).divide(BigDecimal.valueOf(4));
+                case "kg", "lb" -> BigDecimal.valueOf(Math.max(0.1, amount)).setScale(1, RoundingMode.HALF_UP);
+                default -> BigDecimal.valueOf(Math.max(1, Math.round(amount / 5) * 5));
+            };
+            RecipeImportDTO.IngredientLine line = new RecipeImportDTO.IngredientLine();
+            line.setIngredient(reference(ingredientIds[ingredient]));
+            line.setQuantity(quantity);
+            line.setUnit(unit);
+            line.setIsOptional(random.nextInt(10) == 0);
+            return line;
+        }
+        
+        private RecipeImportDTO.StepLine step(SplittableRandom random, int[] picked, boolean timed) {
+            RecipeImportDTO.StepLine step = new RecipeImportDTO.StepLine();
+            int line = random.nextInt(picked.length);
+            String ingredient = baseName(picked[line]).toLowerCase(Locale.ROOT);
+            if (random.nextInt(5) == 0) {
+                // Order indexes of imported ingredient lines start at 1
+                step.setInstructionTemplate("Add {{ingredient:" + (line + 1) + "}} and stir well.");
+            } else if (timed) {
+                step.setInstruction(TIMED_VERBS[random.nextInt(TIMED_VERBS.length)] + " the " + ingredient + ".");
+            } else {
+                step.setInstruction(PREP_VERBS[random.nextInt(PREP_VERBS.length)] + " the " + ingredient + ".");
+            }
+            step.setHasTimer(timed);
+            if (timed) {
+                // Median five minutes, with a long tail of multi-hour braises and marinades
+                int seconds = (int) Math.min(4 * 3600, Math.max(15, logNormal(random, 300, 1.0)));
+                step.setTimerSeconds(seconds - seconds % 5);
+                step.setTimerLabel(TIMED_VERBS[random.nextInt(TIMED_VERBS.length)]);
+                step.setScalesWithServings(random.nextInt(10) < 3);
+                if (random.nextInt(5) == 0) {
+                    step.setTemperature((150 + 10 * random.nextInt(11)) + "°C");
+                }
+            }
+            return step;
+        }
+    }
+    
+    private static RecipeImportDTO.Reference reference(long id) {
+        RecipeImportDTO.Reference reference = new RecipeImportDTO.Reference();
+        reference.setId(id);
+        return reference;
+    }
+    
+    private static Kind kind(int ingredient) {
+        return KINDS[ingredient % KINDS.length];
+    }
+    
+    private static String baseName(int ingredient) {
+        String[] bases = kind(ingredient).bases();
+        return bases[(ingredient / KINDS.length) % bases.length];
+    }
+    
+    /**
+     * Unique, readable ingredient name derived from the index alone
+     */
+    private static String ingredientName(int ingredient) {
+        int variant = ingredient / KINDS.length / kind(ingredient).bases().length;
+        return PREFIXES[variant % PREFIXES.length] + " " + baseName(ingredient) + " " + (ingredient + 1);
+    }
+    
+    /**
+     * Index in [0, n) with probability roughly proportional to 1 / (index + 1)
+     */
+    private static int zipf(SplittableRandom random, int n) {
+        return Math.min(n - 1, (int) Math.exp(random.nextDouble() * Math.log(n + 1)) - 1);
+    }
+    
+    /**
+     * Right-skewed count averaging about {@code mean}, never below {@code min}
+     */
+    private static int count(SplittableRandom random, int mean, int min) {
+        // A log-normal's mean is its median times exp(sigma^2 / 2)
+        return Math.max(min, (int) Math.round(logNormal(random, mean * Math.exp(-0.08), 0.4)));
+    }
+    
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+    
+    private static double round(double value, int places) {
+        return BigDecimal.valueOf(value).setScale(places, RoundingMode.HALF_UP).doubleValue();
+    }
+    
+    private SplittableRandom random(long stream, long index) {
+        // Murmur3 finalizer, so neighbouring indexes get unrelated streams
+        long z = seed ^ stream ^ (index * 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(z ^ (z >>> 33));
+    }
+    
+    /**
+     * Generation profile of one ingredient category; nutrients are per 100 g in NutrientProfile order
+     */
+    private record Kind(String category, String[] bases, String[] units, Double density, Double gramsPerPiece,
+                        double typicalGrams, double[] nutrients) {
+    }
+}
@@ -1,17 +1,33 @@
 package com.synchef.service;
 
+import com.synchef.cache.CacheStats;
+import com.synchef.cache.FrequencyAwareCache;
+import com.synchef.catalog.CatalogRefreshedEvent;
+import com.synchef.dto.MealPlanRequestDTO;
+import com.synchef.dto.ScaledRecipeDTO;
+import com.synchef.dto.ScaledStepDTO;
 import com.synchef.dto.TimerOrchestrationDTO;
 import com.synchef.dto.TimerSequenceDTO;
 import com.synchef.model.Recipe;
 import com.synchef.model.Step;
 import com.synchef.repository.RecipeRepository;
-import com.synchef.repository.StepRepository;
+import com.synchef.scheduling.CriticalPathScheduler;
+import com.synchef.scheduling.KitchenProfile;
+import com.synchef.scheduling.LivePlan;
+import com.synchef.scheduling.StepGraph;
+import com.synchef.template.StepTemplate;
+import com.synchef.units.UnitSystem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -22,15 +38,119 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TimerOrchestrationService {
     
+    // Distinct (recipe, servings, units, kitchen) combinations actually cooked are few
+    static final int SCHEDULE_CACHE_CAPACITY = 2048;
+    
     private final RecipeRepository recipeRepository;
-    private final StepRepository stepRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final RecipeScalingService scalingService;
+    
+    private final FrequencyAwareCache<ScheduleKey, TimerOrchestrationDTO> scheduleCache =
+        new FrequencyAwareCache<>("timer-schedules", SCHEDULE_CACHE_CAPACITY);
     
-    @Transactional(readOnly = true)
     public TimerOrchestrationDTO orchestrateTimers(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-            .orElseThrow(() -> new RuntimeException("Recipe not found with id: " + recipeId));
-        
-        List<Step> timerSteps = stepRepository.findTimerStepsByRecipeId(recipeId);
+        return orchestrateTimers(recipeId, KitchenProfile.DEFAULT);
+    }
+    
+    /**
+     * Timers planned so that no more steps run at once than the kitchen has burners, ovens and cooks for
+     */
+    public TimerOrchestrationDTO orchestrateTimers(Long recipeId, KitchenProfile kitchen) {
+        return orchestrateTimers(recipeId, null, null, kitchen);
+    }
+    
+    /**
+     * Timers for the recipe scaled to {@code servings} (null: as written), with the durations and
+     * instructions of its scaled copy in the given unit system. Schedules are cached per (recipe,
+     * servings, units, kitchen) and shared between callers, so they must be treated as read-only;
+     * saving a recipe drops its schedules. Only misses open a transaction.
+     */
+    public TimerOrchestrationDTO orchestrateTimers(Long recipeId, Integer servings, UnitSystem unitSystem,
+                                                   KitchenProfile kitchen) {
+        return scheduleCache.get(ScheduleKey.of(recipeId, servings, unitSystem, kitchen), key -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            return transaction.execute(status -> computeSchedule(key));
+        });
+    }
+    
+    /**
+     * Same as {@link #orchestrateTimers(Long, Integer, UnitSystem, KitchenProfile)} for a recipe the caller
+     * already loaded with its ingredients and steps; may run outside a transaction
+     */
+    public TimerOrchestrationDTO orchestrateTimers(Recipe recipe, Integer servings, UnitSystem unitSystem,
+                                                   KitchenProfile kitchen) {
+        return scheduleCache.get(ScheduleKey.of(recipe.getId(), servings, unitSystem, kitchen),
+            key -> schedule(recipe, key));
+    }
+    
+    public TimerOrchestrationDTO orchestrateTimers(Recipe recipe) {
+        return orchestrateTimers(recipe, KitchenProfile.DEFAULT);
+    }
+    
+    /**
+     * Orchestrate a recipe that is already loaded, as written and without caching; steps (and
+     * ingredients, for templated instructions) must be initialized when called outside a transaction
+     */
+    public TimerOrchestrationDTO orchestrateTimers(Recipe recipe, KitchenProfile kitchen) {
+        return orchestrate(recipe, () -> dish(recipe, 1.0), kitchen);
+    }
+    
+    @EventListener
+    @Order(CatalogRefreshedEvent.ORDER_TIMER_SCHEDULES)
+    public void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        // Recipes (and so their steps) only change through a save or a reload, both of which end up here
+        if (event.isFullReload()) {
+            scheduleCache.invalidateAll();
+        } else {
+            scheduleCache.invalidateIf(key -> event.getChangedRecipeIds().contains(key.recipeId()));
+        }
+    }
+    
+    public CacheStats cacheStats() {
+        return scheduleCache.stats();
+    }
+    
+    /**
+     * The recipe's schedule (as in {@link #orchestrateTimers(Long, Integer, UnitSystem, KitchenProfile)}) as a
+     * {@link LivePlan} that one cooking session updates as its timers actually run
+     */
+    public LivePlan livePlan(Long recipeId, Integer servings, KitchenProfile kitchen) {
+        ScheduleKey key = ScheduleKey.of(recipeId, servings, null, kitchen);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            Recipe recipe = load(key);
+            Dish dish = key.servings() == null ? dish(recipe, 1.0)
+                : dish(recipe, scalingService.scaleRecipe(recipe, key.servings(), null));
+            return LivePlan.of(dish.graph(), dish.graph().schedule(kitchen), kitchen,
+                dish.steps().stream().mapToLong(Step::getId).toArray());
+        });
+    }
+    
+    private TimerOrchestrationDTO computeSchedule(ScheduleKey key) {
+        return schedule(load(key), key);
+    }
+    
+    private Recipe load(ScheduleKey key) {
+        // Steps are joined into the recipe load; scaling also needs the ingredient lines
+        Optional<Recipe> recipe = key.servings() == null ? recipeRepository.findWithStepsById(key.recipeId())
+            : recipeRepository.findWithIngredientsById(key.recipeId());
+        return recipe.orElseThrow(() -> new RuntimeException("Recipe not found with id: " + key.recipeId()));
+    }
+    
+    private TimerOrchestrationDTO schedule(Recipe recipe, ScheduleKey key) {
+        if (key.servings() == null) {
+            return orchestrateTimers(recipe, key.kitchen());
+        }
+        return orchestrate(recipe, () -> dish(recipe,
+            scalingService.scaleRecipe(recipe, key.servings(), key.unitSystem())), key.kitchen());
+    }
+    
+    private TimerOrchestrationDTO orchestrate(Recipe recipe, Supplier<Dish> dishes, KitchenProfile kitchen) {
+        List<Step> timerSteps = recipe.getSteps().stream()
+            .filter(s -> Boolean.TRUE.equals(s.getHasTimer()))
+            .collect(Collectors.toList());
         
         if (timerSteps.isEmpty()) {
             log.info("No timer steps found for recipe: {}", recipe.getName());
@@ -39,98 +159,193 @@ public class TimerOrchestrationService {
         
         log.info("Orchestrating {} timer steps for recipe: {}", timerSteps.size(), recipe.getName());
         
-        // Group steps by parallel capability
-        Map<Integer, List<Step>> parallelGroups = timerSteps.stream()
-            .filter(s -> s.getIsParallel() != null && s.getIsParallel())
-            .collect(Collectors.groupingBy(s -> s.getParallelGroup() != null ? s.getParallelGroup() : 0));
-        
-        // Calculate optimal start times
-        List<TimerSequenceDTO> sequence = calculateOptimalSequence(timerSteps, parallelGroups);
-        
-        Integer totalTime = calculateTotalCookingTime(sequence);
+        // All steps take part: an untimed step can still be what a timer has to wait for
+        Dish dish = dishes.get();
+        CriticalPathScheduler.Schedule schedule = dish.graph().schedule(kitchen);
         
         TimerOrchestrationDTO orchestration = new TimerOrchestrationDTO();
-        orchestration.setRecipeId(recipeId);
+        orchestration.setRecipeId(recipe.getId());
         orchestration.setRecipeName(recipe.getName());
-        orchestration.setTimerSequence(sequence);
-        orchestration.setTotalCookingTime(totalTime);
-        orchestration.setOrchestrationStrategy(parallelGroups.isEmpty() ? "SEQUENTIAL" : "PARALLEL");
+        orchestration.setRecipeIds(List.of(recipe.getId()));
+        orchestration.setTimerSequence(calculateOptimalSequence(List.of(dish), schedule));
+        orchestration.setTotalCookingTime(schedule.makespan());
+        orchestration.setOrchestrationStrategy(dish.graph().hasResourceDemands() ? "RESOURCE_CONSTRAINED"
+            : dish.graph().isExplicit() ? "CRITICAL_PATH"
+            : timerSteps.stream().anyMatch(s -> Boolean.TRUE.equals(s.getIsParallel())) ? "PARALLEL" : "SEQUENTIAL");
+        orchestration.setCriticalPath(Arrays.stream(schedule.criticalPath())
+            .mapToObj(task -> dish.graph().nodes().get(task).orderIndex())
+            .toList());
         
         return orchestration;
     }
     
-    private List<TimerSequenceDTO> calculateOptimalSequence(List<Step> timerSteps, 
-                                                            Map<Integer, List<Step>> parallelGroups) {
-        List<TimerSequenceDTO> sequence = new ArrayList<>();
-        int currentTime = 0;
-        Set<Integer> processedGroups = new HashSet<>();
-        
-        // Sort steps by order index
-        List<Step> sortedSteps = timerSteps.stream()
-            .sorted(Comparator.comparingInt(Step::getOrderIndex))
-            .collect(Collectors.toList());
-        
-        for (Step step : sortedSteps) {
-            TimerSequenceDTO timerSeq = new TimerSequenceDTO();
-            timerSeq.setStepId(step.getId());
-            timerSeq.setOrderIndex(step.getOrderIndex());
-            timerSeq.setTimerLabel(step.getTimerLabel());
-            timerSeq.setDurationSeconds(step.getTimerSeconds());
-            timerSeq.setInstruction(step.getInstruction());
-            
-            // Handle parallel groups
-            if (step.getIsParallel() != null && step.getIsParallel() && step.getParallelGroup() != null) {
-                Integer groupId = step.getParallelGroup();
-                timerSeq.setParallelGroup(groupId);
-                
-                if (!processedGroups.contains(groupId)) {
-                    // First step in parallel group - starts now
-                    timerSeq.setStartAtSecond(currentTime);
-                    timerSeq.setCanStartEarly(false);
-                    processedGroups.add(groupId);
-                } else {
-                    // Subsequent steps in same group - calculate optimal start
-                    List<Step> groupSteps = parallelGroups.get(groupId);
-                    int longestDuration = groupSteps.stream()
-                        .mapToInt(Step::getTimerSeconds)
-                        .max()
-                        .orElse(0);
-                    
-                    // Start this timer so it finishes with the longest timer
-                    int startTime = currentTime + longestDuration - step.getTimerSeconds();
-                    timerSeq.setStartAtSecond(Math.max(currentTime, startTime));
-                    timerSeq.setCanStartEarly(true);
-                }
-            } else {
-                // Sequential step
-                timerSeq.setStartAtSecond(currentTime);
-                timerSeq.setCanStartEarly(false);
-                timerSeq.setParallelGroup(null);
-                currentTime += step.getTimerSeconds();
+    /**
+     * One plan for several dishes cooked together, e.g. a main, a side and a sauce: their step graphs are
+     * scheduled as one, timers interleaved by start time, so that every dish finishes at the same moment
+     * (totalCookingTime) and no more runs at once than the kitchen holds. Timers scale with each item's
+     * servings like {@link RecipeScalingService} scales them.
+     */
+    @Transactional(readOnly = true)
+    public TimerOrchestrationDTO orchestrateMeal(List<MealPlanRequestDTO.Item> items, KitchenProfile kitchen) {
+        // One query for every recipe and its steps; ingredients for templated instructions are batch fetched
+        Set<Long> recipeIds = items.stream().map(MealPlanRequestDTO.Item::getRecipeId).collect(Collectors.toSet());
+        Map<Long, Recipe> recipes = recipeRepository.findWithStepsByIdIn(recipeIds).stream()
+            .collect(Collectors.toMap(Recipe::getId, recipe -> recipe));
+        List<Dish> dishes = new ArrayList<>(items.size());
+        for (MealPlanRequestDTO.Item item : items) {
+            Recipe recipe = recipes.get(item.getRecipeId());
+            if (recipe == null) {
+                throw new RuntimeException("Recipe not found with id: " + item.getRecipeId());
             }
-            
-            sequence.add(timerSeq);
+            dishes.add(dish(recipe, (double) item.getServings() / recipe.getDefaultServings()));
         }
         
-        return sequence;
+        StepGraph graph = StepGraph.combine(dishes.stream().map(Dish::graph).toList());
+        CriticalPathScheduler.Schedule schedule = graph.schedule(kitchen);
+        List<TimerSequenceDTO> sequence = calculateOptimalSequence(dishes, schedule);
+        sequence.sort(Comparator.comparing(TimerSequenceDTO::getStartAtSecond));
+        log.info("Orchestrated {} timers across {} dishes", sequence.size(), dishes.size());
+        
+        TimerOrchestrationDTO orchestration = new TimerOrchestrationDTO();
+        orchestration.setRecipeName(dishes.stream().map(dish -> dish.recipe().getName())
+            .collect(Collectors.joining(" + ")));
+        orchestration.setRecipeIds(items.stream().map(MealPlanRequestDTO.Item::getRecipeId).toList());
+        orchestration.setTimerSequence(sequence);
+        orchestration.setTotalCookingTime(schedule.makespan());
+        orchestration.setOrchestrationStrategy(graph.hasResourceDemands() ? "RESOURCE_CONSTRAINED" : "SYNCHRONIZED");
+        // Order indexes repeat across dishes; each timer carries its recipeId and critical flag instead
+        orchestration.setCriticalPath(new ArrayList<>());
+        return orchestration;
+    }
+    
+    /**
+     * A recipe's steps in order index order, aligned with the tasks of their graph, with the timer and
+     * (when scaled) the instruction of each
+     */
+    private record Dish(Recipe recipe, List<Step> steps, List<Integer> timers, List<String> instructions,
+                        StepGraph graph) {
     }
     
-    private Integer calculateTotalCookingTime(List<TimerSequenceDTO> sequence) {
-        if (sequence.isEmpty()) return 0;
+    private record ScheduleKey(Long recipeId, Integer servings, UnitSystem unitSystem, KitchenProfile kitchen) {
         
-        return sequence.stream()
-            .mapToInt(s -> s.getStartAtSecond() + s.getDurationSeconds())
-            .max()
-            .orElse(0);
+        static ScheduleKey of(Long recipeId, Integer servings, UnitSystem unitSystem, KitchenProfile kitchen) {
+            if (servings != null && (servings <= 0 || servings > MealPlanService.MAX_SERVINGS)) {
+                throw new IllegalArgumentException("servings must be between 1 and " + MealPlanService.MAX_SERVINGS);
+            }
+            // Recipes as written keep their own measurements
+            return new ScheduleKey(recipeId, servings, servings != null ? unitSystem : null, kitchen);
+        }
+    }
+    
+    private Dish dish(Recipe recipe, double scalingFactor) {
+        List<Step> steps = ordered(recipe);
+        List<Integer> timers = steps.stream()
+            .map(step -> RecipeScalingService.scaledTimerSeconds(step, scalingFactor))
+            .toList();
+        return dish(recipe, steps, timers, null);
+    }
+    
+    /**
+     * Timers and instructions taken from the scaled copy, so the plan matches what the cook reads; a copy
+     * that no longer matches the recipe's steps is ignored and the timers are scaled directly
+     */
+    private Dish dish(Recipe recipe, ScaledRecipeDTO scaled) {
+        Map<Integer, ScaledStepDTO> scaledSteps = scaled.getScaledSteps().stream()
+            .collect(Collectors.toMap(ScaledStepDTO::getOrderIndex, step -> step, (a, b) -> a));
+        List<Step> steps = ordered(recipe);
+        if (!steps.stream().allMatch(step -> scaledSteps.containsKey(step.getOrderIndex()))) {
+            return dish(recipe, scaled.getScalingFactor());
+        }
+        List<Integer> timers = new ArrayList<>(steps.size());
+        List<String> instructions = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            ScaledStepDTO scaledStep = scaledSteps.get(step.getOrderIndex());
+            timers.add(scaledStep.getScaledTimerSeconds());
+            instructions.add(scaledStep.getInstruction());
+        }
+        return dish(recipe, steps, timers, instructions);
+    }
+    
+    private Dish dish(Recipe recipe, List<Step> steps, List<Integer> timers, List<String> instructions) {
+        List<StepGraph.Node> nodes = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            nodes.add(StepGraph.Node.of(steps.get(i), timers.get(i)));
+        }
+        return new Dish(recipe, steps, timers, instructions, StepGraph.of(nodes));
+    }
+    
+    private static List<Step> ordered(Recipe recipe) {
+        return recipe.getSteps().stream()
+            .sorted(Comparator.comparing(Step::getOrderIndex))
+            .toList();
+    }
+    
+    /**
+     * The recipe's own ingredient amounts for instruction placeholders, or null when no step has any
+     */
+    private StepTemplate.Amounts ownAmounts(Recipe recipe, List<Step> steps) {
+        if (steps.stream().allMatch(step -> step.getTemplate().isStatic())) {
+            return null;
+        }
+        StepTemplate.Amounts amounts = new StepTemplate.Amounts();
+        recipe.getIngredients().forEach(ri -> amounts.put(ri.getOrderIndex(), ri.getQuantity(), ri.getUnit(),
+            ri.getIngredient().getName()));
+        return amounts;
+    }
+    
+    /**
+     * Timer steps in order, each started as late as it can without delaying anything: steps on the
+     * critical path start as early as possible, the rest finish just when their result is needed
+     * (and, in a limited kitchen, when a burner, the oven or the cook is free). Dishes are tasks of
+     * {@code schedule} one after another.
+     */
+    private List<TimerSequenceDTO> calculateOptimalSequence(List<Dish> dishes,
+                                                            CriticalPathScheduler.Schedule schedule) {
+        List<TimerSequenceDTO> sequence = new ArrayList<>();
+        int offset = 0;
+        for (Dish dish : dishes) {
+            List<Step> timerSteps = dish.steps().stream()
+                .filter(s -> Boolean.TRUE.equals(s.getHasTimer()))
+                .toList();
+            StepTemplate.Amounts amounts = dish.instructions() == null ? ownAmounts(dish.recipe(), timerSteps) : null;
+            for (int i = 0; i < dish.steps().size(); i++) {
+                Step step = dish.steps().get(i);
+                if (!Boolean.TRUE.equals(step.getHasTimer())) {
+                    continue;
+                }
+                int task = offset + i;
+                TimerSequenceDTO timerSeq = new TimerSequenceDTO();
+                timerSeq.setStepId(step.getId());
+                timerSeq.setRecipeId(dish.recipe().getId());
+                timerSeq.setOrderIndex(step.getOrderIndex());
+                timerSeq.setTimerLabel(step.getTimerLabel());
+                timerSeq.setDurationSeconds(dish.timers().get(i));
+                timerSeq.setInstruction(dish.instructions() != null ? dish.instructions().get(i)
+                    : amounts != null ? step.getTemplate().render(amounts) : step.getInstruction());
+                timerSeq.setParallelGroup(Boolean.TRUE.equals(step.getIsParallel()) ? step.getParallelGroup() : null);
+                timerSeq.setStartAtSecond(schedule.latestStart(task));
+                timerSeq.setEarliestStartSecond(schedule.earliestStart(task));
+                timerSeq.setLatestStartSecond(schedule.latestStart(task));
+                timerSeq.setSlackSeconds(schedule.slack(task));
+                timerSeq.setCritical(schedule.isCritical(task));
+                timerSeq.setCanStartEarly(!schedule.isCritical(task));
+                timerSeq.setDependsOn(dish.graph().dependsOn(i));
+                sequence.add(timerSeq);
+            }
+            offset += dish.steps().size();
+        }
+        return sequence;
     }
     
     private TimerOrchestrationDTO createEmptyOrchestration(Recipe recipe) {
         TimerOrchestrationDTO orchestration = new TimerOrchestrationDTO();
         orchestration.setRecipeId(recipe.getId());
         orchestration.setRecipeName(recipe.getName());
+        orchestration.setRecipeIds(List.of(recipe.getId()));
         orchestration.setTimerSequence(new ArrayList<>());
         orchestration.setTotalCookingTime(0);
         orchestration.setOrchestrationStrategy("NONE");
+        orchestration.setCriticalPath(new ArrayList<>());
         return orchestration;
     }
 }
@@ -0,0 +1,128 @@
+package com.synchef.template;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Step instruction compiled into literal text and ingredient placeholders, so rendering with
+ * scaled amounts is plain string concatenation. Placeholders refer to ingredient lines by their
+ * orderIndex:
+ * <ul>
+ *   <li>{@code {{qty:2}}} renders the amount and unit of line 2, e.g. "4.5 tablespoons"</li>
+ *   <li>{@code {{ingredient:2}}} adds the ingredient name, e.g. "4.5 tablespoons Soy Sauce"</li>
+ * </ul>
+ * Placeholders for lines the recipe does not have are rendered as written.
+ */
+public final class StepTemplate {
+    
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*(qty|ingredient)\\s*:\\s*(\\d{1,4})\\s*}}");
+    
+    private final String source;
+    private final String[] literals;     // literals[i] precedes placeholder i; one more than placeholders
+    private final String[] placeholders; // as written, for unknown lines
+    private final int[] lines;
+    private final boolean[] named;
+    private final int literalLength;
+    
+    private StepTemplate(String source, String[] literals, String[] placeholders, int[] lines, boolean[] named) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.lines = lines;
+        this.named = named;
+        this.literalLength = Arrays.stream(literals).mapToInt(String::length).sum();
+    }
+    
+    public static StepTemplate compile(String source) {
+        String text = source != null ? source : "";
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        List<int[]> refs = new ArrayList<>();
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(text.substring(last, matcher.start()));
+            placeholders.add(matcher.group());
+            refs.add(new int[]{Integer.parseInt(matcher.group(2)), matcher.group(1).equals("ingredient") ? 1 : 0});
+            last = matcher.end();
+        }
+        literals.add(text.substring(last));
+        
+        int[] lines = new int[refs.size()];
+        boolean[] named = new boolean[refs.size()];
+        for (int i = 0; i < refs.size(); i++) {
+            lines[i] = refs.get(i)[0];
+            named[i] = refs.get(i)[1] == 1;
+        }
+        return new StepTemplate(text, literals.toArray(String[]::new), placeholders.toArray(String[]::new),
+            lines, named);
+    }
+    
+    /**
+     * True when the instruction has no placeholders and renders as its source text
+     */
+    public boolean isStatic() {
+        return lines.length == 0;
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    public String render(Amounts amounts) {
+        if (isStatic()) {
+            return source;
+        }
+        StringBuilder text = new StringBuilder(literalLength + 24 * lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            text.append(literals[i]);
+            String amount = amounts.amount(lines[i]);
+            if (amount == null) {
+                text.append(placeholders[i]);
+                continue;
+            }
+            text.append(amount);
+            String name = named[i] ? amounts.name(lines[i]) : null;
+            if (name != null) {
+                text.append(' ').append(name);
+            }
+        }
+        return text.append(literals[lines.length]).toString();
+    }
+    
+    /**
+     * Formatted amount and ingredient name per ingredient line of one recipe, at one scale.
+     * Built once per recipe and shared by all of its steps.
+     */
+    public static final class Amounts {
+        private String[] amounts = new String[8];
+        private String[] names = new String[8];
+        
+        public Amounts put(Integer line, BigDecimal quantity, String unit, String name) {
+            if (line == null || line < 0 || quantity == null) {
+                return this;
+            }
+            if (line >= amounts.length) {
+                int size = Math.max(line + 1, amounts.length * 2);
+                amounts = Arrays.copyOf(amounts, size);
+                names = Arrays.copyOf(names, size);
+            }
+            String number = quantity.stripTrailingZeros().toPlainString();
+            amounts[line] = unit == null || unit.isBlank() ? number : number + " " + unit;
+            names[line] = name;
+            return this;
+        }
+        
+        String amount(int line) {
+            return line < amounts.length ? amounts[line] : null;
+        }
+        
+        String name(int line) {
+            return line < names.length ? names[line] : null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.synchef.units;
+
+/**
+ * What a unit measures; amounts convert freely within a dimension and across them only with a density
+ */
+public enum Dimension {
+    VOLUME,
+    MASS
+}
@@ -0,0 +1,175 @@
+package com.synchef.units;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point ingredient quantities as {@code long} hundredths, the precision of
+ * {@code recipe_ingredients.quantity}. Scaling and fractional rounding run on primitives and
+ * reproduce the {@code BigDecimal} results exactly:
+ * {@code q.multiply(BigDecimal.valueOf(factor)).setScale(2, HALF_UP)}, then quarter rounding
+ * for spoon and cup units ({@link UnitRegistry.Parsed#quarterRounded()}).
+ *
+ * Values the fast path cannot represent exactly (negative, more than two decimals, 128-bit
+ * overflow) are reported as {@link #NOT_EXACT} so callers can fall back to BigDecimal.
+ */
+public final class Quantity {
+    
+    public static final long NOT_EXACT = Long.MIN_VALUE;
+    
+    private static final long[] POW10 = new long[19];
+    // Rounded offset for every hundredths remainder, so quarter rounding is one table lookup
+    private static final long[] QUARTER_ROUND = new long[100];
+    
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+        for (int f = 0; f < QUARTER_ROUND.length; f++) {
+            // HALF_UP of f/25 quarters: remainders 13, 38, 63 and 88 are the first to round up
+            QUARTER_ROUND[f] = (4L * f + 50) / 100 * 25;
+        }
+    }
+    
+    private Quantity() {
+    }
+    
+    /**
+     * Hundredths of a non-negative quantity with at most two decimals, or {@link #NOT_EXACT}
+     */
+    public static long hundredths(BigDecimal quantity) {
+        // Cheap pre-check first: more than 17 integer digits never fit once scaled to hundredths
+        if (quantity == null || quantity.signum() < 0 || quantity.scale() > 2
+            || quantity.precision() - quantity.scale() > 17) {
+            return NOT_EXACT;
+        }
+        BigInteger unscaled = (quantity.scale() == 2 ? quantity : quantity.setScale(2)).unscaledValue();
+        return unscaled.bitLength() < 64 ? unscaled.longValue() : NOT_EXACT;
+    }
+    
+    public static BigDecimal toBigDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+    
+    /**
+     * Nearest quarter (HALF_UP), for a non-negative quantity in hundredths, or {@link #NOT_EXACT} when
+     * rounding up would overflow
+     */
+    public static long roundToQuarter(long hundredths) {
+        int fraction = (int) (hundredths % 100);
+        long rounded = hundredths - fraction + QUARTER_ROUND[fraction];
+        return rounded >= 0 ? rounded : NOT_EXACT;
+    }
+    
+    /**
+     * A scaling factor in the exact decimal form {@code BigDecimal.valueOf(double)} would give it,
+     * prepared once so that applying it to each quantity is pure long arithmetic
+     */
+    public static final class Factor {
+        private final double value;
+        private final BigDecimal decimal;
+        private final long mantissa;
+        private final int scale;     // decimal = mantissa / 10^scale
+        private final boolean exact; // false: fall back to BigDecimal for every quantity
+        
+        private Factor(double value) {
+            this.value = value;
+            this.decimal = BigDecimal.valueOf(value);
+            BigInteger unscaled = decimal.unscaledValue();
+            this.exact = decimal.signum() >= 0 && decimal.scale() >= 0 && decimal.scale() <= 19
+                && unscaled.bitLength() < 63;
+            this.mantissa = exact ? unscaled.longValue() : 0L;
+            this.scale = exact ? decimal.scale() : 0;
+        }
+        
+        public static Factor of(double value) {
+            return new Factor(value);
+        }
+        
+        public double value() {
+            return value;
+        }
+        
+        /**
+         * {@code hundredths * factor} rounded HALF_UP to hundredths, or {@link #NOT_EXACT}
+         */
+        public long apply(long hundredths) {
+            if (!exact || hundredths < 0) {
+                return NOT_EXACT;
+            }
+            // Exact product has scale 2 + scale; rounding it to scale 2 divides by 10^scale, half-up
+            long hi = Math.multiplyHigh(hundredths, mantissa);
+            long lo = hundredths * mantissa;
+            if (scale == 0) {
+                return hi == 0 && lo >= 0 ? lo : NOT_EXACT;
+            }
+            // Add half of the divisor, then divide in at most two steps of 10^18 (floor of floor is floor)
+            int first = Math.min(scale, 18);
+            int second = scale - first;
+            long half = POW10[scale - 1] * 5;
+            long sum = lo + half;
+            if (Long.compareUnsigned(sum, lo) < 0) {
+                hi++;
+            }
+            lo = sum;
+            if (Long.compareUnsigned(hi, POW10[first]) >= 0) {
+                return NOT_EXACT;
+            }
+            long quotient = divideUnsigned(hi, lo, POW10[first]);
+            if (second > 0) {
+                quotient = Long.divideUnsigned(quotient, POW10[second]);
+            }
+            return quotient >= 0 ? quotient : NOT_EXACT;
+        }
+        
+        /**
+         * The BigDecimal path, for quantities {@link #apply} cannot take
+         */
+        public BigDecimal applyExactly(BigDecimal quantity) {
+            return quantity.multiply(decimal).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+    
+    /**
+     * Unsigned 128-by-64 division (hi:lo) / divisor, for hi < divisor (Knuth D with 32-bit digits)
+     */
+    static long divideUnsigned(long hi, long lo, long divisor) {
+        if (hi == 0) {
+            return Long.divideUnsigned(lo, divisor);
+        }
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long d = divisor << shift;
+        long dHigh = d >>> 32;
+        long dLow = d & 0xFFFFFFFFL;
+        long numHigh = shift == 0 ? hi : (hi << shift) | (lo >>> (64 - shift));
+        long numLow = lo << shift;
+        long numLow1 = numLow >>> 32;
+        long numLow0 = numLow & 0xFFFFFFFFL;
+        
+        long q1 = Long.divideUnsigned(numHigh, dHigh);
+        long rhat = Long.remainderUnsigned(numHigh, dHigh);
+        while (Long.compareUnsigned(q1, 1L << 32) >= 0
+            || Long.compareUnsigned(q1 * dLow, (rhat << 32) | numLow1) > 0) {
+            q1--;
+            rhat += dHigh;
+            if (Long.compareUnsigned(rhat, 1L << 32) >= 0) {
+                break;
+            }
+        }
+        long partial = (numHigh << 32) + numLow1 - q1 * d;
+        
+        long q0 = Long.divideUnsigned(partial, dHigh);
+        rhat = Long.remainderUnsigned(partial, dHigh);
+        while (Long.compareUnsigned(q0, 1L << 32) >= 0
+            || Long.compareUnsigned(q0 * dLow, (rhat << 32) | numLow0) > 0) {
+            q0--;
+            rhat += dHigh;
+            if (Long.compareUnsigned(rhat, 1L << 32) >= 0) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+}
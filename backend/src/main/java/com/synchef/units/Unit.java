@@ -0,0 +1,53 @@
+package com.synchef.units;
+
+/**
+ * Canonical cooking units. Sizes are in the dimension's base unit: millilitres for volume, grams for mass.
+ * Spoons belong to no system and are kept as written in both.
+ */
+public enum Unit {
+    MILLILITER("ml", Dimension.VOLUME, UnitSystem.METRIC, 1),
+    LITER("l", Dimension.VOLUME, UnitSystem.METRIC, 1000),
+    TEASPOON("tsp", Dimension.VOLUME, null, 4.92892),
+    TABLESPOON("tbsp", Dimension.VOLUME, null, 14.7868),
+    FLUID_OUNCE("fl oz", Dimension.VOLUME, UnitSystem.IMPERIAL, 29.5735),
+    CUP("cup", Dimension.VOLUME, UnitSystem.IMPERIAL, 236.588),
+    GRAM("g", Dimension.MASS, UnitSystem.METRIC, 1),
+    KILOGRAM("kg", Dimension.MASS, UnitSystem.METRIC, 1000),
+    OUNCE("oz", Dimension.MASS, UnitSystem.IMPERIAL, 28.3495),
+    POUND("lb", Dimension.MASS, UnitSystem.IMPERIAL, 453.592);
+    
+    private final String symbol;
+    private final Dimension dimension;
+    private final UnitSystem system;
+    private final double baseSize;
+    
+    Unit(String symbol, Dimension dimension, UnitSystem system, double baseSize) {
+        this.symbol = symbol;
+        this.dimension = dimension;
+        this.system = system;
+        this.baseSize = baseSize;
+    }
+    
+    public String symbol() {
+        return symbol;
+    }
+    
+    public Dimension dimension() {
+        return dimension;
+    }
+    
+    public UnitSystem system() {
+        return system;
+    }
+    
+    public double baseSize() {
+        return baseSize;
+    }
+    
+    /**
+     * Measured in spoon/cup fractions, so amounts converted into this unit are rounded to the nearest quarter
+     */
+    public boolean isQuarterRounded() {
+        return this == TEASPOON || this == TABLESPOON || this == CUP;
+    }
+}
@@ -0,0 +1,146 @@
+package com.synchef.units;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses free-form unit strings ("grams", "Tbsp.", "cups") once into canonical units and holds
+ * precomputed conversion tables between them. Parsed spellings are cached and shared, so the same
+ * string always yields the same {@link Parsed} instance.
+ */
+public final class UnitRegistry {
+    
+    private static final Map<String, Unit> ALIASES = new HashMap<>();
+    private static final Map<String, Parsed> PARSED = new ConcurrentHashMap<>();
+    private static final int MAX_PARSED = 4096;
+    
+    // RATIO[from][to]: factor from an amount in one unit to the same amount in another (same dimension)
+    private static final double[][] RATIO = new double[Unit.values().length][Unit.values().length];
+    
+    // Per system and dimension: units from small to large, each used from its base amount upwards
+    private static final Map<UnitSystem, Map<Dimension, Unit[]>> LADDERS = new EnumMap<>(UnitSystem.class);
+    private static final Map<UnitSystem, Map<Dimension, double[]>> LADDER_STARTS = new EnumMap<>(UnitSystem.class);
+    
+    static {
+        alias(Unit.MILLILITER, "ml", "milliliter", "millilitre", "mls");
+        alias(Unit.LITER, "l", "liter", "litre", "ltr");
+        alias(Unit.TEASPOON, "tsp", "teaspoon", "tsps");
+        alias(Unit.TABLESPOON, "tbsp", "tablespoon", "tbs", "tbl", "tbsps");
+        alias(Unit.FLUID_OUNCE, "fl oz", "floz", "fluid ounce");
+        alias(Unit.CUP, "cup", "c");
+        alias(Unit.GRAM, "g", "gram", "gramme", "gr");
+        alias(Unit.KILOGRAM, "kg", "kilogram", "kilogramme", "kilo", "kgs");
+        alias(Unit.OUNCE, "oz", "ounce");
+        alias(Unit.POUND, "lb", "pound", "lbs");
+        
+        for (Unit from : Unit.values()) {
+            for (Unit to : Unit.values()) {
+                RATIO[from.ordinal()][to.ordinal()] = from.dimension() == to.dimension()
+                    ? from.baseSize() / to.baseSize()
+                    : Double.NaN;
+            }
+        }
+        
+        ladder(UnitSystem.METRIC, Dimension.VOLUME, Unit.MILLILITER, Unit.LITER);
+        ladder(UnitSystem.METRIC, Dimension.MASS, Unit.GRAM, Unit.KILOGRAM);
+        ladder(UnitSystem.IMPERIAL, Dimension.VOLUME, Unit.TEASPOON, Unit.TABLESPOON, Unit.CUP);
+        ladder(UnitSystem.IMPERIAL, Dimension.MASS, Unit.OUNCE, Unit.POUND);
+        // A quarter cup reads better than four tablespoons
+        LADDER_STARTS.get(UnitSystem.IMPERIAL).get(Dimension.VOLUME)[2] = Unit.CUP.baseSize() / 4;
+    }
+    
+    private UnitRegistry() {
+    }
+    
+    /**
+     * A unit string as written, with its canonical unit (null when unrecognised)
+     */
+    public record Parsed(String raw, Unit unit, boolean quarterRounded) {
+    }
+    
+    public static Parsed parse(String raw) {
+        String key = raw == null ? "" : raw;
+        Parsed parsed = PARSED.get(key);
+        if (parsed != null) {
+            return parsed;
+        }
+        Unit unit = lookup(normalize(key));
+        // Quarter rounding of units as written keeps the original substring rule, so recognising more
+        // spellings ("tablespoons", "c") never changes a scaled amount; the registry only drives conversion
+        String lower = key.toLowerCase(Locale.ROOT);
+        boolean quarters = lower.contains("cup") || lower.contains("tbsp") || lower.contains("tsp");
+        parsed = new Parsed(key, unit, quarters);
+        if (PARSED.size() < MAX_PARSED) {
+            Parsed existing = PARSED.putIfAbsent(key, parsed);
+            return existing != null ? existing : parsed;
+        }
+        return parsed;
+    }
+    
+    /**
+     * Convert an amount between units; volume and mass convert through a density in g/ml.
+     * Returns NaN when the units are incompatible and no density is known.
+     */
+    public static double convert(double amount, Unit from, Unit to, Double gramsPerMl) {
+        double ratio = RATIO[from.ordinal()][to.ordinal()];
+        if (!Double.isNaN(ratio)) {
+            return amount * ratio;
+        }
+        if (gramsPerMl == null || gramsPerMl <= 0) {
+            return Double.NaN;
+        }
+        double base = amount * from.baseSize();
+        base = from.dimension() == Dimension.VOLUME ? base * gramsPerMl : base / gramsPerMl;
+        return base / to.baseSize();
+    }
+    
+    /**
+     * The unit a cook in the given system would use for this amount (in ml or g)
+     */
+    public static Unit preferred(Dimension dimension, UnitSystem system, double baseAmount) {
+        Unit[] units = LADDERS.get(system).get(dimension);
+        double[] starts = LADDER_STARTS.get(system).get(dimension);
+        int i = units.length - 1;
+        while (i > 0 && baseAmount < starts[i]) {
+            i--;
+        }
+        return units[i];
+    }
+    
+    public static Unit base(Dimension dimension) {
+        return dimension == Dimension.VOLUME ? Unit.MILLILITER : Unit.GRAM;
+    }
+    
+    private static Unit lookup(String normalized) {
+        Unit unit = ALIASES.get(normalized);
+        if (unit == null && normalized.endsWith("es")) {
+            unit = ALIASES.get(normalized.substring(0, normalized.length() - 2));
+        }
+        if (unit == null && normalized.endsWith("s")) {
+            unit = ALIASES.get(normalized.substring(0, normalized.length() - 1));
+        }
+        return unit;
+    }
+    
+    private static String normalize(String raw) {
+        return raw.trim().toLowerCase(Locale.ROOT).replace(".", "").replaceAll("\\s+", " ");
+    }
+    
+    private static void alias(Unit unit, String... spellings) {
+        for (String spelling : spellings) {
+            ALIASES.put(spelling, unit);
+        }
+    }
+    
+    private static void ladder(UnitSystem system, Dimension dimension, Unit... units) {
+        double[] starts = new double[units.length];
+        for (int i = 0; i < units.length; i++) {
+            starts[i] = units[i].baseSize();
+        }
+        LADDERS.computeIfAbsent(system, s -> new EnumMap<>(Dimension.class)).put(dimension, units);
+        LADDER_STARTS.computeIfAbsent(system, s -> new EnumMap<>(Dimension.class)).put(dimension, starts);
+    }
+}
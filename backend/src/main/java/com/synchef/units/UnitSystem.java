@@ -0,0 +1,25 @@
+package com.synchef.units;
+
+import java.util.Locale;
+
+/**
+ * Measurement systems a user can prefer (User.preferredUnitSystem)
+ */
+public enum UnitSystem {
+    METRIC,
+    IMPERIAL;
+    
+    /**
+     * Lenient lookup of a stored or requested value; null when blank or unknown
+     */
+    public static UnitSystem parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
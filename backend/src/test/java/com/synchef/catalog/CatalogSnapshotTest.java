@@ -0,0 +1,99 @@
+package com.synchef.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A patched snapshot indexes recipes exactly as a full build of the same catalog would
+ */
+class CatalogSnapshotTest {
+    
+    private static final CountryView PH = CountryView.builder().id(1L).code("PH").continent("ASIA").build();
+    private static final CountryView IT = CountryView.builder().id(2L).code("IT").continent("EUROPE").build();
+    private static final CategoryView SOUP = CategoryView.builder().id(10L).name("Soup").build();
+    private static final CategoryView MAIN = CategoryView.builder().id(11L).name("Main").build();
+    private static final IngredientView GARLIC = ingredient(100L, 1L);
+    private static final IngredientView BASIL = ingredient(101L, 2L);
+    
+    @Test
+    void addedRecipeEntersItsBuckets() {
+        List<RecipeView> recipes = new ArrayList<>(List.of(
+            recipe(1L, "Sinigang", PH, "EASY", List.of(SOUP), GARLIC),
+            recipe(3L, "Adobo", PH, "MEDIUM", List.of(MAIN), GARLIC),
+            recipe(5L, "Minestrone", IT, "EASY", List.of(SOUP), GARLIC)));
+        CatalogSnapshot base = CatalogSnapshot.build(1L, List.of(PH, IT), List.of(SOUP, MAIN), List.of(GARLIC),
+            recipes);
+        RecipeView added = recipe(4L, "Pesto Soup", IT, "EASY", List.of(SOUP, MAIN), BASIL);
+        recipes.add(added);
+        
+        assertSameIndexes(base.withRecipe(2L, added),
+            CatalogSnapshot.build(2L, List.of(PH, IT), List.of(SOUP, MAIN), List.of(GARLIC, BASIL), recipes));
+    }
+    
+    @Test
+    void replacedRecipeMovesBetweenBuckets() {
+        List<RecipeView> recipes = new ArrayList<>(List.of(
+            recipe(1L, "Sinigang", PH, "EASY", List.of(SOUP), GARLIC),
+            recipe(3L, "Adobo", PH, "MEDIUM", List.of(MAIN), GARLIC),
+            recipe(5L, "Minestrone", IT, "EASY", List.of(SOUP), GARLIC)));
+        CatalogSnapshot base = CatalogSnapshot.build(1L, List.of(PH, IT), List.of(SOUP, MAIN), List.of(GARLIC),
+            recipes);
+        // Renamed, moved to another country, difficulty dropped, only category emptied
+        RecipeView replaced = recipe(3L, "Zuppa", IT, null, List.of(SOUP), GARLIC);
+        recipes.set(1, replaced);
+        
+        CatalogSnapshot patched = base.withRecipe(2L, replaced);
+        
+        assertSameIndexes(patched, CatalogSnapshot.build(2L, List.of(PH, IT), List.of(SOUP, MAIN), List.of(GARLIC),
+            recipes));
+        assertThat(patched.recipesByCategoryId(MAIN.getId()).size()).isZero();
+        assertThat(patched.getCountries()).isSameAs(base.getCountries());
+        assertThat(patched.getIngredients()).isSameAs(base.getIngredients());
+    }
+    
+    private static void assertSameIndexes(CatalogSnapshot patched, CatalogSnapshot rebuilt) {
+        assertSameOrder(patched.getRecipes(), rebuilt.getRecipes());
+        assertThat(patched.getRecipesById()).isEqualTo(rebuilt.getRecipesById());
+        for (CountryView country : List.of(PH, IT)) {
+            assertSameOrder(patched.recipesByCountryId(country.getId()), rebuilt.recipesByCountryId(country.getId()));
+            assertSameOrder(patched.recipesByCountryCode(country.getCode()),
+                rebuilt.recipesByCountryCode(country.getCode()));
+        }
+        for (CategoryView category : List.of(SOUP, MAIN)) {
+            assertSameOrder(patched.recipesByCategoryId(category.getId()),
+                rebuilt.recipesByCategoryId(category.getId()));
+        }
+        for (String level : List.of("EASY", "MEDIUM")) {
+            assertSameOrder(patched.recipesByDifficulty(level), rebuilt.recipesByDifficulty(level));
+        }
+        assertThat(patched.getIngredients()).isEqualTo(rebuilt.getIngredients());
+        assertThat(patched.getIngredientsById()).isEqualTo(rebuilt.getIngredientsById());
+        assertThat(patched.getIngredientsByCountryId()).isEqualTo(rebuilt.getIngredientsByCountryId());
+    }
+    
+    private static void assertSameOrder(OrderedRecipes patched, OrderedRecipes rebuilt) {
+        assertThat(patched.byId()).containsExactlyElementsOf(rebuilt.byId());
+        assertThat(patched.byName()).containsExactlyElementsOf(rebuilt.byName());
+    }
+    
+    private static IngredientView ingredient(Long id, Long countryId) {
+        return IngredientView.builder().id(id).name("ingredient " + id).countryId(countryId).build();
+    }
+    
+    private static RecipeView recipe(Long id, String name, CountryView country, String difficulty,
+                                     List<CategoryView> categories, IngredientView ingredient) {
+        return RecipeView.builder()
+            .id(id)
+            .name(name)
+            .country(country)
+            .difficultyLevel(difficulty)
+            .categories(categories)
+            .ingredients(List.of(RecipeIngredientView.builder().id(id * 10).ingredient(ingredient).build()))
+            .steps(List.of())
+            .build();
+    }
+}
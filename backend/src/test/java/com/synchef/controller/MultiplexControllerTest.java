@@ -0,0 +1,58 @@
+package com.synchef.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multiplexed parts run through a real servlet container: includes do not dispatch under MockMvc
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MultiplexControllerTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Test
+    void streamingPartFailsAloneAndOtherPartsAreAnswered() {
+        Map<String, Object> batch = Map.of("requests", List.of(
+            Map.of("path", "/api/recipes/export"),
+            Map.of("path", "/api/countries"),
+            Map.of("path", "/api/recipes/1")));
+        
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/batch", batch, JsonNode.class);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode parts = response.getBody().get("responses");
+        assertThat(parts).hasSize(3);
+        assertThat(parts.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(parts.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(parts.get(1).get("body").isArray()).isTrue();
+        assertThat(parts.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(parts.get(2).get("body").get("id").asLong()).isEqualTo(1L);
+    }
+    
+    @Test
+    void streamingPartWithQueryIsRejectedToo() {
+        Map<String, Object> batch = Map.of("requests", List.of(
+            Map.of("path", "/api/recipes/export?gzip=true"),
+            Map.of("path", "/api/countries")));
+        
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/batch", batch, JsonNode.class);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("responses").get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(response.getBody().get("responses").get(1).get("status").asInt()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,38 @@
+package com.synchef.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RecipeControllerTest {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Test
+    void idsWithPageSizeAreLookedUpById() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/recipes?ids=999999,1&size=10",
+            JsonNode.class);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("recipes").get(0).get("id").asLong()).isEqualTo(1L);
+        assertThat(response.getBody().get("missingIds").get(0).asLong()).isEqualTo(999999L);
+    }
+    
+    @Test
+    void pageSizeAloneIsPaged() {
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/recipes?size=1", JsonNode.class);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("items")).hasSize(1);
+    }
+}
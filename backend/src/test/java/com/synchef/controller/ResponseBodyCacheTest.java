@@ -0,0 +1,66 @@
+package com.synchef.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+    
+    private static final String ETAG = HttpCaching.etag("v42");
+    private static final Date BUILT_AT = new Date(1_700_000_000_000L);
+    // Large enough to get a gzip variant
+    private static final List<String> BODY = Collections.nCopies(200, "tomato");
+    
+    private final ResponseBodyCache cache = new ResponseBodyCache(new ObjectMapper());
+    private final AtomicInteger builds = new AtomicInteger();
+    private final Supplier<Object> body = () -> {
+        builds.incrementAndGet();
+        return BODY;
+    };
+    
+    @Test
+    void currentClientGets304WithoutBuildingTheBody() {
+        for (String held : List.of(ETAG, HttpCaching.gzipVariant(ETAG))) {
+            ResponseEntity<byte[]> response = respond(held, "gzip");
+            
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        }
+        assertThat(builds).hasValue(0);
+    }
+    
+    @Test
+    void gzipVariantIsSentUnderItsOwnTag() {
+        ResponseEntity<byte[]> gzip = respond(null, "gzip");
+        ResponseEntity<byte[]> identity = respond(null, null);
+        
+        assertThat(gzip.getHeaders().getETag()).isEqualTo(HttpCaching.gzipVariant(ETAG));
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(identity.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(builds).hasValue(1);
+    }
+    
+    private ResponseEntity<byte[]> respond(String ifNoneMatch, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return cache.respond(new ServletWebRequest(request, new MockHttpServletResponse()), "recipe:1", ETAG,
+            BUILT_AT, HttpCaching.RECIPE, body);
+    }
+}
@@ -0,0 +1,82 @@
+package com.synchef.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chop (1, 60s) then simmer (2, 120s) then plate (4, 30s), with a side (3, 60s) that waits for nothing.
+ * Planned as late as possible: chop 0-60, simmer 60-180, side 150-210, plate 180-210.
+ */
+class LivePlanTest {
+    
+    private static final long CHOP = 11;
+    private static final long SIMMER = 12;
+    private static final long SIDE = 13;
+    private static final long PLATE = 14;
+    
+    private LivePlan plan;
+    
+    @BeforeEach
+    void plan() {
+        StepGraph graph = StepGraph.of(List.of(step(1, 60), step(2, 120, 1), step(3, 60), step(4, 30, 2)));
+        plan = LivePlan.of(graph, graph.schedule(), null, new long[]{CHOP, SIMMER, SIDE, PLATE});
+    }
+    
+    @Test
+    void delayPushesOnlyWhatWaitsForTheStep() {
+        plan.started(CHOP, 0, null);
+        
+        List<LivePlan.Change> changes = plan.completed(CHOP, 90);
+        
+        assertThat(changes).containsExactlyInAnyOrder(
+            new LivePlan.Change(CHOP, 0, 90, LivePlan.State.DONE),
+            new LivePlan.Change(SIMMER, 90, 210, LivePlan.State.PENDING),
+            new LivePlan.Change(PLATE, 210, 240, LivePlan.State.PENDING));
+        assertThat(timer(SIDE)).isEqualTo(new LivePlan.Change(SIDE, 150, 210, LivePlan.State.PENDING));
+        assertThat(plan.projectedFinish()).isEqualTo(240);
+    }
+    
+    @Test
+    void earlyFinishWinsBackADelayButNotThePlan() {
+        plan.completed(CHOP, 90);
+        plan.started(SIMMER, 90, null);
+        
+        List<LivePlan.Change> changes = plan.completed(SIMMER, 150);
+        
+        // Plating could start at 150, but never before its planned 180
+        assertThat(changes).containsExactlyInAnyOrder(
+            new LivePlan.Change(SIMMER, 90, 150, LivePlan.State.DONE),
+            new LivePlan.Change(PLATE, 180, 210, LivePlan.State.PENDING));
+        assertThat(timer(SIDE)).isEqualTo(new LivePlan.Change(SIDE, 150, 210, LivePlan.State.PENDING));
+    }
+    
+    @Test
+    void pausedStepHoldsBackItsSuccessorsUntilResumed() {
+        plan.completed(CHOP, 60);
+        plan.started(SIMMER, 60, null);
+        
+        assertThat(plan.paused(SIMMER, 100)).containsExactly(
+            new LivePlan.Change(SIMMER, 60, 180, LivePlan.State.PAUSED));
+        // 30s later the 80s left can only finish at 210
+        assertThat(plan.remaining(SIMMER, 130, 80)).containsExactlyInAnyOrder(
+            new LivePlan.Change(SIMMER, 60, 210, LivePlan.State.PAUSED),
+            new LivePlan.Change(PLATE, 210, 240, LivePlan.State.PENDING));
+        assertThat(plan.started(SIMMER, 140, null)).containsExactlyInAnyOrder(
+            new LivePlan.Change(SIMMER, 60, 220, LivePlan.State.RUNNING),
+            new LivePlan.Change(PLATE, 220, 250, LivePlan.State.PENDING));
+        assertThat(timer(SIDE)).isEqualTo(new LivePlan.Change(SIDE, 150, 210, LivePlan.State.PENDING));
+        assertThat(timer(CHOP)).isEqualTo(new LivePlan.Change(CHOP, 0, 60, LivePlan.State.DONE));
+    }
+    
+    private LivePlan.Change timer(long stepId) {
+        return plan.timers().stream().filter(change -> change.stepId() == stepId).findFirst().orElseThrow();
+    }
+    
+    private static StepGraph.Node step(int orderIndex, int seconds, Integer... dependsOn) {
+        return new StepGraph.Node(orderIndex, seconds, false, null, List.of(dependsOn), 0, false, false);
+    }
+}
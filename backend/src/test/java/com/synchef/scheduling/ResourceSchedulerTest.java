@@ -0,0 +1,122 @@
+package com.synchef.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourceSchedulerTest {
+    
+    private static final int[] CAPACITIES = {2, 1, 1};
+    
+    @Test
+    void plannedStartsRespectPrecedenceAndCapacity() {
+        Random random = new Random(7);
+        for (int instance = 0; instance < 200; instance++) {
+            Instance tasks = Instance.random(random, 5 + random.nextInt(30));
+            CriticalPathScheduler.Schedule schedule = tasks.schedule();
+            int[] starts = new int[tasks.size()];
+            for (int v = 0; v < starts.length; v++) {
+                starts[v] = schedule.latestStart(v);
+                assertThat(starts[v]).isGreaterThanOrEqualTo(0);
+                assertThat(starts[v] + tasks.durations[v]).isLessThanOrEqualTo(schedule.makespan());
+            }
+            
+            for (int v = 0; v < starts.length; v++) {
+                for (int p : tasks.predecessors[v]) {
+                    assertThat(starts[v]).as("task %d after %d", v, p).isGreaterThanOrEqualTo(starts[p]
+                        + tasks.durations[p]);
+                }
+                // Usage only rises when a task starts, so checking at every start covers every moment
+                for (int r = 0; r < CAPACITIES.length; r++) {
+                    int used = 0;
+                    for (int u = 0; u < starts.length; u++) {
+                        boolean running = starts[u] <= starts[v] && starts[v] < starts[u] + tasks.durations[u];
+                        if (running) {
+                            used += tasks.demands[u][r];
+                        }
+                    }
+                    assertThat(used).as("resource %d at %d", r, starts[v]).isLessThanOrEqualTo(CAPACITIES[r]);
+                }
+            }
+            assertThat(schedule.makespan()).isGreaterThanOrEqualTo(
+                CriticalPathScheduler.schedule(tasks.durations, tasks.predecessors, tasks.labels()).makespan());
+        }
+    }
+    
+    @Test
+    void sameInputsGiveTheSameSchedule() {
+        Random random = new Random(11);
+        for (int instance = 0; instance < 50; instance++) {
+            Instance tasks = Instance.random(random, 40);
+            CriticalPathScheduler.Schedule first = tasks.schedule();
+            CriticalPathScheduler.Schedule second = tasks.schedule();
+            
+            assertThat(second.makespan()).isEqualTo(first.makespan());
+            assertThat(second.criticalPath()).containsExactly(first.criticalPath());
+            for (int v = 0; v < tasks.size(); v++) {
+                assertThat(second.earliestStart(v)).isEqualTo(first.earliestStart(v));
+                assertThat(second.latestStart(v)).isEqualTo(first.latestStart(v));
+            }
+        }
+    }
+    
+    @Test
+    void rejectsStepsTheKitchenCannotHold() {
+        StepGraph graph = StepGraph.of(List.of(
+            new StepGraph.Node(1, 300, false, null, List.of(), 1, false, false),
+            new StepGraph.Node(2, 600, false, null, List.of(), 0, true, false)));
+        
+        assertThatThrownBy(() -> graph.schedule(new KitchenProfile(0, 1, 1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Step 1 needs more burners than the kitchen has (1 of 0)");
+        assertThatThrownBy(() -> graph.schedule(new KitchenProfile(4, 0, 1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Step 2 needs more ovens than the kitchen has (1 of 0)");
+        assertThat(graph.schedule(KitchenProfile.DEFAULT).makespan()).isEqualTo(900);
+    }
+    
+    /**
+     * A random DAG (edges only point forward) where every task fits the kitchen on its own
+     */
+    private record Instance(int[] durations, int[][] predecessors, int[][] demands) {
+        
+        static Instance random(Random random, int n) {
+            int[] durations = new int[n];
+            int[][] predecessors = new int[n][];
+            int[][] demands = new int[n][];
+            for (int v = 0; v < n; v++) {
+                durations[v] = random.nextInt(5) == 0 ? 0 : 60 * (1 + random.nextInt(20));
+                List<Integer> before = new ArrayList<>();
+                for (int p = Math.max(0, v - 6); p < v; p++) {
+                    if (random.nextInt(4) == 0) {
+                        before.add(p);
+                    }
+                }
+                predecessors[v] = before.stream().mapToInt(Integer::intValue).toArray();
+                demands[v] = new int[]{random.nextInt(CAPACITIES[0] + 1), random.nextInt(2), random.nextInt(2)};
+            }
+            return new Instance(durations, predecessors, demands);
+        }
+        
+        int size() {
+            return durations.length;
+        }
+        
+        int[] labels() {
+            int[] labels = new int[durations.length];
+            for (int v = 0; v < labels.length; v++) {
+                labels[v] = v + 1;
+            }
+            return labels;
+        }
+        
+        CriticalPathScheduler.Schedule schedule() {
+            return ResourceScheduler.schedule(durations, predecessors, demands, CAPACITIES, labels());
+        }
+    }
+}
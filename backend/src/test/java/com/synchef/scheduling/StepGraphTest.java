@@ -0,0 +1,79 @@
+package com.synchef.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StepGraphTest {
+    
+    @Test
+    void impliedEdgesLetParallelStepsOverlap() {
+        // 1 sequential, 2 and 3 parallel after it, 4 sequential waits for all of them
+        StepGraph graph = StepGraph.of(List.of(
+            step(1, 60, false), step(2, 120, true), step(3, 30, true), step(4, 10, false)));
+        
+        assertThat(graph.isExplicit()).isFalse();
+        assertThat(graph.dependsOn(1)).containsExactly(1);
+        assertThat(graph.dependsOn(2)).containsExactly(1);
+        assertThat(graph.dependsOn(3)).containsExactlyInAnyOrder(1, 2, 3);
+        
+        CriticalPathScheduler.Schedule schedule = graph.schedule();
+        assertThat(starts(schedule, 4)).containsExactly(0, 60, 60, 180);
+        assertThat(schedule.makespan()).isEqualTo(190);
+        assertThat(schedule.slack(2)).isEqualTo(90);
+        assertThat(schedule.criticalPath()).containsExactly(0, 1, 3);
+    }
+    
+    @Test
+    void declaredEdgesReplaceTheImpliedOnes() {
+        // Same flags as above, but 2 needs nothing and 3 needs only 1
+        StepGraph graph = StepGraph.of(List.of(
+            step(4, 10, false, 2, 3), step(3, 30, true, 1), step(2, 120, true), step(1, 60, false)));
+        
+        assertThat(graph.isExplicit()).isTrue();
+        assertThat(graph.nodes()).extracting(StepGraph.Node::orderIndex).containsExactly(1, 2, 3, 4);
+        assertThat(graph.dependsOn(1)).isEmpty();
+        assertThat(graph.dependsOn(3)).containsExactly(2, 3);
+        
+        CriticalPathScheduler.Schedule schedule = graph.schedule();
+        assertThat(starts(schedule, 4)).containsExactly(0, 0, 60, 120);
+        assertThat(schedule.latestStart(0)).isEqualTo(30);
+        assertThat(schedule.latestStart(2)).isEqualTo(90);
+        assertThat(schedule.makespan()).isEqualTo(130);
+        assertThat(schedule.criticalPath()).containsExactly(1, 3);
+    }
+    
+    @Test
+    void rejectsCyclesAndSelfDependencies() {
+        StepGraph cyclic = StepGraph.of(List.of(step(1, 10, false, 3), step(2, 10, false, 1), step(3, 10, false, 2),
+            step(4, 10, false)));
+        assertThatThrownBy(cyclic::schedule)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Step dependencies form a cycle involving steps [1, 2, 3]");
+        
+        assertThatThrownBy(() -> StepGraph.of(List.of(step(1, 10, false, 1))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Step 1 depends on itself");
+        assertThatThrownBy(() -> StepGraph.of(List.of(step(1, 10, false, 7))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Step 1 depends on unknown step 7");
+        assertThatThrownBy(() -> StepGraph.of(List.of(step(1, 10, false), step(1, 20, false))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Duplicate step order index 1");
+    }
+    
+    private static StepGraph.Node step(int orderIndex, int seconds, boolean parallel, Integer... dependsOn) {
+        return new StepGraph.Node(orderIndex, seconds, parallel, null, List.of(dependsOn), 0, false, false);
+    }
+    
+    private static int[] starts(CriticalPathScheduler.Schedule schedule, int tasks) {
+        int[] starts = new int[tasks];
+        for (int i = 0; i < tasks; i++) {
+            starts[i] = schedule.earliestStart(i);
+        }
+        return starts;
+    }
+}
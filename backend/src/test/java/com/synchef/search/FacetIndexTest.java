@@ -0,0 +1,96 @@
+package com.synchef.search;
+
+import com.synchef.catalog.CategoryView;
+import com.synchef.catalog.CountryView;
+import com.synchef.catalog.IngredientView;
+import com.synchef.catalog.RecipeIngredientView;
+import com.synchef.catalog.RecipeView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A patched index answers every query exactly as a full build of the same recipes would
+ */
+class FacetIndexTest {
+    
+    private static final List<FacetIndex.Query> QUERIES = List.of(
+        query(Set.of(), Set.of(), Set.of(), null, Set.of(), Set.of()),
+        query(Set.of(1L), Set.of(), Set.of(), null, Set.of(), Set.of()),
+        query(Set.of(), Set.of(10L), Set.of("EASY"), null, Set.of(), Set.of()),
+        query(Set.of(), Set.of(), Set.of(), 45, Set.of(100L), Set.of()),
+        query(Set.of(2L), Set.of(11L), Set.of(), null, Set.of(), Set.of(101L)));
+    
+    @Test
+    void updatedAndAppendedRowsMatchARebuild() {
+        List<RecipeView> recipes = new ArrayList<>(List.of(
+            recipe(1L, 1L, "EASY", 30, List.of(10L), List.of(100L)),
+            recipe(3L, 1L, "MEDIUM", 60, List.of(11L), List.of(100L, 101L)),
+            recipe(5L, 2L, "EASY", 40, List.of(10L, 11L), List.of(101L))));
+        FacetIndex base = FacetIndex.build(recipes);
+        RecipeView updated = recipe(3L, 2L, null, 20, List.of(10L), List.of(100L));
+        RecipeView appended = recipe(8L, 1L, "HARD", null, List.of(11L), List.of(101L, 102L));
+        recipes.set(1, updated);
+        recipes.add(appended);
+        
+        assertSameAnswers(base.withRecipes(List.of(appended, updated), recipes), FacetIndex.build(recipes));
+        // The base index is left as it was
+        assertSameAnswers(base, FacetIndex.build(List.of(
+            recipe(1L, 1L, "EASY", 30, List.of(10L), List.of(100L)),
+            recipe(3L, 1L, "MEDIUM", 60, List.of(11L), List.of(100L, 101L)),
+            recipe(5L, 2L, "EASY", 40, List.of(10L, 11L), List.of(101L)))));
+    }
+    
+    @Test
+    void recipeBetweenRowsFallsBackToARebuild() {
+        List<RecipeView> recipes = new ArrayList<>(List.of(
+            recipe(1L, 1L, "EASY", 30, List.of(10L), List.of(100L)),
+            recipe(5L, 2L, "EASY", 40, List.of(10L, 11L), List.of(101L))));
+        FacetIndex base = FacetIndex.build(recipes);
+        RecipeView inserted = recipe(3L, 2L, "MEDIUM", 25, List.of(11L), List.of(100L));
+        recipes.add(1, inserted);
+        
+        FacetIndex patched = base.withRecipes(List.of(inserted), recipes);
+        
+        assertSameAnswers(patched, FacetIndex.build(recipes));
+        assertThat(patched.query(QUERIES.get(0), 0, 10).recipeIds()).containsExactly(1L, 3L, 5L);
+    }
+    
+    private static void assertSameAnswers(FacetIndex patched, FacetIndex rebuilt) {
+        assertThat(patched.size()).isEqualTo(rebuilt.size());
+        for (FacetIndex.Query query : QUERIES) {
+            FacetIndex.Result actual = patched.query(query, 0, 10);
+            FacetIndex.Result expected = rebuilt.query(query, 0, 10);
+            assertThat(actual.totalHits()).as(query.toString()).isEqualTo(expected.totalHits());
+            assertThat(actual.recipeIds()).as(query.toString()).containsExactly(expected.recipeIds());
+            assertThat(actual.countryCounts()).as(query.toString()).isEqualTo(expected.countryCounts());
+            assertThat(actual.categoryCounts()).as(query.toString()).isEqualTo(expected.categoryCounts());
+            assertThat(actual.difficultyCounts()).as(query.toString()).isEqualTo(expected.difficultyCounts());
+        }
+    }
+    
+    private static FacetIndex.Query query(Set<Long> countries, Set<Long> categories, Set<String> difficulties,
+                                          Integer maxTotalTime, Set<Long> include, Set<Long> exclude) {
+        return new FacetIndex.Query(countries, categories, difficulties, maxTotalTime, include, exclude);
+    }
+    
+    private static RecipeView recipe(Long id, Long countryId, String difficulty, Integer totalTime,
+                                     List<Long> categoryIds, List<Long> ingredientIds) {
+        return RecipeView.builder()
+            .id(id)
+            .name("Recipe " + id)
+            .country(CountryView.builder().id(countryId).build())
+            .difficultyLevel(difficulty)
+            .totalTimeMinutes(totalTime)
+            .categories(categoryIds.stream().map(c -> CategoryView.builder().id(c).build()).toList())
+            .ingredients(ingredientIds.stream()
+                .map(i -> RecipeIngredientView.builder().ingredient(IngredientView.builder().id(i).build()).build())
+                .toList())
+            .steps(List.of())
+            .build();
+    }
+}
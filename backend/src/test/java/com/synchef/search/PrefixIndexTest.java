@@ -0,0 +1,44 @@
+package com.synchef.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entries merged into an index are found exactly as if the index had been built with them
+ */
+class PrefixIndexTest {
+    
+    private static final List<PrefixIndex.Entry> BASE = List.of(
+        new PrefixIndex.Entry(1, "Chicken Adobo", 40),
+        new PrefixIndex.Entry(2, "Adobong Sitaw", 5),
+        new PrefixIndex.Entry(3, "Sinigang na Baboy", 25),
+        new PrefixIndex.Entry(4, "Pancit Canton", 12));
+    
+    @Test
+    void mergedEntriesMatchARebuild() {
+        PrefixIndex patched = PrefixIndex.build(BASE).withEntries(List.of(
+            new PrefixIndex.Entry(2, "Adobong Kangkong", 7),
+            new PrefixIndex.Entry(5, "Sinigang na Hipon", 30)));
+        // Kept entries in order, then the changed ones, as withEntries numbers them
+        PrefixIndex rebuilt = PrefixIndex.build(List.of(BASE.get(0), BASE.get(2), BASE.get(3),
+            new PrefixIndex.Entry(2, "Adobong Kangkong", 7),
+            new PrefixIndex.Entry(5, "Sinigang na Hipon", 30)));
+        
+        for (String prefix : List.of("a", "adob", "sitaw", "kang", "sinig", "hipon", "sinigamg", "canton", "xyz")) {
+            assertThat(patched.suggest(prefix, 1, 10)).as(prefix).isEqualTo(rebuilt.suggest(prefix, 1, 10));
+        }
+        assertThat(patched.size()).isEqualTo(5);
+        assertThat(patched.suggest("sitaw", 0, 10)).isEmpty();
+    }
+    
+    @Test
+    void reweightedEntryReranks() {
+        PrefixIndex patched = PrefixIndex.build(BASE)
+            .withEntries(List.of(new PrefixIndex.Entry(2, "Adobong Sitaw", 90)));
+        
+        assertThat(patched.suggest("adobo", 0, 2)).extracting(PrefixIndex.Match::id).containsExactly(2L, 1L);
+    }
+}
@@ -0,0 +1,146 @@
+package com.synchef.service;
+
+import com.synchef.model.Country;
+import com.synchef.model.Ingredient;
+import com.synchef.model.Recipe;
+import com.synchef.model.RecipeIngredient;
+import com.synchef.model.Step;
+import com.synchef.repository.CountryRepository;
+import com.synchef.repository.IngredientRepository;
+import com.synchef.repository.RecipeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fetch plans load a recipe for scaling or timer orchestration in a fixed number of statements,
+ * however many steps and ingredient lines it has, and the export loads recipes a chunk at a time
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FetchPlanQueryCountTest {
+    
+    @Autowired
+    private RecipeScalingService scalingService;
+    
+    @Autowired
+    private TimerOrchestrationService timerOrchestrationService;
+    
+    @Autowired
+    private RecipeExportService exportService;
+    
+    @Autowired
+    private CountryRepository countryRepository;
+    
+    @Autowired
+    private IngredientRepository ingredientRepository;
+    
+    @Autowired
+    private RecipeRepository recipeRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void scalingLoadsRecipeInFixedStatements() {
+        Long small = saveRecipe("Query Count Small", 2, 2);
+        Long large = saveRecipe("Query Count Large", 8, 12);
+        
+        // Recipe with its ingredient lines and ingredients, then the steps
+        assertThat(statementsToScale(small)).isEqualTo(statementsToScale(large)).isEqualTo(2);
+    }
+    
+    @Test
+    void orchestrationLoadsRecipeInFixedStatements() {
+        Long small = saveRecipe("Query Count Timers Small", 2, 2);
+        Long large = saveRecipe("Query Count Timers Large", 8, 12);
+        
+        // Recipe with its steps, then the ingredient lines the templated instructions render
+        assertThat(statementsToOrchestrate(small)).isEqualTo(statementsToOrchestrate(large)).isEqualTo(2);
+    }
+    
+    @Test
+    void exportLoadsRecipesByChunk() {
+        for (int i = 0; i < 30; i++) {
+            saveRecipe("Query Count Export " + i, 3, 4);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        statistics.clear();
+        long exported = exportService.exportNdjson(out);
+        long statements = statistics.getPrepareStatementCount();
+        
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize((int) exported);
+        // The id cursor, then per chunk: ingredient lines, steps, and batch-fetched categories and countries
+        long chunks = (exported + RecipeExportService.CLEAR_INTERVAL - 1) / RecipeExportService.CLEAR_INTERVAL;
+        assertThat(statements).isLessThanOrEqualTo(1 + 6 * chunks).isLessThan(exported);
+    }
+    
+    private long statementsToScale(Long recipeId) {
+        statistics.clear();
+        scalingService.scaleRecipe(recipeId, 7);
+        return statistics.getPrepareStatementCount();
+    }
+    
+    private long statementsToOrchestrate(Long recipeId) {
+        statistics.clear();
+        timerOrchestrationService.orchestrateTimers(recipeId);
+        return statistics.getPrepareStatementCount();
+    }
+    
+    private Long saveRecipe(String name, int ingredientCount, int stepCount) {
+        Country country = countryRepository.findByCode("PH").orElseThrow();
+        
+        Recipe recipe = new Recipe();
+        recipe.setName(name);
+        recipe.setCountry(country);
+        recipe.setPrepTimeMinutes(10);
+        recipe.setCookTimeMinutes(30);
+        recipe.setTotalTimeMinutes(40);
+        recipe.setDefaultServings(4);
+        for (int i = 0; i < ingredientCount; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName(name + " ingredient " + i);
+            ingredient.setCountry(country);
+            ingredient.setCommonSubstitutes(List.of("substitute " + i));
+            
+            RecipeIngredient line = new RecipeIngredient();
+            line.setRecipe(recipe);
+            line.setIngredient(ingredientRepository.save(ingredient));
+            line.setQuantity(BigDecimal.valueOf(100 + i));
+            line.setUnit("g");
+            line.setOrderIndex(i + 1);
+            recipe.getIngredients().add(line);
+        }
+        for (int i = 0; i < stepCount; i++) {
+            Step step = new Step();
+            step.setRecipe(recipe);
+            step.setOrderIndex(i + 1);
+            step.setInstruction("Cook {{ingredient:1}} for a while");
+            step.setHasTimer(i % 2 == 0);
+            step.setTimerSeconds(i % 2 == 0 ? 60 * (i + 1) : null);
+            step.setTimerLabel("Step " + (i + 1));
+            recipe.getSteps().add(step);
+        }
+        return recipeRepository.save(recipe).getId();
+    }
+}
@@ -0,0 +1,145 @@
+package com.synchef.units;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fixed-point path against the BigDecimal computation it replaces, on seeded random inputs
+ */
+class QuantityTest {
+    
+    private static final long SEED = 20261017L;
+    private static final int CASES = 200_000;
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+    
+    @Test
+    void applyMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < CASES; i++) {
+            double factor = randomFactor(random);
+            Quantity.Factor prepared = Quantity.Factor.of(factor);
+            long hundredths = randomHundredths(random, BigDecimal.valueOf(factor));
+            
+            BigDecimal expected = Quantity.toBigDecimal(hundredths).multiply(BigDecimal.valueOf(factor))
+                .setScale(2, RoundingMode.HALF_UP);
+            long actual = prepared.apply(hundredths);
+            
+            if (fitsFastPath(factor) && expected.unscaledValue().bitLength() < 64) {
+                assertThat(actual).as("%d * %s", hundredths, factor).isEqualTo(expected.unscaledValue().longValue());
+            } else {
+                assertThat(actual).as("%d * %s", hundredths, factor).isEqualTo(Quantity.NOT_EXACT);
+            }
+        }
+    }
+    
+    @Test
+    void divideUnsignedMatchesBigInteger() {
+        Random random = new Random(SEED);
+        long[] divisors = {1L, 10L, 1L << 32, (1L << 32) + 1, 1_000_000_000_000_000_000L, Long.MAX_VALUE, -1L,
+            Long.MIN_VALUE};
+        for (int i = 0; i < CASES; i++) {
+            long divisor = i < divisors.length * 4 ? divisors[i % divisors.length] : random.nextLong();
+            if (divisor == 0) {
+                continue;
+            }
+            // hi < divisor, including the largest hi and lo at the carry boundary
+            long hi = switch (i % 4) {
+                case 0 -> 0L;
+                case 1 -> divisor - 1;
+                default -> Long.remainderUnsigned(random.nextLong(), divisor);
+            };
+            long lo = i % 3 == 0 ? -1L : random.nextLong();
+            
+            BigInteger dividend = unsigned(hi).shiftLeft(64).add(unsigned(lo));
+            BigInteger expected = dividend.divide(unsigned(divisor));
+            
+            assertThat(unsigned(Quantity.divideUnsigned(hi, lo, divisor)))
+                .as("%s / %s", dividend, unsigned(divisor)).isEqualTo(expected);
+        }
+    }
+    
+    @Test
+    void roundToQuarterMatchesBigDecimal() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < CASES; i++) {
+            long hundredths = switch (i % 3) {
+                case 0 -> random.nextInt(100_000);
+                case 1 -> Long.MAX_VALUE - random.nextInt(200);
+                default -> random.nextLong() & Long.MAX_VALUE;
+            };
+            BigDecimal expected = Quantity.toBigDecimal(hundredths).multiply(BigDecimal.valueOf(4))
+                .setScale(0, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_UP);
+            
+            long actual = Quantity.roundToQuarter(hundredths);
+            
+            if (expected.unscaledValue().bitLength() < 64) {
+                assertThat(actual).as("%d", hundredths).isEqualTo(expected.unscaledValue().longValue());
+            } else {
+                assertThat(actual).as("%d", hundredths).isEqualTo(Quantity.NOT_EXACT);
+            }
+        }
+    }
+    
+    @Test
+    void hundredthsRejectsWhatDoesNotFit() {
+        assertThat(Quantity.hundredths(new BigDecimal("1.5"))).isEqualTo(150L);
+        assertThat(Quantity.hundredths(new BigDecimal("1E+3"))).isEqualTo(100_000L);
+        assertThat(Quantity.hundredths(BigDecimal.valueOf(Long.MAX_VALUE, 2))).isEqualTo(Long.MAX_VALUE);
+        // 17 digits at scale 0 pass the digit count but are past Long.MAX_VALUE as hundredths
+        assertThat(Quantity.hundredths(new BigDecimal("99999999999999999"))).isEqualTo(Quantity.NOT_EXACT);
+        assertThat(Quantity.hundredths(new BigDecimal("92233720368547758.08"))).isEqualTo(Quantity.NOT_EXACT);
+        assertThat(Quantity.hundredths(new BigDecimal("0.125"))).isEqualTo(Quantity.NOT_EXACT);
+        assertThat(Quantity.hundredths(new BigDecimal("-1"))).isEqualTo(Quantity.NOT_EXACT);
+    }
+    
+    /**
+     * Servings ratios as scaling produces them, plus arbitrary doubles
+     */
+    private static double randomFactor(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0, 1 -> (double) (1 + random.nextInt(100)) / (1 + random.nextInt(100));
+            case 2 -> random.nextDouble() * 1000;
+            default -> Math.scalb(random.nextDouble(), random.nextInt(40) - 20);
+        };
+    }
+    
+    /**
+     * Everyday quantities, large ones, and ones whose product sits right at a multiple of 2^64 so the
+     * 128-bit carry is exercised
+     */
+    private static long randomHundredths(Random random, BigDecimal factor) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(1_000_000);
+            case 1:
+                return random.nextLong() & Long.MAX_VALUE;
+            default:
+                BigInteger mantissa = factor.unscaledValue();
+                if (mantissa.signum() == 0) {
+                    return random.nextInt(1_000_000);
+                }
+                BigInteger atCarry = TWO_64.multiply(BigInteger.valueOf(1 + random.nextInt(1 << 20)))
+                    .divide(mantissa)
+                    .add(BigInteger.valueOf(random.nextInt(5) - 2));
+                return atCarry.signum() >= 0 && atCarry.bitLength() < 64 ? atCarry.longValue()
+                    : random.nextLong() & Long.MAX_VALUE;
+        }
+    }
+    
+    private static boolean fitsFastPath(double factor) {
+        BigDecimal decimal = BigDecimal.valueOf(factor);
+        return decimal.signum() >= 0 && decimal.scale() >= 0 && decimal.scale() <= 19
+            && decimal.unscaledValue().bitLength() < 63;
+    }
+    
+    private static BigInteger unsigned(long value) {
+        return new BigInteger(Long.toUnsignedString(value));
+    }
+}
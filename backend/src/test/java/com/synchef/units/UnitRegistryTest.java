@@ -0,0 +1,21 @@
+package com.synchef.units;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnitRegistryTest {
+    
+    @Test
+    void quarterRoundingFollowsTheUnitAsWritten() {
+        assertThat(UnitRegistry.parse("cups").quarterRounded()).isTrue();
+        assertThat(UnitRegistry.parse("Tbsp").quarterRounded()).isTrue();
+        assertThat(UnitRegistry.parse("heaped tsp").quarterRounded()).isTrue();
+        // Recognised for conversion, but spelled without cup, tbsp or tsp
+        assertThat(UnitRegistry.parse("tablespoons").unit()).isEqualTo(Unit.TABLESPOON);
+        assertThat(UnitRegistry.parse("tablespoons").quarterRounded()).isFalse();
+        assertThat(UnitRegistry.parse("teaspoon").quarterRounded()).isFalse();
+        assertThat(UnitRegistry.parse("c").quarterRounded()).isFalse();
+        assertThat(UnitRegistry.parse(null).quarterRounded()).isFalse();
+    }
+}